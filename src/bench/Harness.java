@@ -0,0 +1,92 @@
+package bench;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code Harness} class times benchmark operations the way a JMH average time benchmark
+ * does, without needing JMH on the class path.
+ * <p>
+ * Each benchmark runs warmup iterations, so the JIT compiles the code measured, then measurement
+ * iterations. An iteration repeats the operation until {@link #ITERATION_NANOS} pass and records
+ * the average time per operation. Every operation's return value is consumed so the JIT cannot
+ * remove the work. Results are the mean and standard deviation over the measurement iterations.
+ */
+final class Harness {
+    /**
+     * Least time an iteration runs for.
+     */
+    static final long ITERATION_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static volatile int sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+
+    /**
+     * Initializes a newly created {@code Harness} object.
+     *
+     * @param warmupIterations iterations run and discarded first.
+     * @param measurementIterations iterations measured.
+     */
+    Harness(int warmupIterations, int measurementIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+    /**
+     * Measures the specified operation and prints the result as one line: the benchmark name,
+     * the dataset size, the mean and the standard deviation in milliseconds per operation.
+     *
+     * @param name name of the benchmark.
+     * @param size number of tasks of the dataset.
+     * @param operation the operation to time, its result is consumed.
+     * @throws Exception if the operation fails.
+     */
+    void run(String name, int size, Callable<?> operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+
+        double[] nanosPerOperation = new double[measurementIterations];
+        double mean = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            nanosPerOperation[i] = iteration(operation);
+            mean += nanosPerOperation[i] / measurementIterations;
+        }
+
+        double variance = 0;
+        for (double nanos : nanosPerOperation) {
+            variance += (nanos - mean) * (nanos - mean) / Math.max(1, measurementIterations - 1);
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-24s %10d %14.3f +- %10.3f ms/op",
+                name, size, mean / 1e6, Math.sqrt(variance) / 1e6));
+    }
+
+    /**
+     * Prints the header of the lines {@link #run} prints.
+     */
+    void printHeader() {
+        System.out.println(String.format(Locale.ROOT, "%-24s %10s %14s    %10s",
+                "Benchmark", "Tasks", "Mean", "Error"));
+    }
+
+    private static double iteration(Callable<?> operation) throws Exception {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            consume(operation.call());
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+
+        return (double) elapsed / operations;
+    }
+
+    private static void consume(Object result) {
+        sink += System.identityHashCode(result);
+    }
+}
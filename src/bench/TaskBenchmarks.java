@@ -0,0 +1,220 @@
+package bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Predicate;
+
+import main.DueDateComparator;
+import main.DueDateConverter;
+import main.DueDateIndex;
+import main.DuplicateIndex;
+import main.Priority;
+import main.SerializedTaskStore;
+import main.TagIndex;
+import main.TaskChange;
+import main.TaskChangeFeed;
+import main.TaskField;
+import main.TaskManager.TaskUI;
+import main.TaskModel;
+import main.TaskQuery;
+import main.TaskQueryPlanner;
+import main.TaskRecord;
+import main.TaskSnapshot;
+import main.TaskSorter;
+import main.TaskSorter.SortKey;
+import main.TextIndex;
+
+/**
+ * Benchmarks of the paths whose cost grows with the number of tasks: saving and loading, due
+ * date conversion, the due date column comparator, table cell text, the duplicate check, and
+ * filtering and sorting the table.
+ * <p>
+ * Run from the project root after compiling {@code src} to {@code out}:
+ * <pre>
+ * java -cp "out:lib/*" bench.TaskBenchmarks [sizes...]
+ * </pre>
+ * Sizes default to 10,000, 100,000 and 1,000,000 tasks. Datasets come from
+ * {@link TaskDataset} so every run measures the same tasks.
+ * <p>
+ * The application class is never loaded, it starts the JavaFX toolkit: saving and loading go
+ * through {@link SerializedTaskStore}, which the application saves with, so the benchmarks run
+ * headless with only the jars of {@code lib}.
+ */
+public final class TaskBenchmarks {
+    private static final int[] DEFAULT_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private TaskBenchmarks() {
+    }
+
+    /**
+     * Runs every benchmark at every size.
+     *
+     * @param args the sizes, none for the defaults.
+     * @throws Exception if a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length == 0
+                ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        Harness harness = new Harness(WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS);
+        harness.printHeader();
+        for (int size : sizes) {
+            run(harness, size);
+        }
+    }
+
+    private static void run(Harness harness, int size) throws Exception {
+        List<TaskUI> tasks = TaskDataset.generate(size);
+
+        // stop() and loadSavedTasks()
+        ByteArrayOutputStream saved = new ByteArrayOutputStream();
+        SerializedTaskStore.write(tasks, saved);
+        byte[] bytes = saved.toByteArray();
+
+        harness.run("serialize", size, () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+            SerializedTaskStore.write(tasks, out);
+            return out;
+        });
+        harness.run("deserialize", size,
+                () -> SerializedTaskStore.read(new ByteArrayInputStream(bytes)));
+
+        // due date column
+        DueDateConverter converter = new DueDateConverter();
+        LocalDate[] dueDates = new LocalDate[size];
+        String[] dueDateStrings = new String[size];
+        for (int i = 0; i < size; i++) {
+            dueDates[i] = tasks.get(i).getDueDate();
+            dueDateStrings[i] = converter.toString(dueDates[i]);
+        }
+
+        harness.run("dueDateToString", size, () -> {
+            String last = null;
+            for (LocalDate dueDate : dueDates) {
+                last = converter.toString(dueDate);
+            }
+            return last;
+        });
+        harness.run("dueDateFromString", size, () -> {
+            LocalDate last = null;
+            for (String dueDateString : dueDateStrings) {
+                last = converter.fromString(dueDateString);
+            }
+            return last;
+        });
+        DueDateComparator comparator = new DueDateComparator();
+        harness.run("dueDateComparatorSort", size, () -> {
+            String[] sorted = dueDateStrings.clone();
+            Arrays.sort(sorted, comparator);
+            return sorted;
+        });
+
+        // table cells, formatted on every refresh or cached per row
+        harness.run("cellTextFormatted", size, () -> {
+            int length = 0;
+            for (TaskUI task : tasks) {
+                length += task.getDueDateAsString().length() 
+                        + task.getIsCompletedAsString().length();
+            }
+            return length;
+        });
+        harness.run("cellTextCached", size, () -> {
+            int length = 0;
+            for (TaskUI task : tasks) {
+                length += task.textProperty(TaskField.DUE_DATE).get().length()
+                        + task.textProperty(TaskField.IS_COMPLETED).get().length();
+            }
+            return length;
+        });
+
+        // filtering and sorting the table
+        TaskModel model = new TaskModel();
+        model.addAll(tasks);
+        TagIndex tagIndex = new TagIndex(model);
+        TaskSnapshot snapshot = model.snapshot();
+        List<SortKey> noSortKeys = new ArrayList<SortKey>();
+
+        DuplicateIndex duplicateIndex = new DuplicateIndex(model);
+        TaskUI probe = tasks.get(size / 2);
+        harness.run("findSimilar", size, () -> duplicateIndex.findSimilar(
+                probe.getTitle() + " again", probe.getDescription(), 10));
+
+        // a month of calendar days and its total, as the calendar window renders
+        DueDateIndex dueDateIndex = new DueDateIndex(model);
+        LocalDate month = TaskDataset.TODAY.withDayOfMonth(1);
+        harness.run("calendarMonth", size, () -> {
+            int count = dueDateIndex.countOpen(month, month.plusMonths(1).minusDays(1));
+            for (int day = 0; day < 42; day++) {
+                count += dueDateIndex.countOpen(month.plusDays(day), month.plusDays(day))
+                        + dueDateIndex.countCompleted(month.plusDays(day), month.plusDays(day));
+            }
+            return count;
+        });
+
+        // a query planned over the indexes against the same query testing every task
+        TaskQueryPlanner planner = new TaskQueryPlanner(model, dueDateIndex, tagIndex,
+                new TextIndex(model));
+        TaskQuery query = TaskQuery.parse("due >= today and due < today+7 and not completed "
+                + "and title:rev", TaskDataset.TODAY);
+        harness.run("queryPlanned", size, () -> planner.plan(query).execute());
+        harness.run("queryScan", size, () -> TaskSorter.order(snapshot, noSortKeys, query::test));
+
+        harness.run("filterHideCompleted", size, () -> TaskSorter.order(snapshot, noSortKeys,
+                matching(tagIndex.select(List.of(), List.of(), Boolean.FALSE))));
+        harness.run("filterTags", size, () -> TaskSorter.order(snapshot, noSortKeys,
+                matching(tagIndex.select(List.of("work"), List.of("home"), null))));
+        harness.run("filterScan", size, () -> TaskSorter.order(snapshot, noSortKeys,
+                record -> record.getTags().contains("work")
+                        && !record.getTags().contains("home")));
+        harness.run("sortDueDate", size, () -> TaskSorter.order(snapshot,
+                List.of(new SortKey(TaskField.DUE_DATE, true)), record -> true));
+        harness.run("sortTitle", size, () -> TaskSorter.order(snapshot,
+                List.of(new SortKey(TaskField.TITLE, true)), record -> true));
+
+        // edits, then the same edits published to a subscriber that never requests any
+        List<TaskUI> edited = tasks.subList(0, Math.min(1000, size));
+        harness.run("edit1000", size, () -> togglePriorities(edited));
+        TaskChangeFeed feed = new TaskChangeFeed(model);
+        feed.subscribe(new Flow.Subscriber<List<TaskChange>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(List<TaskChange> changes) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        harness.run("edit1000StalledSubscriber", size, () -> togglePriorities(edited));
+        feed.close();
+    }
+
+    private static int togglePriorities(List<TaskUI> tasks) {
+        for (TaskUI task : tasks) {
+            task.setPriority(task.getPriority() == Priority.HIGH ? Priority.LOW : Priority.HIGH);
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Returns a filter keeping the records whose ordinal is set, as the table's filter does.
+     */
+    private static Predicate<TaskRecord> matching(BitSet ordinals) {
+        return record -> ordinals.get(record.getOrdinal());
+    }
+}
@@ -0,0 +1,112 @@
+package bench;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import main.Priority;
+import main.TaskManager.TaskUI;
+
+/**
+ * The {@code TaskDataset} class generates synthetic tasks for benchmarks.
+ * <p>
+ * The same size and seed always give the same tasks, so results of different runs and different
+ * versions compare. Tasks look like real ones: titles of a few words, descriptions of a few
+ * sentences, due dates spread over two years around {@link #TODAY} with some missing, about a
+ * third completed, zero to three tags out of {@link #TAGS} and mostly normal priority.
+ */
+public final class TaskDataset {
+    /**
+     * Seed used when none is specified.
+     */
+    public static final long DEFAULT_SEED = 20231019L;
+
+    /**
+     * Date due dates are spread around, fixed so datasets never depend on the day they are made.
+     */
+    public static final LocalDate TODAY = LocalDate.of(2023, 10, 19);
+
+    /**
+     * Tags tasks are tagged with, the first ones more often.
+     */
+    public static final List<String> TAGS = List.of("work", "home", "errand", "urgent",
+            "project", "reading", "health", "finance", "someday", "call");
+
+    private static final String[] WORDS = {"review", "write", "plan", "call", "fix", "buy",
+            "report", "meeting", "groceries", "budget", "draft", "email", "update", "clean",
+            "schedule", "book", "pay", "invoice", "design", "test", "deploy", "read", "chapter",
+            "garden", "car", "dentist", "taxes", "slides", "notes", "backup"};
+    private static final int DUE_DATE_DAYS = 365;
+
+    private TaskDataset() {
+    }
+
+    /**
+     * Generates the specified number of tasks with the {@link #DEFAULT_SEED}.
+     *
+     * @param size the number of tasks.
+     * @return A new list of new tasks.
+     */
+    public static List<TaskUI> generate(int size) {
+        return generate(size, DEFAULT_SEED);
+    }
+
+    /**
+     * Generates the specified number of tasks from the specified seed.
+     *
+     * @param size the number of tasks.
+     * @param seed the seed, the same seed gives the same tasks.
+     * @return A new list of new tasks.
+     */
+    public static List<TaskUI> generate(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TaskUI> tasks = new ArrayList<TaskUI>(size);
+
+        for (int i = 0; i < size; i++) {
+            String title = words(random, 1 + random.nextInt(5));
+
+            StringBuilder description = new StringBuilder();
+            int sentences = random.nextInt(4);
+            for (int j = 0; j < sentences; j++) {
+                description.append(words(random, 4 + random.nextInt(10))).append(". ");
+            }
+
+            LocalDate dueDate = random.nextInt(5) == 0
+                    ? null : TODAY.plusDays(random.nextInt(-DUE_DATE_DAYS, DUE_DATE_DAYS));
+            boolean isCompleted = random.nextInt(3) == 0;
+
+            TaskUI task = new TaskUI(title, description.toString().trim(), dueDate,
+                    isCompleted);
+
+            TreeSet<String> tags = new TreeSet<String>();
+            int tagCount = random.nextInt(4);
+            for (int j = 0; j < tagCount; j++) {
+                // skewed so some tags are common and some rare
+                int tag = random.nextInt(1 + random.nextInt(TAGS.size()));
+                tags.add(TAGS.get(tag));
+            }
+            task.setTags(tags);
+
+            int priority = random.nextInt(10);
+            task.setPriority(priority == 0 ? Priority.HIGH
+                    : priority < 8 ? Priority.NORMAL : Priority.LOW);
+
+            tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return words.toString();
+    }
+}
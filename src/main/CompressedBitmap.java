@@ -0,0 +1,406 @@
+package main;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The {@code CompressedBitmap} class is a compressed set of non-negative ints, e.g. task
+ * ordinals.
+ * <p>
+ * Ints are split into chunks of 65536 by their high 16 bits. A chunk holding few ints stores them
+ * as a sorted {@code char} array, a chunk holding many stores a 65536 bit bitmap. Sparse sets
+ * therefore cost about 2 bytes per int and dense sets about 1 bit per int, and {@link #and} and
+ * {@link #andNot} work a chunk, or a 64 bit word, at a time.
+ */
+final class CompressedBitmap {
+    /**
+     * Most ints an array chunk holds, beyond this a bitmap is smaller.
+     */
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[0];
+    private Chunk[] chunks = new Chunk[0];
+    private int chunkCount;
+    private int cardinality;
+
+    /**
+     * Adds the specified int.
+     *
+     * @param value the int to add, non-negative.
+     */
+    void add(int value) {
+        char key = (char) (value >>> 16);
+        int i = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key, new ArrayChunk());
+        }
+
+        Chunk chunk = chunks[i];
+        int before = chunk.cardinality();
+        chunks[i] = chunk.add((char) value);
+        cardinality += chunks[i].cardinality() - before;
+    }
+
+    /**
+     * Removes the specified int, if present.
+     *
+     * @param value the int to remove.
+     */
+    void remove(int value) {
+        char key = (char) (value >>> 16);
+        int i = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (i < 0) {
+            return;
+        }
+
+        Chunk chunk = chunks[i];
+        int before = chunk.cardinality();
+        chunks[i] = chunk.remove((char) value);
+        cardinality += chunks[i].cardinality() - before;
+
+        if (chunks[i].cardinality() == 0) {
+            removeChunk(i);
+        }
+    }
+
+    /**
+     * Returns whether the specified int is present.
+     *
+     * @param value the int to look for.
+     * @return true if present.
+     */
+    boolean contains(int value) {
+        int i = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        return i >= 0 && chunks[i].contains((char) value);
+    }
+
+    /**
+     * Returns the number of ints present.
+     * @return The number of ints.
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns a new bitmap of the ints present in both this and the specified bitmap.
+     *
+     * @param other the bitmap to intersect with.
+     * @return The intersection.
+     */
+    CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendChunk(keys[i], chunks[i].and(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap of the ints present in this but not in the specified bitmap.
+     *
+     * @param other the bitmap to subtract.
+     * @return The difference.
+     */
+    CompressedBitmap andNot(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+
+            if (j < other.chunkCount && other.keys[j] == keys[i]) {
+                result.appendChunk(keys[i], chunks[i].andNot(other.chunks[j]));
+            } else {
+                result.appendChunk(keys[i], chunks[i].copy());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Performs the specified action for each int present, in increasing order.
+     *
+     * @param action the action to perform.
+     */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    private void appendChunk(char key, Chunk chunk) {
+        if (chunk.cardinality() > 0) {
+            insertChunk(chunkCount, key, chunk);
+            cardinality += chunk.cardinality();
+        }
+    }
+
+    private void insertChunk(int i, char key, Chunk chunk) {
+        if (chunkCount == keys.length) {
+            int capacity = Math.max(4, 2 * chunkCount);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+
+        System.arraycopy(keys, i, keys, i + 1, chunkCount - i);
+        System.arraycopy(chunks, i, chunks, i + 1, chunkCount - i);
+        keys[i] = key;
+        chunks[i] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunk(int i) {
+        System.arraycopy(keys, i + 1, keys, i, chunkCount - i - 1);
+        System.arraycopy(chunks, i + 1, chunks, i, chunkCount - i - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    /**
+     * The low 16 bits of the ints of one chunk. Operations return the chunk to use from then on,
+     * which may be a different kind of chunk.
+     */
+    private abstract static class Chunk {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract Chunk and(Chunk other);
+
+        abstract Chunk andNot(Chunk other);
+
+        abstract Chunk copy();
+
+        abstract void forEach(int base, IntConsumer action);
+    }
+
+    /**
+     * Sorted array of the low bits, for chunks holding at most {@link #ARRAY_MAX} ints.
+     */
+    private static final class ArrayChunk extends Chunk {
+        private char[] values;
+        private int size;
+
+        private ArrayChunk() {
+            this(new char[4], 0);
+        }
+
+        private ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (size == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+
+            i = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, 2 * size));
+            }
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        private BitmapChunk toBitmap() {
+            BitmapChunk bitmap = new BitmapChunk(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Bitmap of all 65536 low bits, for chunks holding more than {@link #ARRAY_MAX} ints.
+     */
+    private static final class BitmapChunk extends Chunk {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            if (contains(value)) {
+                words[value >>> 6] &= ~(1L << value);
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX / 2 ? toArray() : this;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+
+            long[] otherWords = ((BitmapChunk) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return shrink(new BitmapChunk(result, count));
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            BitmapChunk result = new BitmapChunk(words.clone(), cardinality);
+            if (other instanceof ArrayChunk) {
+                other.forEach(0, value -> {
+                    if (result.contains((char) value)) {
+                        result.words[value >>> 6] &= ~(1L << value);
+                        result.cardinality--;
+                    }
+                });
+                return shrink(result);
+            }
+
+            long[] otherWords = ((BitmapChunk) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] &= ~otherWords[i];
+                count += Long.bitCount(result.words[i]);
+            }
+            result.cardinality = count;
+            return shrink(result);
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitmapChunk(words.clone(), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        private static Chunk shrink(BitmapChunk chunk) {
+            return chunk.cardinality <= ARRAY_MAX ? chunk.toArray() : chunk;
+        }
+
+        private ArrayChunk toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int[] count = new int[1];
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayChunk(values, count[0]);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package main;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Orders due dates as {@code String}s chronologically, no date first.
+ * <p>
+ * Strings must be in {@link DueDateConverter#PATTERN} format or blank.
+ */
+public class DueDateComparator implements Comparator<String> {
+    private final DueDateConverter converter = new DueDateConverter();
+
+    @Override
+    public int compare(String dateString1, String dateString2) {
+        // non-null Strings
+
+        if (dateString1.isBlank() || dateString2.isBlank()) {
+            // no date, string sort
+            return dateString1.compareTo(dateString2);
+        }
+        
+        LocalDate date1 = converter.fromString(dateString1);
+        LocalDate date2 = converter.fromString(dateString2);
+
+        return date1.compareTo(date2);
+    }
+}
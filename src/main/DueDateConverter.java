@@ -0,0 +1,74 @@
+package main;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import javafx.util.StringConverter;
+
+/**
+ * Handles conversion of {@code LocalDate} to and from {@code String}.
+ * <p>
+ * {@code String} must be in {@link DueDateConverter#PATTERN} format and toString will be
+ * in that format.
+ */
+public class DueDateConverter extends StringConverter<LocalDate> {
+    /**
+     * Pattern each {@code LocalDate} as {@code String} must follow.
+     * <p>
+     * e.g. {@code 8/10/2023} for August 10th, 2023
+     * 
+     * @see DateTimeFormatter
+     */
+    public static final String PATTERN = "M/d/yyyy";
+
+    private static final DateTimeFormatter FORMATTER = 
+            DateTimeFormatter.ofPattern(PATTERN);
+
+    /**
+     * Represents the result of the most recent conversion.
+     * <p>
+     * false when no conversions have occured.
+     */
+    public boolean parseFailed = false;
+
+    /**
+     * Converts the provided {@code String} to {@code LocalDate} and returns it.
+     * <p>
+     * {@code DateTimeParseException} is not thrown but null is returned instead and
+     * parseFailed is set to true.
+     * 
+     * @see DueDateConverter#PATTERN
+     */
+    @Override
+    public LocalDate fromString(String formattedString) {
+        if (formattedString.isBlank()) {
+            // Exceptions are slow, handle common blank case.
+            parseFailed = false; // No date selection allowed!
+            return null;
+        }
+
+        // Attempt conversion, exceptions set status to STATUS.FAIL.
+        try {
+            LocalDate dueDate = LocalDate.from(FORMATTER.parse(formattedString));
+            parseFailed = false;
+            return dueDate;
+        } catch (DateTimeParseException parseException) {
+            parseFailed = true;
+            return null;
+        }
+    }
+
+    /**
+     * Converts provided {@code LocalDate} into its {@code String} form. 
+     * <p>
+     * null (or no) due dates return an empty {@code String}.
+     * @see DueDateConverter#PATTERN
+     */
+    @Override
+    public String toString(LocalDate dueDate) {
+        if (dueDate == null) {
+            return ""; // Handle common case of date unset.
+        }
+        return FORMATTER.format(dueDate);
+    }
+}
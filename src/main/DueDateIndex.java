@@ -0,0 +1,218 @@
+package main;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The {@code DueDateIndex} class counts and finds the tasks of a {@link TaskModel} by due date,
+ * e.g. for a calendar.
+ * <p>
+ * Open and completed tasks are counted per epoch day in two {@link FenwickTree}s, so the number
+ * of tasks due on any day or range of days is answered in O(log n) whatever the range, and the
+ * tasks due each day are kept in a bitmap of their ordinals, ordered by day so the tasks of a
+ * range are found without visiting the days outside it. Adding, removing, completing or
+ * changing the due date of a task updates both in O(log n). Tasks without a due date are not
+ * counted.
+ * <p>
+ * The trees cover a span of days that doubles whenever a due date falls outside of it.
+ */
+public class DueDateIndex implements TaskListener {
+    private static final int INITIAL_DAYS = 1 << 12;
+
+    private final TaskModel model;
+    private final NavigableMap<Long, CompressedBitmap> openByDay =
+            new TreeMap<Long, CompressedBitmap>();
+    private final NavigableMap<Long, CompressedBitmap> completedByDay =
+            new TreeMap<Long, CompressedBitmap>();
+    private FenwickTree openCounts;
+    private FenwickTree completedCounts;
+    private long firstDay;
+
+    /**
+     * Initializes a newly created {@code DueDateIndex} object indexing the tasks of the
+     * specified model.
+     *
+     * @param model the model to index, this registers itself as its listener.
+     */
+    public DueDateIndex(TaskModel model) {
+        this.model = model;
+
+        for (Task task : model.getTasks()) {
+            index(task, task.getDueDate(), task.getIsCompleted(), 1);
+        }
+        model.addListener(this);
+    }
+
+    /**
+     * Returns the number of open tasks due from {@code from} to {@code to}, both inclusive.
+     *
+     * @param from first day of the range.
+     * @param to last day of the range.
+     * @return The number of open tasks, 0 if the range is empty.
+     */
+    public int countOpen(LocalDate from, LocalDate to) {
+        return count(openCounts, from, to);
+    }
+
+    /**
+     * Returns the number of completed tasks due from {@code from} to {@code to}, both inclusive.
+     *
+     * @param from first day of the range.
+     * @param to last day of the range.
+     * @return The number of completed tasks, 0 if the range is empty.
+     */
+    public int countCompleted(LocalDate from, LocalDate to) {
+        return count(completedCounts, from, to);
+    }
+
+    /**
+     * Returns the tasks due on the specified day, open ones first, then by id.
+     *
+     * @param day the due date.
+     * @return A new list of the tasks due that day.
+     */
+    public List<Task> getTasks(LocalDate day) {
+        List<Task> tasks = new ArrayList<Task>();
+        for (Map<Long, CompressedBitmap> byDay : List.of(openByDay, completedByDay)) {
+            CompressedBitmap ordinals = byDay.get(day.toEpochDay());
+            if (ordinals != null) {
+                int from = tasks.size();
+                ordinals.forEach(ordinal -> tasks.add(model.getByOrdinal(ordinal)));
+                tasks.subList(from, tasks.size()).sort(Comparator.comparingLong(Task::getId));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the ordinals of the tasks due from {@code from} to {@code to}, both inclusive, and,
+     * unless null, of the specified completion. Only the days with tasks due are visited.
+     *
+     * @param from first day of the range, null for no limit.
+     * @param to last day of the range, null for no limit.
+     * @param isCompleted required completion, null for either.
+     * @return A new {@code BitSet} of the ordinals of the matching tasks.
+     */
+    public BitSet select(LocalDate from, LocalDate to, Boolean isCompleted) {
+        BitSet result = new BitSet();
+        long start = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long end = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        if (start > end) {
+            return result;
+        }
+
+        if (isCompleted == null || !isCompleted) {
+            openByDay.subMap(start, true, end, true).values()
+                    .forEach(ordinals -> ordinals.forEach(result::set));
+        }
+        if (isCompleted == null || isCompleted) {
+            completedByDay.subMap(start, true, end, true).values()
+                    .forEach(ordinals -> ordinals.forEach(result::set));
+        }
+        return result;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        index(task, task.getDueDate(), task.getIsCompleted(), 1);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        index(task, task.getDueDate(), task.getIsCompleted(), -1);
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.DUE_DATE) {
+            index(task, (LocalDate) oldValue, task.getIsCompleted(), -1);
+            index(task, task.getDueDate(), task.getIsCompleted(), 1);
+        } else if (field == TaskField.IS_COMPLETED) {
+            index(task, task.getDueDate(), (Boolean) oldValue, -1);
+            index(task, task.getDueDate(), task.getIsCompleted(), 1);
+        }
+    }
+
+    /**
+     * Adds, for a delta of 1, or removes, for -1, the specified task as due on the specified day
+     * and completed or not.
+     */
+    private void index(Task task, LocalDate dueDate, boolean isCompleted, int delta) {
+        if (dueDate == null) {
+            return;
+        }
+        long day = dueDate.toEpochDay();
+        // before the bucket changes, a rebuild counts the buckets
+        ensureCovered(day);
+
+        Map<Long, CompressedBitmap> byDay = isCompleted ? completedByDay : openByDay;
+        CompressedBitmap ordinals = byDay.get(day);
+        if (delta > 0) {
+            if (ordinals == null) {
+                ordinals = new CompressedBitmap();
+                byDay.put(day, ordinals);
+            }
+            ordinals.add(task.getOrdinal());
+        } else {
+            ordinals.remove(task.getOrdinal());
+            if (ordinals.cardinality() == 0) {
+                byDay.remove(day);
+            }
+        }
+
+        (isCompleted ? completedCounts : openCounts).add((int) (day - firstDay), delta);
+    }
+
+    private int count(FenwickTree counts, LocalDate from, LocalDate to) {
+        if (counts == null) {
+            return 0;
+        }
+
+        // clamp before narrowing so far away days never overflow
+        long start = Math.max(from.toEpochDay() - firstDay, 0);
+        long end = Math.min(to.toEpochDay() - firstDay + 1, counts.size());
+        return counts.sum((int) start, (int) end);
+    }
+
+    /**
+     * Makes the trees cover the specified day, doubling their span as needed and rebuilding them
+     * from the day buckets.
+     */
+    private void ensureCovered(long day) {
+        if (openCounts == null) {
+            firstDay = day - INITIAL_DAYS / 2;
+            openCounts = new FenwickTree(INITIAL_DAYS);
+            completedCounts = new FenwickTree(INITIAL_DAYS);
+            return;
+        }
+
+        long lastDay = firstDay + openCounts.size() - 1;
+        if (day >= firstDay && day <= lastDay) {
+            return;
+        }
+
+        long span = openCounts.size();
+        while (Math.min(day, firstDay) + span <= Math.max(day, lastDay)) {
+            span *= 2;
+        }
+        // grow on the side the day is
+        firstDay = day < firstDay ? lastDay + 1 - span : firstDay;
+
+        openCounts = rebuild(openByDay, (int) span);
+        completedCounts = rebuild(completedByDay, (int) span);
+    }
+
+    private FenwickTree rebuild(Map<Long, CompressedBitmap> byDay, int span) {
+        FenwickTree counts = new FenwickTree(span);
+        for (Map.Entry<Long, CompressedBitmap> entry : byDay.entrySet()) {
+            counts.add((int) (entry.getKey() - firstDay), entry.getValue().cardinality());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,439 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code DuplicateIndex} class finds the tasks of a {@link TaskModel} whose title and
+ * description are nearly the same as a given text, e.g. before creating a task that may already
+ * exist with slightly different wording.
+ * <p>
+ * Texts are compared as sets of character trigrams, lower case with punctuation ignored. Each
+ * task gets a MinHash signature of {@value #BANDS} bands of {@value #ROWS} rows, with one hash
+ * per trigram, and tasks are bucketed by band (locality sensitive hashing). Two texts whose
+ * trigrams are 60% the same share a bucket about three times out of four, unrelated texts almost
+ * never do. A lookup therefore only reads the few tasks sharing a bucket with the text, whatever
+ * the number of tasks, then computes their exact similarity.
+ * <p>
+ * Buckets are chains of ordinals in int arrays, updated in O(bands) when a task is added,
+ * removed, or its title or description changes.
+ */
+public class DuplicateIndex implements TaskListener {
+    /**
+     * Least share of trigrams two texts have in common to be near-duplicates.
+     */
+    public static final double SIMILARITY = 0.5;
+
+    static final int BANDS = 10;
+    static final int ROWS = 4;
+
+    /**
+     * Most tasks whose exact similarity is computed per lookup, those sharing the most buckets.
+     */
+    private static final int MAX_CANDIDATES = 64;
+    /**
+     * Most bucket entries read per lookup, bounds lookups when many tasks have the same text.
+     * Each band reads at most its share, so one crowded bucket never hides the other bands.
+     */
+    private static final int MAX_VISITS = 4096;
+    private static final int MAX_BAND_VISITS = MAX_VISITS / BANDS;
+    private static final int NONE = -1;
+    /**
+     * Added to a value per bin it is copied across when filling empty bins.
+     */
+    private static final int DENSIFY_OFFSET = 0x61C88647;
+
+    private final TaskModel model;
+    private final Buckets[] buckets = new Buckets[BANDS];
+    private final BitSet indexed = new BitSet();
+    // by ordinal * BANDS + band
+    private int[] keys = new int[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+
+    /**
+     * Initializes a newly created {@code DuplicateIndex} object indexing the tasks of the
+     * specified model.
+     *
+     * @param model the model to index, this registers itself as its listener.
+     */
+    public DuplicateIndex(TaskModel model) {
+        this.model = model;
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band] = new Buckets();
+        }
+
+        for (Task task : model.getTasks()) {
+            add(task);
+        }
+        model.addListener(this);
+    }
+
+    /**
+     * Returns the tasks whose title and description are near-duplicates of the specified ones,
+     * most similar first.
+     *
+     * @param title the title to compare.
+     * @param description the description to compare.
+     * @param limit the most tasks to return.
+     * @return A new list of at most limit tasks at least {@value #SIMILARITY} similar.
+     */
+    public List<Task> findSimilar(String title, String description, int limit) {
+        int[] shingles = shingles(title, description);
+        int[] bandKeys = bandKeys(title, description);
+
+        // count the buckets each task shares with the text
+        Map<Integer, Integer> sharedBuckets = new HashMap<Integer, Integer>();
+        for (int band = 0; band < BANDS; band++) {
+            int ordinal = buckets[band].get(bandKeys[band]);
+            int visits = 0;
+            while (ordinal != NONE && visits < MAX_BAND_VISITS) {
+                sharedBuckets.merge(ordinal, 1, Integer::sum);
+                ordinal = next[ordinal * BANDS + band];
+                visits++;
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<Integer>(sharedBuckets.keySet());
+        candidates.sort((i, j) -> Integer.compare(sharedBuckets.get(j), sharedBuckets.get(i)));
+        if (candidates.size() > MAX_CANDIDATES) {
+            candidates = candidates.subList(0, MAX_CANDIDATES);
+        }
+
+        List<Task> similar = new ArrayList<Task>();
+        Map<Task, Double> similarities = new HashMap<Task, Double>();
+        for (int ordinal : candidates) {
+            Task task = model.getByOrdinal(ordinal);
+            double similarity =
+                    similarity(shingles, shingles(task.getTitle(), task.getDescription()));
+            if (similarity >= SIMILARITY) {
+                similar.add(task);
+                similarities.put(task, similarity);
+            }
+        }
+
+        similar.sort(Comparator.comparing((Task task) -> similarities.get(task)).reversed()
+                .thenComparingLong(Task::getId));
+        return similar.size() > limit ? new ArrayList<Task>(similar.subList(0, limit)) : similar;
+    }
+
+    /**
+     * Returns the share of trigrams the specified texts have in common, their Jaccard index,
+     * from 0 for nothing in common to 1 for the same trigrams.
+     *
+     * @param title1 title of the first text.
+     * @param description1 description of the first text.
+     * @param title2 title of the second text.
+     * @param description2 description of the second text.
+     * @return The similarity of the texts.
+     */
+    public static double similarity(String title1, String description1, String title2,
+            String description2) {
+        return similarity(shingles(title1, description1), shingles(title2, description2));
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        add(task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        remove(task.getOrdinal());
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.TITLE || field == TaskField.DESCRIPTION) {
+            remove(task.getOrdinal());
+            add(task);
+        }
+    }
+
+    private void add(Task task) {
+        int ordinal = task.getOrdinal();
+        ensureCapacity(ordinal);
+
+        int[] bandKeys = bandKeys(task.getTitle(), task.getDescription());
+        for (int band = 0; band < BANDS; band++) {
+            int i = ordinal * BANDS + band;
+            int head = buckets[band].get(bandKeys[band]);
+
+            keys[i] = bandKeys[band];
+            next[i] = head;
+            previous[i] = NONE;
+            if (head != NONE) {
+                previous[head * BANDS + band] = ordinal;
+            }
+            buckets[band].put(bandKeys[band], ordinal);
+        }
+        indexed.set(ordinal);
+    }
+
+    private void remove(int ordinal) {
+        if (!indexed.get(ordinal)) {
+            return;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            int i = ordinal * BANDS + band;
+            int before = previous[i];
+            int after = next[i];
+
+            if (before != NONE) {
+                next[before * BANDS + band] = after;
+            } else if (after != NONE) {
+                buckets[band].put(keys[i], after);
+            } else {
+                buckets[band].remove(keys[i]);
+            }
+            if (after != NONE) {
+                previous[after * BANDS + band] = before;
+            }
+        }
+        indexed.clear(ordinal);
+    }
+
+    private void ensureCapacity(int ordinal) {
+        int length = (ordinal + 1) * BANDS;
+        if (length > keys.length) {
+            int capacity = Math.max(length, 2 * keys.length);
+            keys = Arrays.copyOf(keys, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of the specified text, sorted, each packed in an int. Text is
+     * lower case with every run of other characters than letters and digits a single space.
+     */
+    static int[] shingles(String title, String description) {
+        char[] text = normalize(title + " " + description);
+        int[] shingles = new int[trigramCount(text)];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = trigram(text, i);
+        }
+        Arrays.sort(shingles);
+
+        int distinct = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[i - 1]) {
+                shingles[distinct++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, distinct);
+    }
+
+    /**
+     * Returns the specified text lower case, every run of other characters than letters and
+     * digits a single space, trimmed.
+     */
+    private static char[] normalize(String text) {
+        char[] normalized = new char[text.length()];
+        int length = 0;
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized[length++] = Character.toLowerCase(c);
+                space = false;
+            } else if (!space) {
+                normalized[length++] = ' ';
+                space = true;
+            }
+        }
+        if (space && length > 0) {
+            length--;
+        }
+        return Arrays.copyOf(normalized, length);
+    }
+
+    /**
+     * Returns the key of each band of the MinHash signature of the trigrams of the specified 
+     * text. The signature is made with one permutation hashing: each trigram is hashed once, 
+     * the hash picks one of the {@code BANDS * ROWS} bins and each bin keeps the least value it
+     * gets. Empty bins copy the next bin that is not, so short texts have full signatures too.
+     */
+    static int[] bandKeys(String title, String description) {
+        char[] text = normalize(title + " " + description);
+        int bins = BANDS * ROWS;
+        int[] minimums = new int[bins];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+        boolean[] filled = new boolean[bins];
+
+        int count = trigramCount(text);
+        for (int i = 0; i < count; i++) {
+            int hash = mix(trigram(text, i));
+            int bin = (hash >>> 16) % bins;
+            minimums[bin] = Math.min(minimums[bin], mix(hash ^ DENSIFY_OFFSET));
+            filled[bin] = true;
+        }
+
+        if (count > 0) {
+            for (int bin = 0; bin < bins; bin++) {
+                int source = bin;
+                int distance = 0;
+                while (!filled[source]) {
+                    source = (source + 1) % bins;
+                    distance++;
+                }
+                if (distance > 0) {
+                    minimums[bin] = minimums[source] + distance * DENSIFY_OFFSET;
+                }
+            }
+        }
+
+        int[] bandKeys = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            int key = band;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+                key = key * 31 + minimums[row];
+            }
+            bandKeys[band] = mix(key);
+        }
+        return bandKeys;
+    }
+
+    /**
+     * Returns the number of trigrams of the specified normalized text, 1 for shorter texts that 
+     * are not empty.
+     */
+    private static int trigramCount(char[] text) {
+        return text.length == 0 ? 0 : Math.max(1, text.length - 2);
+    }
+
+    /**
+     * Returns the trigram at the specified index packed in an int, the whole text if shorter.
+     */
+    private static int trigram(char[] text, int i) {
+        if (text.length < 3) {
+            return new String(text).hashCode();
+        }
+        return (text[i] * 31 + text[i + 1]) * 31 + text[i + 2];
+    }
+
+    /**
+     * Returns the Jaccard index of the specified sorted, distinct trigrams.
+     */
+    private static double similarity(int[] shingles1, int[] shingles2) {
+        if (shingles1.length == 0 || shingles2.length == 0) {
+            return shingles1.length == shingles2.length ? 1 : 0;
+        }
+
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < shingles1.length && j < shingles2.length) {
+            if (shingles1[i] < shingles2[j]) {
+                i++;
+            } else if (shingles1[i] > shingles2[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return (double) common / (shingles1.length + shingles2.length - common);
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreads every bit of the input over the output.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /**
+     * Open addressing map of a band's keys to the first ordinal of their bucket.
+     */
+    private static final class Buckets {
+        private int[] keys = new int[16];
+        private int[] heads = new int[16];
+        private int size;
+
+        private Buckets() {
+            Arrays.fill(heads, NONE);
+        }
+
+        private int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = mix(key) & mask; heads[slot] != NONE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+            }
+            return NONE;
+        }
+
+        private void put(int key, int head) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (heads[slot] != NONE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (heads[slot] == NONE) {
+                size++;
+            }
+            keys[slot] = key;
+            heads[slot] = head;
+        }
+
+        private void remove(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (heads[slot] != NONE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (heads[slot] == NONE) {
+                return;
+            }
+            size--;
+
+            // shift back later entries of the run so lookups never stop early
+            int empty = slot;
+            heads[empty] = NONE;
+            for (int i = (empty + 1) & mask; heads[i] != NONE; i = (i + 1) & mask) {
+                int home = mix(keys[i]) & mask;
+                boolean movable = empty <= i ? home <= empty || home > i
+                        : home <= empty && home > i;
+                if (movable) {
+                    keys[empty] = keys[i];
+                    heads[empty] = heads[i];
+                    heads[i] = NONE;
+                    empty = i;
+                }
+            }
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+
+            keys = new int[2 * oldKeys.length];
+            heads = new int[2 * oldHeads.length];
+            Arrays.fill(heads, NONE);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] != NONE) {
+                    put(oldKeys[i], oldHeads[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package main;
+
+/**
+ * The {@code FenwickTree} class is an array of ints supporting point updates and prefix sums in
+ * O(log n), a binary indexed tree.
+ */
+final class FenwickTree {
+    // 1-based, tree[i] sums the (i & -i) values ending at i
+    private final int[] tree;
+
+    /**
+     * Initializes a newly created {@code FenwickTree} object of the specified number of zeros.
+     *
+     * @param size number of values.
+     */
+    FenwickTree(int size) {
+        tree = new int[size + 1];
+    }
+
+    /**
+     * Returns the number of values.
+     * @return The size of the tree.
+     */
+    int size() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds the specified delta to the value at the specified index.
+     *
+     * @param index index of the value, from 0.
+     * @param delta amount to add, may be negative.
+     */
+    void add(int index, int delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the values before the specified index.
+     *
+     * @param index end of the range, exclusive, from 0 to size.
+     * @return The sum of values 0 to index - 1.
+     */
+    int prefixSum(int index) {
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the values from {@code from}, inclusive, to {@code to}, exclusive.
+     * Indexes are clamped to the tree.
+     *
+     * @param from start of the range.
+     * @param to end of the range.
+     * @return The sum of the values of the range, 0 if it is empty.
+     */
+    int sum(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(size(), to);
+        return from < to ? prefixSum(to) - prefixSum(from) : 0;
+    }
+}
@@ -0,0 +1,261 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * The {@code NextTaskQueue} class answers "what should I do next": the open tasks of a
+ * {@link TaskModel} ordered by priority, then due date, then id.
+ * <p>
+ * Tasks are kept in an indexed binary heap, each task's position is looked up by its ordinal, so
+ * adding, removing, completing or changing the priority or due date of a task costs O(log n).
+ * The first K tasks are read in O(K log K) by walking the top of the heap, whatever the number of
+ * tasks. Tasks without a due date come after those with one of the same priority.
+ */
+public class NextTaskQueue implements TaskListener {
+    /**
+     * Order of the queue: priority, then due date with no date last, then id.
+     */
+    public static final Comparator<Task> ORDER = Comparator.comparing(Task::getPriority)
+            .thenComparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Task::getId);
+
+    private Task[] heap = new Task[16];
+    private int size;
+    private int[] positions = new int[16];
+    private final List<Top> tops = new ArrayList<Top>();
+
+    /**
+     * Initializes a newly created {@code NextTaskQueue} object holding the open tasks of the
+     * specified model. Built in O(n).
+     *
+     * @param model the model to queue, this registers itself as its listener.
+     */
+    public NextTaskQueue(TaskModel model) {
+        Arrays.fill(positions, -1);
+
+        for (Task task : model.getTasks()) {
+            if (!task.getIsCompleted()) {
+                ensureCapacity(task.getOrdinal());
+                heap[size] = task;
+                positions[task.getOrdinal()] = size;
+                size++;
+            }
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+
+        model.addListener(this);
+    }
+
+    /**
+     * Returns the number of open tasks.
+     * @return The number of tasks queued.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the task to do next, or null if every task is completed.
+     * @return The first task of the queue or null.
+     */
+    public Task peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Returns the first {@code k} tasks of the queue, in order. Runs in O(k log k).
+     *
+     * @param k the most tasks to return.
+     * @return A new List of at most k tasks.
+     */
+    public List<Task> peek(int k) {
+        List<Task> top = new ArrayList<Task>(Math.min(k, size));
+        if (size == 0) {
+            return top;
+        }
+
+        // the next task is always a child of a task already taken
+        PriorityQueue<Integer> frontier = new PriorityQueue<Integer>(
+                (i, j) -> ORDER.compare(heap[i], heap[j]));
+        frontier.add(0);
+        while (top.size() < k && !frontier.isEmpty()) {
+            int i = frontier.poll();
+            top.add(heap[i]);
+
+            int child = 2 * i + 1;
+            if (child < size) {
+                frontier.add(child);
+            }
+            if (child + 1 < size) {
+                frontier.add(child + 1);
+            }
+        }
+
+        return top;
+    }
+
+    /**
+     * Returns a list of the first {@code k} tasks kept current as tasks change, e.g. for a
+     * {@code ListView}. The list must not be modified.
+     *
+     * @param k the most tasks the list holds.
+     * @return An observable list of at most k tasks.
+     */
+    public ObservableList<Task> topView(int k) {
+        Top top = new Top(k);
+        top.tasks.setAll(peek(k));
+        tops.add(top);
+        return FXCollections.unmodifiableObservableList(top.tasks);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (!task.getIsCompleted()) {
+            offer(task);
+            refreshTops(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (remove(task)) {
+            refreshTops(task);
+        }
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.IS_COMPLETED) {
+            if (task.getIsCompleted()) {
+                remove(task);
+            } else {
+                offer(task);
+            }
+            refreshTops(task);
+        } else if (field == TaskField.PRIORITY || field == TaskField.DUE_DATE) {
+            int i = position(task);
+            if (i != -1) {
+                siftDown(siftUp(i));
+                refreshTops(task);
+            }
+        } else if (position(task) != -1) {
+            // views may show other fields
+            refreshTops(task);
+        }
+    }
+
+    private void offer(Task task) {
+        ensureCapacity(task.getOrdinal());
+        heap[size] = task;
+        positions[task.getOrdinal()] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    private boolean remove(Task task) {
+        int i = position(task);
+        if (i == -1) {
+            return false;
+        }
+
+        positions[task.getOrdinal()] = -1;
+        size--;
+        if (i != size) {
+            heap[i] = heap[size];
+            positions[heap[i].getOrdinal()] = i;
+            siftDown(siftUp(i));
+        }
+        heap[size] = null;
+        return true;
+    }
+
+    private int position(Task task) {
+        int ordinal = task.getOrdinal();
+        return ordinal < positions.length ? positions[ordinal] : -1;
+    }
+
+    /**
+     * Moves the task at i up until its parent comes before it, returns its new position.
+     */
+    private int siftUp(int i) {
+        Task task = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (ORDER.compare(heap[parent], task) <= 0) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(task, i);
+        return i;
+    }
+
+    /**
+     * Moves the task at i down until it comes before its children.
+     */
+    private void siftDown(int i) {
+        Task task = heap[i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && ORDER.compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (ORDER.compare(task, heap[child]) <= 0) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(task, i);
+    }
+
+    private void place(Task task, int i) {
+        heap[i] = task;
+        positions[task.getOrdinal()] = i;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, 2 * heap.length);
+        }
+        if (ordinal >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(2 * oldLength, ordinal + 1));
+            Arrays.fill(positions, oldLength, positions.length, -1);
+        }
+    }
+
+    /**
+     * Updates the views whose tasks changed, or which show the specified changed task.
+     */
+    private void refreshTops(Task changed) {
+        for (Top top : tops) {
+            List<Task> tasks = peek(top.k);
+            if (!tasks.equals(top.tasks) || top.tasks.contains(changed)) {
+                top.tasks.setAll(tasks);
+            }
+        }
+    }
+
+    /**
+     * A live view of the first k tasks.
+     */
+    private static final class Top {
+        private final int k;
+        private final ObservableList<Task> tasks = FXCollections.observableArrayList();
+
+        private Top(int k) {
+            this.k = k;
+        }
+    }
+}
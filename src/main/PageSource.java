@@ -0,0 +1,54 @@
+package main;
+
+import java.util.List;
+
+/**
+ * A {@code PageSource} supplies the elements of a {@link PagedList} a range at a time, e.g. rows
+ * of a sorted result resolved to tasks only when they are about to be shown.
+ *
+ * @param <E> the type of elements.
+ */
+public interface PageSource<E> {
+    /**
+     * Returns the number of elements.
+     * @return The number of elements, fixed for the life of this source.
+     */
+    int size();
+
+    /**
+     * Returns the elements from {@code from}, inclusive, to {@code to}, exclusive.
+     *
+     * @param from index of the first element.
+     * @param to index after the last element, at most {@link #size()}.
+     * @return A list of {@code to - from} elements.
+     */
+    List<E> fetch(int from, int to);
+
+    /**
+     * Called when a {@link PagedList} drops a page this source fetched, evicted or replaced, so
+     * state made for its elements, e.g. cached cell text, goes with it. Does nothing by default.
+     *
+     * @param page the elements of the dropped page, as fetched.
+     */
+    default void release(List<E> page) {
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element, or -1 if there is
+     * none. Fetches every element by default, sources should find elements more cheaply.
+     *
+     * @param element the element to look for.
+     * @return The index or -1.
+     */
+    default int indexOf(Object element) {
+        int size = size();
+        for (int from = 0; from < size; from += PagedList.DEFAULT_PAGE_SIZE) {
+            List<E> page = fetch(from, Math.min(size, from + PagedList.DEFAULT_PAGE_SIZE));
+            int i = page.indexOf(element);
+            if (i != -1) {
+                return from + i;
+            }
+        }
+        return -1;
+    }
+}
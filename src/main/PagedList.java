@@ -0,0 +1,236 @@
+package main;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+
+/**
+ * The {@code PagedList} class is a read-only {@code ObservableList} whose elements are fetched
+ * from a {@link PageSource} a page at a time, when first read, e.g. for a {@code TableView} of a
+ * million tasks that only ever shows a few dozen rows.
+ * <p>
+ * At most a fixed number of pages are kept, the least recently read page is evicted first, so
+ * memory is bounded by the page cache whatever the size of the source. Dropped pages are passed
+ * to {@link PageSource#release} so per-element state goes with them. Entering a page also
+ * fetches the next page in the direction reading moves, so scrolling rarely waits on a fetch.
+ * <p>
+ * Replacing the source with {@link #setSource} fires one change replacing every element,
+ * without fetching any. Not thread-safe, use from the JavaFX Application Thread.
+ *
+ * @param <E> the type of elements.
+ */
+public class PagedList<E> extends ObservableListBase<E> {
+    /**
+     * Number of elements per page when none is specified.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 256;
+
+    /**
+     * Number of pages kept when none is specified.
+     */
+    public static final int DEFAULT_MAX_PAGES = 16;
+
+    private static final String PAGE_SIZE_ERROR_MESSAGE = "Page size must be positive.";
+    private static final String MAX_PAGES_ERROR_MESSAGE = "At least two pages must be kept.";
+
+    private final int pageSize;
+    private final Map<Integer, List<E>> pages;
+    private PageSource<E> source;
+    private int size;
+    private int lastPage = -1;
+
+    /**
+     * Initializes a newly created {@code PagedList} object of the specified source with the
+     * default page size and number of pages.
+     *
+     * @param source supplies the elements.
+     */
+    public PagedList(PageSource<E> source) {
+        this(source, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Initializes a newly created {@code PagedList} object of the specified source.
+     *
+     * @param source supplies the elements.
+     * @param pageSize number of elements fetched at a time.
+     * @param maxPages number of pages kept.
+     * @throws IllegalArgumentException if pageSize is not positive or maxPages is below 2.
+     */
+    public PagedList(PageSource<E> source, int pageSize, int maxPages) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(PAGE_SIZE_ERROR_MESSAGE);
+        }
+        if (maxPages < 2) {
+            throw new IllegalArgumentException(MAX_PAGES_ERROR_MESSAGE);
+        }
+
+        this.pageSize = pageSize;
+        // access order, the eldest entry is the least recently read page
+        this.pages = new LinkedHashMap<Integer, List<E>>(2 * maxPages, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+                if (size() <= maxPages) {
+                    return false;
+                }
+                // the current source, which fetched it, not the one of the constructor
+                PagedList.this.source.release(eldest.getValue());
+                return true;
+            }
+        };
+        this.source = source;
+        this.size = source.size();
+    }
+
+    /**
+     * Replaces the source, firing a change that replaces every element. Pages of the previous
+     * source are dropped, no page of the new source is fetched until read.
+     *
+     * @param source supplies the new elements.
+     */
+    public void setSource(PageSource<E> source) {
+        PageSource<E> oldSource = this.source;
+        int oldSize = size;
+
+        for (List<E> page : pages.values()) {
+            oldSource.release(page);
+        }
+        this.source = source;
+        size = source.size();
+        pages.clear();
+        lastPage = -1;
+
+        if (oldSize > 0 || size > 0) {
+            // not through beginChange, which copies the removed elements so fetches them all
+            fireChange(new ReplaceAll(oldSource, oldSize));
+        }
+    }
+
+    /**
+     * Gets the source of the elements.
+     * @return The current source.
+     */
+    public PageSource<E> getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of pages currently kept.
+     * @return The number of pages fetched and not evicted.
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+
+        int page = index / pageSize;
+        List<E> elements = page(page);
+
+        if (page != lastPage) {
+            // prefetch ahead of the direction reading moves
+            if (lastPage != -1) {
+                int next = page > lastPage ? page + 1 : page - 1;
+                if (next >= 0 && next * pageSize < size && !pages.containsKey(next)) {
+                    load(next);
+                }
+            }
+            lastPage = page;
+        }
+
+        return elements.get(index - page * pageSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        return source.indexOf(element);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * The change of {@link #setSource}: every element replaced. Removed elements are fetched
+     * from the old source only if a listener reads them, and not released after.
+     */
+    private final class ReplaceAll extends ListChangeListener.Change<E> {
+        private final PageSource<E> oldSource;
+        private final int oldSize;
+        private int cursor = -1;
+
+        private ReplaceAll(PageSource<E> oldSource, int oldSize) {
+            super(PagedList.this);
+            this.oldSource = oldSource;
+            this.oldSize = oldSize;
+        }
+
+        @Override
+        public boolean next() {
+            cursor++;
+            return cursor == 0; // one change only
+        }
+
+        @Override
+        public void reset() {
+            cursor = -1;
+        }
+
+        @Override
+        public int getFrom() {
+            return 0;
+        }
+
+        @Override
+        public int getTo() {
+            return size;
+        }
+
+        @Override
+        public List<E> getRemoved() {
+            return new AbstractList<E>() {
+                @Override
+                public E get(int index) {
+                    return oldSource.fetch(index, index + 1).get(0);
+                }
+
+                @Override
+                public int size() {
+                    return oldSize;
+                }
+            };
+        }
+
+        @Override
+        protected int[] getPermutation() {
+            return new int[0];
+        }
+    }
+
+    private List<E> page(int page) {
+        List<E> elements = pages.get(page);
+        return elements != null ? elements : load(page);
+    }
+
+    private List<E> load(int page) {
+        int from = page * pageSize;
+        List<E> elements = source.fetch(from, Math.min(size, from + pageSize));
+        pages.put(page, elements);
+        return elements;
+    }
+}
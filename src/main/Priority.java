@@ -0,0 +1,43 @@
+package main;
+
+/**
+ * The {@code Priority} enum ranks how important a {@link Task} is, most important first.
+ */
+public enum Priority {
+    /**
+     * Do first.
+     */
+    HIGH("High"),
+    /**
+     * The default.
+     */
+    NORMAL("Normal"),
+    /**
+     * Do last.
+     */
+    LOW("Low");
+
+    private final String displayName;
+
+    private Priority(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the next less important priority, wrapping around from {@link #LOW} to
+     * {@link #HIGH}.
+     * @return The priority after this one.
+     */
+    public Priority next() {
+        Priority[] priorities = values();
+        return priorities[(ordinal() + 1) % priorities.length];
+    }
+
+    /**
+     * Returns the name of this priority as shown to users, e.g. "High".
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
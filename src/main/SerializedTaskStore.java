@@ -0,0 +1,169 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import main.TaskManager.TaskUI;
+
+/**
+ * The {@code SerializedTaskStore} class is the {@link TaskStore} of the save file: one
+ * serialized list of {@link TaskUI}s, the format every version of the application has written.
+ * <p>
+ * The format is one object, so it cannot be streamed or changed in place: the file is read
+ * whole on first use and kept in memory, batches change the tasks in memory and each flush
+ * rewrites the whole file. The file is written under a temporary name then renamed, so a crash
+ * leaves either the old or the new file and never half of one.
+ * <p>
+ * Files written before tasks had ids hold tasks without one, they are given new ids when read.
+ * A file that cannot be read is replaced on the next flush, as the application always did.
+ */
+public class SerializedTaskStore implements TaskStore {
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path file;
+    private final Map<Long, TaskRecord> records = new TreeMap<Long, TaskRecord>();
+    private boolean isLoaded;
+    private boolean isDirty;
+
+    /**
+     * Initializes a newly created {@code SerializedTaskStore} object of the specified file,
+     * which is created on the first flush if it does not exist.
+     *
+     * @param file the save file.
+     */
+    public SerializedTaskStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Serializes the specified tasks to the specified stream, the format of the save file.
+     *
+     * @param tasks the tasks to write.
+     * @param out the stream to write to, left open.
+     * @throws IOException if writing fails.
+     */
+    public static void write(List<TaskUI> tasks, OutputStream out) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeObject(tasks);
+        oos.flush();
+    }
+
+    /**
+     * Deserializes tasks written by {@link #write} from the specified stream.
+     *
+     * @param in the stream to read from, left open.
+     * @return The tasks read.
+     * @throws IOException if reading fails.
+     * @throws ClassNotFoundException if the stream holds unknown classes.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<TaskUI> read(InputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = new ObjectInputStream(in);
+        return (List<TaskUI>) ois.readObject();
+    }
+
+    @Override
+    public void forEach(Consumer<? super TaskRecord> action) throws IOException {
+        ensureLoaded();
+        records.values().forEach(action);
+    }
+
+    @Override
+    public List<TaskRecord> load() throws IOException {
+        ensureLoaded();
+        return new ArrayList<TaskRecord>(records.values());
+    }
+
+    @Override
+    public void apply(List<Mutation> mutations) throws IOException {
+        ensureLoaded();
+        // mutations are checked when made, so the batch cannot fail halfway
+        for (Mutation mutation : mutations) {
+            if (mutation.isDelete()) {
+                records.remove(mutation.getId());
+            } else {
+                records.put(mutation.getId(), mutation.getRecord());
+            }
+        }
+        isDirty |= !mutations.isEmpty();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (!isDirty) {
+            return;
+        }
+
+        List<TaskUI> tasks = new ArrayList<TaskUI>(records.size());
+        for (TaskRecord record : records.values()) {
+            tasks.add(new TaskUI(record));
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+            write(tasks, out);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        isDirty = false;
+    }
+
+    @Override
+    public long getStorageSize() throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * Reads the file into memory unless it was already read, or tried.
+     */
+    private void ensureLoaded() throws IOException {
+        if (isLoaded) {
+            return;
+        }
+        isLoaded = true; // a file that cannot be read is not retried
+
+        List<TaskUI> tasks;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            tasks = read(in);
+        } catch (NoSuchFileException e) {
+            return; // nothing saved yet
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+
+        long nextId = 1;
+        for (TaskUI task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        for (TaskUI task : tasks) {
+            if (task.getId() <= 0 || records.containsKey(task.getId())) {
+                task.setId(nextId++);
+            }
+            records.put(task.getId(), TaskRecord.of(task));
+        }
+        // rewrite older formats, e.g. completion dates stamped when read, on the next flush
+        isDirty = true;
+    }
+}
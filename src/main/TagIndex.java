@@ -0,0 +1,183 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code TagIndex} class answers tag queries over the tasks of a {@link TaskModel}, e.g. 
+ * "tagged work and urgent, not tagged home, not completed".
+ * <p>
+ * Each tag has a {@link CompressedBitmap} of the ordinals of the tasks it is on, and a 
+ * {@link BitSet} holds the ordinals of completed tasks. Queries intersect the bitmaps starting 
+ * from the rarest tag, so they cost about the size of the smallest bitmap rather than the number
+ * of tasks. The index updates itself on every add, remove, tag and completion change.
+ */
+public class TagIndex implements TaskListener {
+    private final TaskModel model;
+    private final Map<String, CompressedBitmap> tasksByTag = 
+            new HashMap<String, CompressedBitmap>();
+    private final BitSet tasks = new BitSet();
+    private final BitSet completedTasks = new BitSet();
+
+    /**
+     * Initializes a newly created {@code TagIndex} object indexing the tasks of the specified 
+     * model.
+     * 
+     * @param model the model to index, this registers itself as its listener.
+     */
+    public TagIndex(TaskModel model) {
+        this.model = model;
+
+        for (Task task : model.getTasks()) {
+            taskAdded(task);
+        }
+        model.addListener(this);
+    }
+
+    /**
+     * Returns the number of tasks with the specified tag.
+     * 
+     * @param tag the tag to count.
+     * @return The number of tasks tagged with it.
+     */
+    public int count(String tag) {
+        CompressedBitmap bitmap = tasksByTag.get(Task.normalizeTag(tag));
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     * 
+     * @return The number of tasks marked completed.
+     */
+    public int countCompleted() {
+        return completedTasks.cardinality();
+    }
+
+    /**
+     * Returns the ordinals of the tasks with all of the tags of {@code allOf}, none of the tags
+     * of {@code noneOf} and, unless null, the specified completion.
+     * 
+     * @param allOf tags each task must have, none for every task.
+     * @param noneOf tags no task may have.
+     * @param isCompleted required completion, null for either.
+     * @return A new {@code BitSet} of the ordinals of the matching tasks.
+     */
+    public BitSet select(Collection<String> allOf, Collection<String> noneOf, 
+            Boolean isCompleted) {
+        BitSet result = new BitSet();
+
+        List<CompressedBitmap> included = new ArrayList<CompressedBitmap>(allOf.size());
+        for (String tag : allOf) {
+            CompressedBitmap bitmap = tasksByTag.get(Task.normalizeTag(tag));
+            if (bitmap == null) {
+                return result; // no task has this tag
+            }
+            included.add(bitmap);
+        }
+
+        if (included.isEmpty()) {
+            result.or(tasks);
+            for (String tag : noneOf) {
+                CompressedBitmap bitmap = tasksByTag.get(Task.normalizeTag(tag));
+                if (bitmap != null) {
+                    bitmap.forEach(result::clear);
+                }
+            }
+        } else {
+            // rarest first keeps every intermediate result small
+            included.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+            CompressedBitmap matches = included.get(0);
+            for (int i = 1; i < included.size(); i++) {
+                matches = matches.and(included.get(i));
+            }
+            for (String tag : noneOf) {
+                CompressedBitmap bitmap = tasksByTag.get(Task.normalizeTag(tag));
+                if (bitmap != null) {
+                    matches = matches.andNot(bitmap);
+                }
+            }
+            matches.forEach(result::set);
+        }
+
+        if (isCompleted != null) {
+            if (isCompleted) {
+                result.and(completedTasks);
+            } else {
+                result.andNot(completedTasks);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the tasks {@link #select} matches, in ordinal order.
+     * 
+     * @param allOf tags each task must have, none for every task.
+     * @param noneOf tags no task may have.
+     * @param isCompleted required completion, null for either.
+     * @return A new List of the matching tasks.
+     */
+    public List<Task> find(Collection<String> allOf, Collection<String> noneOf, 
+            Boolean isCompleted) {
+        BitSet ordinals = select(allOf, noneOf, isCompleted);
+
+        List<Task> found = new ArrayList<Task>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            found.add(model.getByOrdinal(i));
+        }
+        return found;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        int ordinal = task.getOrdinal();
+        tasks.set(ordinal);
+        completedTasks.set(ordinal, task.getIsCompleted());
+        addTags(ordinal, task.getTags());
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        int ordinal = task.getOrdinal();
+        tasks.clear(ordinal);
+        completedTasks.clear(ordinal);
+        removeTags(ordinal, task.getTags());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.IS_COMPLETED) {
+            completedTasks.set(task.getOrdinal(), task.getIsCompleted());
+        } else if (field == TaskField.TAGS) {
+            removeTags(task.getOrdinal(), (Set<String>) oldValue);
+            addTags(task.getOrdinal(), task.getTags());
+        }
+    }
+
+    private void addTags(int ordinal, Set<String> tags) {
+        for (String tag : tags) {
+            tasksByTag.computeIfAbsent(tag, key -> new CompressedBitmap()).add(ordinal);
+        }
+    }
+
+    private void removeTags(int ordinal, Set<String> tags) {
+        for (String tag : tags) {
+            CompressedBitmap bitmap = tasksByTag.get(tag);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.cardinality() == 0) {
+                    tasksByTag.remove(tag);
+                }
+            }
+        }
+    }
+}
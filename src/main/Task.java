@@ -1,7 +1,15 @@
 package main;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * The {@code Task} class represents a single task, e.g. for a todo list. 
@@ -11,24 +19,38 @@ import java.time.LocalDate;
  *   <li>Title</li> 
  *   <li>Description</li>
  *   <li>Due Date</li>
- *   <li>Whether the task is completed</li>
+ *   <li>Whether the task is completed, and since when</li>
+ *   <li>Tags</li>
+ *   <li>Priority</li>
+ *   <li>Parent task, if it is a subtask</li>
  * </ul>
  * 
  * Tasks have the following rules:
  * <ul>
  *   <li>Tasks cannot store null titles or description.</li>
  *   <li>The title cannot be empty.</li>
+ *   <li>Tags cannot be null or blank.</li>
+ *   <li>Priority cannot be null.</li>
  * </ul>
  * Attempting either of these will throw an exception.
  * <p>
  * {@code Task} objects have getters and setter but whether the task is completed is also a field.
+ * <p>
+ * Once added to a {@link TaskModel} a task reports every change made through its setters to that
+ * model. Writing the public fields directly bypasses the model and its indexes, use the setters.
  */
 public class Task implements Serializable {
+    private static final long serialVersionUID = -3585715654159748274L;
     private static final String NULL_ERROR_MESSAGE = 
             "Tasks cannot store null titles or description.";
     private static final String EMPTY_TITLE_ERROR_MESSAGE = 
             "Title cannot be blank.";
+    private static final String TAG_ERROR_MESSAGE = 
+            "Tags cannot be null or blank.";
+    private static final String PRIORITY_ERROR_MESSAGE = 
+            "Priority cannot be null.";
 
+    private long id;
     private String title;
     private String description;
 
@@ -41,6 +63,14 @@ public class Task implements Serializable {
      */
     public boolean isCompleted;
 
+    private LocalDate completedOn;
+    private TreeSet<String> tags = new TreeSet<String>();
+    private Priority priority = Priority.NORMAL;
+    private long parentId;
+
+    private transient TaskListener listener;
+    private transient int ordinal = -1;
+
     /**
      * Initializes a newly created {@code Task} object so it represents the task with the 
      * specified information.
@@ -63,6 +93,33 @@ public class Task implements Serializable {
         this.description = description;
         this.dueDate = dueDate;
         this.isCompleted = isCompleted;
+        this.completedOn = isCompleted ? LocalDate.now() : null;
+    }
+
+    /**
+     * Initializes a newly created {@code Task} object holding the values of the specified 
+     * {@code TaskRecord}, id included.
+     * 
+     * @param record the point-in-time values of a task.
+     */
+    protected Task(TaskRecord record) {
+        this(record.getTitle(), record.getDescription(), record.getDueDate(), 
+                record.getIsCompleted());
+        this.id = record.getId();
+        this.tags = new TreeSet<String>(record.getTags());
+        this.priority = record.getPriority();
+        this.parentId = record.getParentId();
+        this.completedOn = record.getCompletedOn();
+    }
+
+    /**
+     * Gets the id of this task.
+     * <p>
+     * Ids are assigned by the {@link TaskModel} the task is added to, 0 means unassigned.
+     * @return A long uniquely identifying this task within its model.
+     */
+    public long getId() {
+        return id;
     }
 
     /**
@@ -101,6 +158,50 @@ public class Task implements Serializable {
         return isCompleted;
     }
 
+    /**
+     * Gets the date this task was completed, set when it is marked completed and cleared when
+     * it is not.
+     * @return A LocalDate representing when this task was completed, null if it is not.
+     */
+    public LocalDate getCompletedOn() {
+        return isCompleted ? completedOn : null;
+    }
+
+    /**
+     * Gets the tags of this task, sorted.
+     * @return An unmodifiable Set of this task's tags, empty if there are none.
+     */
+    public Set<String> getTags() {
+        if (tags == null) {
+            // saved before tags existed
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(tags);
+    }
+
+    /**
+     * Gets the priority of this task.
+     * @return A Priority representing how important this task is, {@link Priority#NORMAL} 
+     * unless set.
+     */
+    public Priority getPriority() {
+        if (priority == null) {
+            // saved before priorities existed
+            return Priority.NORMAL;
+        }
+        return priority;
+    }
+
+    /**
+     * Gets the id of the parent of this task.
+     * <p>
+     * Parents are set through {@link TaskTree#setParent}, which prevents cycles.
+     * @return A long representing the parent's id, 0 if this task has no parent.
+     */
+    public long getParentId() {
+        return parentId;
+    }
+
     /**
      * Sets the title of this task.
      * @param title The value used to set the title.
@@ -114,7 +215,9 @@ public class Task implements Serializable {
             throw new IllegalArgumentException(EMPTY_TITLE_ERROR_MESSAGE);
         }
 
+        String oldTitle = this.title;
         this.title = title;
+        fieldChanged(TaskField.TITLE, oldTitle, title);
     }
 
     /**
@@ -128,7 +231,9 @@ public class Task implements Serializable {
             throw new IllegalArgumentException(NULL_ERROR_MESSAGE);
         }
 
+        String oldDescription = this.description;
         this.description = description;
+        fieldChanged(TaskField.DESCRIPTION, oldDescription, description);
     }
 
     /**
@@ -136,7 +241,9 @@ public class Task implements Serializable {
      * @param dueDate The Calendar used to set the due date.
      */
     public void setDueDate(LocalDate dueDate) {
+        LocalDate oldDueDate = this.dueDate;
         this.dueDate = dueDate;
+        fieldChanged(TaskField.DUE_DATE, oldDueDate, dueDate);
     }
 
     /**
@@ -146,6 +253,110 @@ public class Task implements Serializable {
      * @param isCompleted the value used to set whether this task is completed.
      */
     public void setIsCompleted(boolean isCompleted) {
+        boolean oldIsCompleted = this.isCompleted;
         this.isCompleted = isCompleted;
+        if (isCompleted != oldIsCompleted) {
+            completedOn = isCompleted ? LocalDate.now() : null;
+        }
+        fieldChanged(TaskField.IS_COMPLETED, oldIsCompleted, isCompleted);
+    }
+
+    /**
+     * Sets the tags of this task, replacing any it had. Tags are trimmed and lower case, 
+     * duplicates are ignored.
+     * @param tags The values used to set the tags.
+     * 
+     * @throws IllegalArgumentException if the specified {@code Collection} or any tag is null or
+     * blank.
+     */
+    public void setTags(Collection<String> tags) {
+        if (tags == null) {
+            throw new IllegalArgumentException(TAG_ERROR_MESSAGE);
+        }
+
+        TreeSet<String> newTags = new TreeSet<String>();
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) {
+                throw new IllegalArgumentException(TAG_ERROR_MESSAGE);
+            }
+            newTags.add(normalizeTag(tag));
+        }
+
+        Set<String> oldTags = getTags();
+        this.tags = newTags;
+        fieldChanged(TaskField.TAGS, oldTags, getTags());
+    }
+
+    /**
+     * Sets the priority of this task.
+     * @param priority The value used to set the priority.
+     * 
+     * @throws IllegalArgumentException if the specified {@code Priority} is null.
+     */
+    public void setPriority(Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException(PRIORITY_ERROR_MESSAGE);
+        }
+
+        Priority oldPriority = getPriority();
+        this.priority = priority;
+        fieldChanged(TaskField.PRIORITY, oldPriority, priority);
+    }
+
+    /**
+     * Called after a setter changed a field of this task. Reports the change to the owning 
+     * {@link TaskModel}, if any. Setting a field to its current value is not a change.
+     * <p>
+     * Subclasses overriding this must call super.
+     * 
+     * @param field the field that was set.
+     * @param oldValue the value before the change.
+     * @param newValue the value after the change.
+     */
+    protected void fieldChanged(TaskField field, Object oldValue, Object newValue) {
+        if (listener != null && !Objects.equals(oldValue, newValue)) {
+            listener.taskChanged(this, field, oldValue);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (isCompleted && completedOn == null) {
+            // saved before completion dates existed, completed as of loading
+            completedOn = LocalDate.now();
+        }
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the specified tag as tasks store it, trimmed and lower case.
+     */
+    static String normalizeTag(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    void setParentId(long parentId) {
+        long oldParentId = this.parentId;
+        this.parentId = parentId;
+        fieldChanged(TaskField.PARENT, oldParentId, parentId);
+    }
+
+    int getOrdinal() {
+        return ordinal;
+    }
+
+    void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    TaskListener getListener() {
+        return listener;
+    }
+
+    void setListener(TaskListener listener) {
+        this.listener = listener;
     }
 }
@@ -0,0 +1,353 @@
+package main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code TaskArchive} class is the cold tier of completed tasks: tasks completed long ago
+ * are moved out of the save file into compressed segment files, so they are neither loaded nor
+ * kept in memory until searched.
+ * <p>
+ * Segments are gzipped, serialized lists of {@link TaskRecord}s, written once and never changed.
+ * A small index file lists the segments with their number of tasks, highest id and range of
+ * completion dates, so the archive is opened by reading the index alone and searches by
+ * completion date skip segments outside the range.
+ * <p>
+ * Archiving is two steps so a crash never loses or duplicates a task: {@link #archive} writes
+ * the new segments and marks them pending in the index, then once the save file without those
+ * tasks is written {@link #commit} clears the mark. Should the save file not be written, the
+ * tasks loaded from it that are in pending segments are found with {@link #getPendingIds} and
+ * dropped. Segment files not in the index, left by a crash before the index was written, are
+ * deleted on open.
+ * <p>
+ * Not thread-safe, searches may run on another thread as long as nothing is archived meanwhile.
+ */
+public class TaskArchive {
+    /**
+     * Name of the index file within the archive directory.
+     */
+    public static final String INDEX_FILENAME = "index.ser";
+
+    /**
+     * Maximum number of tasks written to one segment.
+     */
+    public static final int MAX_SEGMENT_SIZE = 10000;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".gz";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private Index index = new Index();
+
+    /**
+     * Opens the archive in the specified directory, reading its index. The directory is created
+     * when tasks are first archived.
+     *
+     * @param directory the directory of the segment and index files.
+     * @throws IOException if reading the index or deleting unindexed segments fails.
+     * @throws ClassNotFoundException if the index holds unknown classes.
+     */
+    public TaskArchive(Path directory) throws IOException, ClassNotFoundException {
+        this.directory = directory;
+
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(INDEX_FILENAME))))) {
+            index = (Index) ois.readObject();
+        } catch (NoSuchFileException e) {
+            // nothing archived yet
+            return;
+        }
+
+        // segments written before a crash, the tasks are still in the save file
+        Set<String> indexed = new HashSet<String>();
+        for (Segment segment : index.segments) {
+            indexed.add(segment.fileName);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMPORARY_SUFFIX)
+                        || name.startsWith(SEGMENT_PREFIX) && !indexed.contains(name)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of archived tasks, pending ones included.
+     * @return The number of tasks in every segment.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : index.segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of segment files.
+     * @return The number of segments, pending ones included.
+     */
+    public int getSegmentCount() {
+        return index.segments.size();
+    }
+
+    /**
+     * Returns the highest id of an archived task, for {@link TaskModel#reserveIds}.
+     * @return The highest id, 0 if nothing is archived.
+     */
+    public long getMaxId() {
+        long maxId = 0;
+        for (Segment segment : index.segments) {
+            maxId = Math.max(maxId, segment.maxId);
+        }
+        return maxId;
+    }
+
+    /**
+     * Returns the ids of the tasks in segments not yet committed, which the save file may still
+     * hold. Reads only the pending segments.
+     *
+     * @return The ids of pending tasks, empty if nothing is pending.
+     * @throws IOException if reading a segment fails.
+     * @throws ClassNotFoundException if a segment holds unknown classes.
+     */
+    public Set<Long> getPendingIds() throws IOException, ClassNotFoundException {
+        Set<Long> ids = new HashSet<Long>();
+        for (int i = index.firstPending; i < index.segments.size(); i++) {
+            for (TaskRecord record : read(index.segments.get(i))) {
+                ids.add(record.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Archives the tasks of the specified snapshot completed on or before the specified date,
+     * see {@link #select}. The new segments are pending until {@link #commit}.
+     *
+     * @param snapshot the tasks to choose from.
+     * @param completedBy last completion date archived.
+     * @return The records archived, to be left out of the save file.
+     * @throws IOException if writing a segment or the index fails.
+     */
+    public List<TaskRecord> archive(TaskSnapshot snapshot, LocalDate completedBy)
+            throws IOException {
+        List<TaskRecord> records = select(snapshot, completedBy);
+        if (records.isEmpty()) {
+            return records;
+        }
+
+        // by completion date so searches of recent tasks skip old segments
+        records.sort(Comparator.comparing(TaskRecord::getCompletedOn)
+                .thenComparingLong(TaskRecord::getId));
+
+        Files.createDirectories(directory);
+        // pending segments of a failed save stay pending with the new ones
+        Index newIndex = index.copy();
+        for (int from = 0; from < records.size(); from += MAX_SEGMENT_SIZE) {
+            List<TaskRecord> segmentRecords =
+                    records.subList(from, Math.min(records.size(), from + MAX_SEGMENT_SIZE));
+            Segment segment = new Segment(SEGMENT_PREFIX
+                    + String.format("%06d", newIndex.nextSegment++) + SEGMENT_SUFFIX,
+                    segmentRecords);
+            write(segment.fileName, new ArrayList<TaskRecord>(segmentRecords));
+            newIndex.segments.add(segment);
+        }
+        write(INDEX_FILENAME, newIndex);
+        index = newIndex;
+
+        return records;
+    }
+
+    /**
+     * Marks every pending segment as committed, once the save file no longer holds their tasks.
+     * Does nothing if none is pending.
+     *
+     * @throws IOException if writing the index fails.
+     */
+    public void commit() throws IOException {
+        if (index.firstPending == index.segments.size()) {
+            return;
+        }
+
+        Index newIndex = index.copy();
+        newIndex.firstPending = newIndex.segments.size();
+        write(INDEX_FILENAME, newIndex);
+        index = newIndex;
+    }
+
+    /**
+     * Returns archived tasks completed from {@code from} to {@code to}, both inclusive, that
+     * match the specified filter, most recently archived first. Only segments overlapping the
+     * range are read, one at a time.
+     *
+     * @param from first completion date, null for no limit.
+     * @param to last completion date, null for no limit.
+     * @param filter keeps the matching records.
+     * @param limit maximum number of records returned.
+     * @return A new list of at most limit records.
+     * @throws IOException if reading a segment fails.
+     * @throws ClassNotFoundException if a segment holds unknown classes.
+     */
+    public List<TaskRecord> search(LocalDate from, LocalDate to, Predicate<TaskRecord> filter,
+            int limit) throws IOException, ClassNotFoundException {
+        List<TaskRecord> result = new ArrayList<TaskRecord>();
+        List<Segment> segments = index.segments;
+
+        for (int i = segments.size() - 1; i >= 0 && result.size() < limit; i--) {
+            Segment segment = segments.get(i);
+            if (from != null && segment.lastCompletedOn.isBefore(from)
+                    || to != null && segment.firstCompletedOn.isAfter(to)) {
+                continue;
+            }
+
+            List<TaskRecord> records = read(segment);
+            for (int j = records.size() - 1; j >= 0 && result.size() < limit; j--) {
+                TaskRecord record = records.get(j);
+                LocalDate completedOn = record.getCompletedOn();
+                if ((from == null || !completedOn.isBefore(from))
+                        && (to == null || !completedOn.isAfter(to)) && filter.test(record)) {
+                    result.add(record);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the records of the specified tasks that can be archived: completed on or before
+     * the specified date, and with every subtask archived too, so no task left active has an
+     * archived parent.
+     *
+     * @param records the tasks to choose from.
+     * @param completedBy last completion date archived.
+     * @return A new list of the records to archive, in the order of records.
+     */
+    public static List<TaskRecord> select(Iterable<TaskRecord> records, LocalDate completedBy) {
+        Map<Long, Long> parentIds = new HashMap<Long, Long>();
+        for (TaskRecord record : records) {
+            parentIds.put(record.getId(), record.getParentId());
+        }
+
+        // an active task keeps its ancestors active
+        Set<Long> kept = new HashSet<Long>();
+        for (TaskRecord record : records) {
+            if (!isOld(record, completedBy)) {
+                long id = record.getId();
+                while (id != 0 && kept.add(id)) {
+                    id = parentIds.getOrDefault(id, 0L);
+                }
+            }
+        }
+
+        List<TaskRecord> selected = new ArrayList<TaskRecord>();
+        for (TaskRecord record : records) {
+            if (!kept.contains(record.getId())) {
+                selected.add(record);
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isOld(TaskRecord record, LocalDate completedBy) {
+        return record.getCompletedOn() != null && !record.getCompletedOn().isAfter(completedBy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TaskRecord> read(Segment segment) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(
+                Files.newInputStream(directory.resolve(segment.fileName))))) {
+            return (List<TaskRecord>) ois.readObject();
+        }
+    }
+
+    /**
+     * Writes the specified object to the specified file, gzipped if it is a segment. The file is
+     * written under a temporary name then renamed, so it is never seen half written.
+     */
+    private void write(String fileName, Serializable object) throws IOException {
+        Path file = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + TEMPORARY_SUFFIX);
+
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary));
+        if (fileName.endsWith(SEGMENT_SUFFIX)) {
+            out = new GZIPOutputStream(out);
+        }
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(object);
+        }
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The contents of the index file, replaced rather than changed.
+     */
+    private static class Index implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private List<Segment> segments = Collections.emptyList();
+        // segments from this one on are pending
+        private int firstPending;
+        private int nextSegment = 1;
+
+        private Index copy() {
+            Index copy = new Index();
+            copy.segments = new ArrayList<Segment>(segments);
+            copy.firstPending = firstPending;
+            copy.nextSegment = nextSegment;
+            return copy;
+        }
+    }
+
+    /**
+     * An entry of the index, what is known of a segment without reading it.
+     */
+    private static class Segment implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String fileName;
+        private final int size;
+        private final long maxId;
+        private final LocalDate firstCompletedOn;
+        private final LocalDate lastCompletedOn;
+
+        /**
+         * Describes the specified records, sorted by completion date.
+         */
+        private Segment(String fileName, List<TaskRecord> records) {
+            this.fileName = fileName;
+            this.size = records.size();
+            this.maxId = records.stream().mapToLong(TaskRecord::getId).max().orElse(0);
+            this.firstCompletedOn = records.get(0).getCompletedOn();
+            this.lastCompletedOn = records.get(records.size() - 1).getCompletedOn();
+        }
+    }
+}
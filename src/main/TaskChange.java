@@ -0,0 +1,103 @@
+package main;
+
+/**
+ * The {@code TaskChange} class is one event of a {@link TaskChangeFeed}: a task was created,
+ * had a field updated, was completed or was deleted.
+ * <p>
+ * Each change carries the version of the {@link TaskModel} after it, so versions increase by
+ * one from change to change, except for tasks added together, e.g. on loading, which share one
+ * version. A subscriber seeing a version skip knows changes were dropped and can start over
+ * from {@link TaskModel#snapshot()}, whose version says which changes it already holds.
+ */
+public final class TaskChange {
+    /**
+     * The kinds of change.
+     */
+    public enum Type {
+        /**
+         * The task was added to the model.
+         */
+        CREATED,
+        /**
+         * A field of the task changed, see {@link TaskChange#getField}. Marking a completed
+         * task as not completed is an update of {@link TaskField#IS_COMPLETED}.
+         */
+        UPDATED,
+        /**
+         * The task was marked as completed.
+         */
+        COMPLETED,
+        /**
+         * The task was removed from the model.
+         */
+        DELETED
+    }
+
+    private final Type type;
+    private final long version;
+    private final TaskRecord record;
+    private final TaskField field;
+
+    /**
+     * Initializes a newly created {@code TaskChange} object.
+     *
+     * @param type the kind of change.
+     * @param version the version of the model after the change.
+     * @param record the task after the change, as it was when deleted.
+     * @param field the field updated or completed, null when created or deleted.
+     */
+    public TaskChange(Type type, long version, TaskRecord record, TaskField field) {
+        this.type = type;
+        this.version = version;
+        this.record = record;
+        this.field = field;
+    }
+
+    /**
+     * Gets the kind of this change.
+     * @return A Type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the id of the changed task.
+     * @return A long identifying the task.
+     */
+    public long getTaskId() {
+        return record.getId();
+    }
+
+    /**
+     * Gets the version of the model after this change.
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the task after this change, or as it was when deleted.
+     * @return An immutable record of the task.
+     */
+    public TaskRecord getRecord() {
+        return record;
+    }
+
+    /**
+     * Gets the field this change updated.
+     * @return The field, null for created and deleted tasks.
+     */
+    public TaskField getField() {
+        return field;
+    }
+
+    /**
+     * Returns e.g. "UPDATED 42 TITLE at 1007".
+     */
+    @Override
+    public String toString() {
+        return type + " " + getTaskId() + (field == null ? "" : " " + field) + " at " + version;
+    }
+}
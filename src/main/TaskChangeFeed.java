@@ -0,0 +1,321 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+/**
+ * The {@code TaskChangeFeed} class publishes the changes of a {@link TaskModel} as
+ * {@link TaskChange}s to {@link Flow.Subscriber}s on other threads, e.g. indexers, exporters or
+ * sync, so they never run on the thread editing tasks.
+ * <p>
+ * Each subscriber has its own bounded buffer and receives changes in batches of up to a given
+ * size, one batch per unit of demand. Publishing only adds to buffers, never waits: a subscriber
+ * that falls behind until its buffer is full loses changes according to its
+ * {@link OverflowPolicy} while edits carry on. Lost changes show as a skip in versions, see
+ * {@link TaskChange}.
+ * <p>
+ * Changes are published on the thread changing the model. Subscribers are signalled on the
+ * executor, one signal at a time each, and may request and cancel from any thread.
+ */
+public class TaskChangeFeed implements TaskListener, Flow.Publisher<List<TaskChange>> {
+    /**
+     * Number of changes buffered per subscriber unless specified.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Maximum number of changes per batch unless specified.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * What happens to a change published to a subscriber whose buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest buffered change is dropped to make room, so the subscriber keeps up with
+         * the latest changes.
+         */
+        DROP_OLDEST,
+        /**
+         * The new change is dropped, so the subscriber gets the oldest changes uninterrupted.
+         */
+        DROP_NEWEST,
+        /**
+         * The subscription is cancelled and the subscriber signalled an
+         * {@link IllegalStateException} once it has the changes buffered, for subscribers
+         * that must not miss a change.
+         */
+        FAIL
+    }
+
+    private final TaskModel model;
+    private final Executor executor;
+    private final List<ChangeSubscription> subscriptions =
+            new CopyOnWriteArrayList<ChangeSubscription>();
+
+    /**
+     * Initializes a newly created {@code TaskChangeFeed} object publishing the changes of the
+     * specified model, signalling subscribers on daemon threads of its own.
+     *
+     * @param model the tasks whose changes are published.
+     */
+    public TaskChangeFeed(TaskModel model) {
+        this(model, Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Initializes a newly created {@code TaskChangeFeed} object publishing the changes of the
+     * specified model, signalling subscribers on the specified executor.
+     *
+     * @param model the tasks whose changes are published.
+     * @param executor runs the delivery to subscribers, must not run it on the calling thread.
+     */
+    public TaskChangeFeed(TaskModel model, Executor executor) {
+        this.model = model;
+        this.executor = executor;
+        model.addListener(this);
+    }
+
+    /**
+     * Subscribes the specified subscriber with a buffer of {@value #DEFAULT_CAPACITY} changes,
+     * batches of up to {@value #DEFAULT_BATCH_SIZE} and {@link OverflowPolicy#DROP_OLDEST}.
+     *
+     * @param subscriber the subscriber to changes from now on.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<TaskChange>> subscriber) {
+        subscribe(subscriber, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Subscribes the specified subscriber to the changes from now on. Its
+     * {@code onSubscribe} is called on the calling thread before this method returns.
+     *
+     * @param subscriber the subscriber.
+     * @param capacity the most changes buffered for the subscriber.
+     * @param batchSize the most changes passed to one {@code onNext}.
+     * @param policy what happens to changes once the buffer is full.
+     * @throws IllegalArgumentException if capacity or batch size is not positive.
+     */
+    public void subscribe(Flow.Subscriber<? super List<TaskChange>> subscriber, int capacity,
+            int batchSize, OverflowPolicy policy) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Capacity and batch size must be positive: " + capacity + ", " + batchSize);
+        }
+
+        ChangeSubscription subscription =
+                new ChangeSubscription(subscriber, capacity, batchSize, policy);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     * @return The number of subscriptions neither cancelled nor completed.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops publishing: each subscriber is completed once it has the changes buffered.
+     */
+    public void close() {
+        model.removeListener(this);
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        publish(TaskChange.Type.CREATED, task, null);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        publish(TaskChange.Type.DELETED, task, null);
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        publish(field == TaskField.IS_COMPLETED && task.getIsCompleted()
+                ? TaskChange.Type.COMPLETED : TaskChange.Type.UPDATED, task, field);
+    }
+
+    private void publish(TaskChange.Type type, Task task, TaskField field) {
+        if (subscriptions.isEmpty()) {
+            return; // no record copied for nobody
+        }
+
+        TaskChange change = new TaskChange(type, model.getVersion(), TaskRecord.of(task), field);
+        for (ChangeSubscription subscription : subscriptions) {
+            subscription.offer(change);
+        }
+    }
+
+    /**
+     * The buffer and demand of one subscriber. Guarded by its own lock, held only to add or take
+     * changes, never while signalling the subscriber.
+     */
+    private final class ChangeSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super List<TaskChange>> subscriber;
+        private final int capacity;
+        private final int batchSize;
+        private final OverflowPolicy policy;
+        private final ArrayDeque<TaskChange> buffer = new ArrayDeque<TaskChange>();
+        private long demand;
+        private boolean isScheduled;
+        private boolean isCompleted;
+        // set once, the last signal
+        private Throwable error;
+        private boolean isTerminated;
+
+        private ChangeSubscription(Flow.Subscriber<? super List<TaskChange>> subscriber,
+                int capacity, int batchSize, OverflowPolicy policy) {
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+            this.batchSize = batchSize;
+            this.policy = policy;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (isTerminated) {
+                    return;
+                }
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("Non-positive request: " + n));
+                    buffer.clear(); // signalled at once
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // saturates
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                isTerminated = true;
+                buffer.clear();
+            }
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Buffers the specified change, on the publishing thread.
+         */
+        private void offer(TaskChange change) {
+            synchronized (this) {
+                if (isTerminated || isCompleted || error != null) {
+                    return;
+                }
+                if (buffer.size() == capacity) {
+                    if (policy == OverflowPolicy.DROP_OLDEST) {
+                        buffer.pollFirst();
+                    } else if (policy == OverflowPolicy.DROP_NEWEST) {
+                        return;
+                    } else {
+                        fail(new IllegalStateException("More than " + capacity
+                                + " changes buffered, the subscriber fell behind"));
+                        subscriptions.remove(this);
+                        return; // signalled once the buffered changes are requested
+                    }
+                }
+                buffer.addLast(change);
+                if (demand == 0) {
+                    return; // delivered once requested
+                }
+            }
+            schedule();
+        }
+
+        private void complete() {
+            synchronized (this) {
+                isCompleted = true;
+            }
+            subscriptions.remove(this);
+            schedule();
+        }
+
+        /**
+         * Ends the subscription with the specified error, signalled after the buffered changes.
+         * Called holding the lock.
+         */
+        private void fail(Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (isScheduled || isTerminated) {
+                    return;
+                }
+                isScheduled = true;
+            }
+            executor.execute(this);
+        }
+
+        /**
+         * Delivers batches while there are changes and demand, then the final signal if due.
+         */
+        @Override
+        public void run() {
+            while (true) {
+                List<TaskChange> batch;
+                boolean isLast = false;
+                synchronized (this) {
+                    if (isTerminated) {
+                        return;
+                    }
+                    if (demand > 0 && !buffer.isEmpty()) {
+                        batch = new ArrayList<TaskChange>(Math.min(batchSize, buffer.size()));
+                        while (batch.size() < batchSize && !buffer.isEmpty()) {
+                            batch.add(buffer.pollFirst());
+                        }
+                        demand--;
+                    } else if (buffer.isEmpty() && (isCompleted || error != null)) {
+                        batch = null;
+                        isLast = true;
+                        isTerminated = true;
+                    } else {
+                        isScheduled = false;
+                        return;
+                    }
+                }
+
+                if (isLast) {
+                    if (error == null) {
+                        subscriber.onComplete();
+                    } else {
+                        subscriber.onError(error);
+                    }
+                    return;
+                }
+
+                try {
+                    subscriber.onNext(batch);
+                } catch (RuntimeException e) {
+                    // a failing subscriber is cancelled, as Flow requires
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
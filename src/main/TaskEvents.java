@@ -0,0 +1,110 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code TaskEvents} class holds the JDK Flight Recorder events of the application, one per
+ * operation whose time users notice: loading, saving, sorting, editing and deleting tasks.
+ * <p>
+ * Events are recorded with e.g. {@code java -XX:StartFlightRecording=filename=tasks.jfr} or
+ * {@code jcmd <pid> JFR.start}, and read offline with {@code jfr print --categories Tasks} or
+ * JDK Mission Control. When no recording is running, {@code begin()}, {@code end()} and
+ * {@code shouldCommit()} cost next to nothing and nothing is written. Fields are set only after
+ * {@code shouldCommit()} returns true.
+ */
+final class TaskEvents {
+    private static final String CATEGORY = "Tasks";
+
+    private TaskEvents() {
+    }
+
+    /**
+     * Loading the save file on start.
+     */
+    @Name("main.Load")
+    @Label("Load Tasks")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Load extends Event {
+        @Label("Task Count")
+        int taskCount;
+
+        @Label("File Size")
+        @DataAmount
+        long fileSize;
+    }
+
+    /**
+     * Saving the tasks on stop.
+     */
+    @Name("main.Save")
+    @Label("Save Tasks")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Save extends Event {
+        @Label("Task Count")
+        int taskCount;
+
+        @Label("File Size")
+        @DataAmount
+        long fileSize;
+    }
+
+    /**
+     * Sorting and filtering the table, from the request until the rows are shown. Requests
+     * replaced by newer ones are not recorded.
+     */
+    @Name("main.Sort")
+    @Label("Sort Tasks")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Sort extends Event {
+        @Label("Task Count")
+        @Description("Tasks sorted, before filtering")
+        int taskCount;
+
+        @Label("Row Count")
+        @Description("Rows shown, after filtering")
+        int rowCount;
+
+        @Label("Sort Keys")
+        String sortKeys;
+    }
+
+    /**
+     * Committing an edit of a table cell, including updating indexes.
+     */
+    @Name("main.Edit")
+    @Label("Edit Task")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Edit extends Event {
+        @Label("Task Id")
+        long taskId;
+
+        @Label("Field")
+        String field;
+    }
+
+    /**
+     * Deleting the selected task, including updating indexes.
+     */
+    @Name("main.Delete")
+    @Label("Delete Task")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class Delete extends Event {
+        @Label("Task Id")
+        long taskId;
+
+        @Label("Task Count")
+        @Description("Tasks left")
+        int taskCount;
+    }
+}
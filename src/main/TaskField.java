@@ -0,0 +1,38 @@
+package main;
+
+/**
+ * The {@code TaskField} enum names the fields of a {@link Task} that can change through its 
+ * setters.
+ * 
+ * @see TaskListener#taskChanged
+ */
+public enum TaskField {
+    /**
+     * The title, see {@link Task#setTitle}.
+     */
+    TITLE,
+    /**
+     * The description, see {@link Task#setDescription}.
+     */
+    DESCRIPTION,
+    /**
+     * The due date, see {@link Task#setDueDate}.
+     */
+    DUE_DATE,
+    /**
+     * Whether the task is completed, see {@link Task#setIsCompleted}.
+     */
+    IS_COMPLETED,
+    /**
+     * The tags, see {@link Task#setTags}.
+     */
+    TAGS,
+    /**
+     * The priority, see {@link Task#setPriority}.
+     */
+    PRIORITY,
+    /**
+     * The parent, see {@link TaskTree#setParent}.
+     */
+    PARENT
+}
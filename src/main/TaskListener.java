@@ -0,0 +1,37 @@
+package main;
+
+/**
+ * A {@code TaskListener} is notified when tasks are added to, removed from, or changed within a 
+ * {@link TaskModel}.
+ * <p>
+ * Notifications are delivered on the thread making the change, which for the GUI is the JavaFX 
+ * Application Thread. Listeners should do a small, bounded amount of work per notification.
+ * Every method does nothing by default so listeners only override what they need.
+ */
+public interface TaskListener {
+    /**
+     * Called after the specified task was added. The task has its id.
+     * 
+     * @param task the added task.
+     */
+    default void taskAdded(Task task) {
+    }
+
+    /**
+     * Called after the specified task was removed. The task keeps its id.
+     * 
+     * @param task the removed task.
+     */
+    default void taskRemoved(Task task) {
+    }
+
+    /**
+     * Called after a field of the specified task was changed through its setter.
+     * 
+     * @param task the changed task, holding the new value.
+     * @param field the field which changed.
+     * @param oldValue the value of the field before the change, boxed for primitives.
+     */
+    default void taskChanged(Task task, TaskField field, Object oldValue) {
+    }
+}
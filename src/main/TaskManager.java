@@ -1,22 +1,36 @@
 package main;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
-import javafx.collections.FXCollections;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
@@ -25,12 +39,21 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
@@ -38,21 +61,36 @@ import javafx.scene.text.TextAlignment;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
-import javafx.util.StringConverter;
+import javafx.util.Duration;
 
 /**
  * A simple task management application that allows users to add, update, and track tasks.  
  * <p>
  * {@code TaskManager} includes a sortable task list displaying all tasks with their details 
- * (title, description, due date, and whether it's completed). Click the column header to sort
- * alphabetically, click again for more options. Shift clicking sets secondary sorting, e.g. 
+ * (title, description, due date, whether it's completed, priority, and tags). Click the column 
+ * header to sort alphabetically, click again for more options. Shift clicking sets secondary sorting, e.g. 
  * clicking "Is Completed?" then shift clicking "Due Date" will sort by completion then date.
+ * Sorting and filtering run in the background, the window stays responsive at any size. Filter
+ * by tags with a comma separated list, a leading "-" excludes a tag, e.g. "work, -home". The 
+ * query field above the table takes a {@link TaskQuery}, e.g. "due < today+7 and not completed
+ * order by due", answered from the indexes where possible.
  * <p>
  * Tasks can be created, edited, and deleted. Double click a cell to edit it! Create and delete
- * are buttons. Select a row then press delete to delete that task.
+ * are buttons. Select a row then press delete to delete that task. Select a row then press add
+ * subtask to create a subtask of that task, the tree button shows tasks with their subtasks.
+ * The calendar button shows how many tasks are due each day, click a day to list its tasks.
+ * <p>
+ * Tasks completed over 30 days ago, or the number of days of the {@code --archiveAfterDays}
+ * parameter, are archived on stop: they are no longer loaded, the archived button lists and 
+ * searches them.
+ * <p>
+ * Beside the table, "Next up" lists the open tasks to do first, by priority then due date.
  */
 public class TaskManager extends Application {
     private static final String SAVE_FILENAME = "Tasks.ser";
+    private static final String ARCHIVE_DIRECTORY = "Archive";
+    private static final String ARCHIVE_AFTER_DAYS_PARAMETER = "archiveAfterDays";
+    private static final int DEFAULT_ARCHIVE_AFTER_DAYS = 30;
     private static final Font HEADER_FONT = new Font("Arial", 19);
     private static final int TABLE_WIDTH = 1280;
     private static final int TABLE_HEIGHT = 720;
@@ -61,16 +99,62 @@ public class TaskManager extends Application {
     private static final String DESCRIPTION_HEADER = "Description";
     private static final String DUE_DATE_HEADER = "Due Date";
     private static final String IS_COMPLETED_HEADER = "Completed?";
+    private static final String TAGS_HEADER = "Tags";
+    private static final String PRIORITY_HEADER = "Priority";
+    private static final String NEXT_UP_HEADER = "Next up";
+    private static final String PERCENT_COMPLETE_HEADER = "% Complete";
+    private static final String EARLIEST_DUE_DATE_HEADER = "Earliest Due";
     private static final int TITLE_COLUMN_MAX_WIDTH = 200;
     private static final int DUE_DATE_COLUMN_MAX_WIDTH = 165;
     private static final int COMPLETE_MAX_WIDTH = 100;
-    private static final int DESCRIPTION_FIELD_WIDTH = TABLE_WIDTH
-            - TITLE_COLUMN_MAX_WIDTH - DUE_DATE_COLUMN_MAX_WIDTH - COMPLETE_MAX_WIDTH;
+    private static final int TAGS_COLUMN_MAX_WIDTH = 200;
+    private static final int PRIORITY_COLUMN_MAX_WIDTH = 100;
+    private static final int DESCRIPTION_FIELD_WIDTH = TABLE_WIDTH - TITLE_COLUMN_MAX_WIDTH 
+            - DUE_DATE_COLUMN_MAX_WIDTH - COMPLETE_MAX_WIDTH - TAGS_COLUMN_MAX_WIDTH 
+            - PRIORITY_COLUMN_MAX_WIDTH;
+    private static final int NEXT_UP_COUNT = 20;
+    private static final int NEXT_UP_WIDTH = 300;
+    private static final DueDateConverter DUE_DATE_CONVERTER = new DueDateConverter();
+    private static final String TAG_SEPARATOR = ",";
+    private static final String EXCLUDED_TAG_PREFIX = "-";
+    private static final String PARENT_ERROR_MESSAGE = "Please select the parent task.";
+    private static final String ERROR_STAGE_KEY = "errorStage";
+    private static final String DUPLICATES_MESSAGE = "Similar tasks already exist:";
+    private static final int MAX_DUPLICATES = 10;
+    private static final double DUPLICATES_HEIGHT = 200;
     private static final String TITLE_ERROR_MESSAGE = "Please enter a title.";
     private static final String DUE_DATE_ERROR_MESSAGE = 
             "Please use the form:\nmonth/day/year\n.e.g. 8/10/2023";
-
-    private ObservableList<TaskUI> tasks;
+    private static final String STATISTICS_FORMAT = 
+            "Total: %d    Completed: %d    Open: %d    Overdue: %d    Due this week: %d";
+    private static final Duration ROLLOVER_INTERVAL = Duration.minutes(1);
+    private static final int PROGRESS_INDICATOR_SIZE = 24;
+    private static final String MONTH_VIEW = "Month";
+    private static final String WEEK_VIEW = "Week";
+    private static final int CALENDAR_ROWS = 6;
+    private static final double CALENDAR_CELL_WIDTH = 110;
+    private static final double CALENDAR_CELL_HEIGHT = 64;
+    private static final double OUTSIDE_MONTH_OPACITY = 0.5;
+    private static final String CALENDAR_DAY_FORMAT = "%d\n%d open\n%d done";
+    private static final String CALENDAR_RANGE_FORMAT = "Open: %d    Completed: %d";
+    private static final DateTimeFormatter MONTH_FORMATTER = 
+            DateTimeFormatter.ofPattern("MMMM yyyy");
+    private static final String ARCHIVED_FORMAT = "%d archived tasks in %d segments";
+    private static final String ARCHIVED_RESULT_FORMAT = "%d shown, newest first";
+    private static final String ARCHIVE_ERROR_MESSAGE = "The archive could not be read.";
+    private static final int ARCHIVE_SEARCH_LIMIT = 1000;
+    private static final String QUERY_PROMPT = 
+            "Query, e.g. due < today+7 and not completed and title:report order by due limit 50";
+
+    private PagedList<TaskUI> tasks;
+    private TaskModel model;
+    private TaskMetrics metrics;
+    private DuplicateIndex duplicateIndex;
+    private TaskQuery query;
+    private TaskArchive archive;
+    private TaskStore store;
+    private TaskChangeFeed changeFeed;
+    private final Set<Long> unsavedIds = new HashSet<Long>();
 
     /**
      * Launches the application, causing the creation and showing of the application.
@@ -102,25 +186,113 @@ public class TaskManager extends Application {
         // Columns fill the width of the table
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
 
-        // load saved tasks
+        // load saved tasks, timed
+        metrics = new TaskMetrics(() -> model.snapshot().size());
         loadSavedTasks(); // loads to tasks field
+        metrics.register();
+        // edits from here on, published off the FX thread
+        changeFeed = new TaskChangeFeed(model);
         table.setItems(tasks);
 
+        // Counters above the table
+        TaskStatistics statistics = new TaskStatistics(model);
+        Label statisticsLabel = createStatisticsLabel(statistics);
+
         // Add the table columns
         List<TableColumn<TaskUI, String>> columns = createColumns(primaryStage);
         table.getColumns().addAll(columns);
 
-        // Add button for Task creation
-        Button addButton = createAddButton(primaryStage);
+        // Add buttons for Task creation, top level or subtask of the selected row, checking 
+        // for duplicates first
+        duplicateIndex = new DuplicateIndex(model);
+        Button addButton = createAddButton(primaryStage, table, false);
+        Button addSubtaskButton = createAddButton(primaryStage, table, true);
+
+        // Tasks with their subtasks in another window
+        TaskTree tree = new TaskTree(model);
+        Button treeButton = createTreeButton(primaryStage, tree);
+
+        // Tasks per day in another window
+        DueDateIndex dueDateIndex = new DueDateIndex(model);
+        Button calendarButton = createCalendarButton(primaryStage, dueDateIndex);
+
+        // Old completed tasks, read from the archive only when shown
+        Button archivedButton = createArchivedButton(primaryStage);
 
         // Add button for Task deletion
-        Button deleteButton = createDeleteButton(table);
+        Button deleteButton = createDeleteButton(table, model, metrics);
+
+        // Sort and filter in the background, the table shows the result once ready
+        TaskSorter sorter = new TaskSorter(Platform::runLater);
+        TagIndex tagIndex = new TagIndex(model);
+        CheckBox hideCompletedCheckBox = new CheckBox("Hide completed");
+        TextField tagFilterField = new TextField();
+        tagFilterField.setPromptText("Filter tags, e.g. work, -home");
+
+        // Query above the table, planned over the indexes every time the table is filtered
+        TaskQueryPlanner planner = new TaskQueryPlanner(model, dueDateIndex, tagIndex, 
+                new TextIndex(model));
+        TextField queryField = new TextField();
+        queryField.setPromptText(QUERY_PROMPT);
+        Supplier<Predicate<TaskRecord>> filter = () -> {
+            Predicate<TaskRecord> tagFilter = createFilter(tagIndex, 
+                    hideCompletedCheckBox.isSelected(), tagFilterField.getText());
+            return query == null ? tagFilter : tagFilter.and(planner.plan(query).filter());
+        };
+        queryField.setOnAction((ActionEvent queryEvent) -> {
+            try {
+                String text = queryField.getText();
+                query = text.isBlank() ? null : TaskQuery.parse(text);
+            } catch (IllegalArgumentException e) {
+                displayError(primaryStage, e.getMessage());
+                return;
+            }
+            // how the query runs, on hover
+            queryField.setTooltip(query == null ? null 
+                    : new Tooltip(planner.plan(query).explain()));
+            sortTasks(table, sorter, filter);
+        });
+        table.setSortPolicy(sortedTable -> {
+            sortTasks(table, sorter, filter);
+            return true;
+        });
+        hideCompletedCheckBox.setOnAction((ActionEvent filterEvent) -> {
+            sortTasks(table, sorter, filter);
+        });
+        tagFilterField.setOnAction((ActionEvent filterEvent) -> {
+            sortTasks(table, sorter, filter);
+        });
+        model.addListener(new TaskListener() {
+            @Override
+            public void taskAdded(Task task) {
+                sortTasks(table, sorter, filter);
+            }
+
+            @Override
+            public void taskRemoved(Task task) {
+                sortTasks(table, sorter, filter);
+            }
+        });
+
+        // Spins while sorting
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setPrefSize(PROGRESS_INDICATOR_SIZE, PROGRESS_INDICATOR_SIZE);
+        progressIndicator.visibleProperty().bind(sorter.busyProperty());
 
         // Button row, "Accept" next to "Cancel"
-        HBox buttonsHBox = new HBox(PADDING, addButton, deleteButton);
+        HBox buttonsHBox = new HBox(PADDING, addButton, addSubtaskButton, deleteButton, 
+                treeButton, calendarButton, archivedButton, hideCompletedCheckBox, 
+                tagFilterField, progressIndicator);
+        buttonsHBox.setAlignment(Pos.CENTER_LEFT);
+
+        // Tasks to do first, beside the table
+        NextTaskQueue nextTaskQueue = new NextTaskQueue(model);
+        VBox nextUpVBox = createNextUpVBox(nextTaskQueue);
+        HBox tablesHBox = new HBox(PADDING, table, nextUpVBox);
 
         // Vertically stack the elements
-        VBox vBox = new VBox(PADDING, label, table, buttonsHBox);
+        VBox vBox = new VBox(PADDING, label, statisticsLabel, queryField, tablesHBox, 
+                buttonsHBox);
         vBox.setPadding(new Insets(PADDING));
         
         // Container enabling user interactions
@@ -133,49 +305,325 @@ public class TaskManager extends Application {
 
     /**
      * Saves current state of tasks to a serialization file.
+     * <p>
+     * Tasks completed more days ago than the {@code --archiveAfterDays} parameter, 30 unless 
+     * specified, are first moved to the {@link TaskArchive} and left out of the file, so they
+     * are not loaded on the next start.
+     * <p>
+     * Tasks are written from a {@link TaskSnapshot}, a consistent view that stays unchanged
+     * however long writing takes, as one batch to the {@link TaskStore} of the tasks added,
+     * changed or removed since loading. Saving is timed and recorded as a {@code main.Save} event.
      */
     @Override
     public void stop() {
-        // Serialization
+        TaskEvents.Save event = new TaskEvents.Save();
+        event.begin();
+        long start = System.nanoTime();
+
+        TaskSnapshot snapshot = model.snapshot();
+
+        // Archive old completed tasks, pending until the file is written without them
+        Set<Long> archivedIds = new HashSet<Long>();
+        if (archive != null) {
+            try {
+                LocalDate completedBy = LocalDate.now().minusDays(getArchiveAfterDays());
+                for (TaskRecord record : archive.archive(snapshot, completedBy)) {
+                    archivedIds.add(record.getId());
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // Only tasks changed since loading are written, archived ones are deleted
+        Set<Long> changedIds = new LinkedHashSet<Long>(unsavedIds);
+        changedIds.addAll(archivedIds);
+        List<TaskStore.Mutation> mutations = new ArrayList<TaskStore.Mutation>(changedIds.size());
+        for (long id : changedIds) {
+            TaskRecord record = snapshot.get(id);
+            mutations.add(record == null || archivedIds.contains(id)
+                    ? TaskStore.Mutation.delete(id) : TaskStore.Mutation.put(record));
+        }
+
         try {  
-            FileOutputStream file = new FileOutputStream(SAVE_FILENAME);
-            ObjectOutputStream out = new ObjectOutputStream(file);
-             
-            out.writeObject(new ArrayList<TaskUI>(tasks));
-             
-            out.close();
-            file.close();
+            store.apply(mutations);
+            store.close(); // flushes
+            unsavedIds.clear();
+            metrics.setFileSize(store.getStorageSize());
+            if (archive != null) {
+                archive.commit();
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        metrics.record(TaskMetrics.Operation.SAVE, System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskCount = snapshot.size() - archivedIds.size();
+            event.fileSize = metrics.getFileSize();
+            event.commit();
+        }
+
+        if (changeFeed != null) {
+            changeFeed.close();
+        }
     }
 
     /**
-     * Initializes and populates the list of tasks from the save file. No save file results
-     * in an empty list!
+     * Returns the feed of task changes made in this application, for code that reacts to them,
+     * e.g. to export or sync tasks, on threads of its own. Subscribers are completed on stop.
+     *
+     * @return The change feed, null until the application has started.
      */
-    @SuppressWarnings("unchecked")
-    private void loadSavedTasks() {
-        tasks = FXCollections.observableArrayList();
+    public TaskChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
 
+    /**
+     * Returns the number of days after completion tasks are archived, the 
+     * {@code --archiveAfterDays} parameter or 30 if it is missing or not a number.
+     */
+    private int getArchiveAfterDays() {
+        String days = getParameters().getNamed().get(ARCHIVE_AFTER_DAYS_PARAMETER);
         try {
-            InputStream in = Files.newInputStream(Path.of(SAVE_FILENAME));
-            ObjectInputStream ois = new ObjectInputStream(in);
+            return days == null ? DEFAULT_ARCHIVE_AFTER_DAYS : Integer.parseInt(days.trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_ARCHIVE_AFTER_DAYS;
+        }
+    }
+
+    /**
+     * Initializes and populates the list of tasks from the {@link TaskStore} of the save
+     * file. No save file results in an empty list! Loading is timed and recorded as a 
+     * {@code main.Load} event.
+     */
+    private void loadSavedTasks() {
+        TaskEvents.Load event = new TaskEvents.Load();
+        event.begin();
+        long start = System.nanoTime();
 
-            List<TaskUI> list = (List<TaskUI>) ois.readObject();
+        model = new TaskModel();
+        tasks = new PagedList<TaskUI>(new RecordPageSource(List.of()));
 
-            tasks.addAll(list);
-        } catch (NoSuchFileException e) {
-            // continue without loading tasks because there were none to load.
+        // only the archive index is read, archived ids are never reused
+        Set<Long> pendingIds = new HashSet<Long>();
+        try {
+            archive = new TaskArchive(Path.of(ARCHIVE_DIRECTORY));
+            pendingIds.addAll(archive.getPendingIds());
+            model.reserveIds(archive.getMaxId());
         } catch (ClassNotFoundException | IOException e) {
+            // keep every task active rather than risk archiving to a broken archive
+            archive = null;
+            e.printStackTrace();
+        }
+
+        store = new SerializedTaskStore(Path.of(SAVE_FILENAME));
+        try {
+            List<TaskUI> list = new ArrayList<TaskUI>();
+            store.forEach(record -> {
+                // archived but the save file was not written without them
+                if (!pendingIds.contains(record.getId())) {
+                    list.add(new TaskUI(record));
+                }
+            });
+            metrics.setFileSize(store.getStorageSize());
+            model.addAll(list);
+            tasks.setSource(new RecordPageSource(model.snapshot().toList()));
+        } catch (IOException e) {
             e.printStackTrace();
         }
+
+        // every change from here on is written by stop, pending tasks deleted
+        unsavedIds.addAll(pendingIds);
+        model.addListener(new TaskListener() {
+            @Override
+            public void taskAdded(Task task) {
+                unsavedIds.add(task.getId());
+            }
+
+            @Override
+            public void taskRemoved(Task task) {
+                unsavedIds.add(task.getId());
+            }
+
+            @Override
+            public void taskChanged(Task task, TaskField field, Object oldValue) {
+                unsavedIds.add(task.getId());
+            }
+        });
+
+        metrics.record(TaskMetrics.Operation.LOAD, System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskCount = model.size();
+            event.fileSize = metrics.getFileSize();
+            event.commit();
+        }
+    }
+
+    /**
+     * Runs the specified edit of the specified task, committed from a table cell. The edit is 
+     * timed and recorded as a {@code main.Edit} event.
+     */
+    private void commitEdit(TaskUI task, TaskField field, Runnable edit) {
+        TaskEvents.Edit event = new TaskEvents.Edit();
+        event.begin();
+        long start = System.nanoTime();
+
+        edit.run();
+
+        metrics.record(TaskMetrics.Operation.EDIT, System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskId = task.getId();
+            event.field = field.name();
+            event.commit();
+        }
+    }
+
+    /**
+     * Sorts the table by its sort order in the background, keeping tasks matching the specified
+     * filter. The table keeps its rows until the result replaces them all at once. Changes to 
+     * tasks made while sorting start another sort so none are lost. Sorts are timed from request
+     * to display and recorded as {@code main.Sort} events.
+     */
+    private void sortTasks(TableView<TaskUI> table, TaskSorter sorter, 
+            Supplier<Predicate<TaskRecord>> filter) {
+        TaskEvents.Sort event = new TaskEvents.Sort();
+        event.begin();
+        long start = System.nanoTime();
+
+        List<TaskSorter.SortKey> sortKeys = new ArrayList<TaskSorter.SortKey>();
+        for (TableColumn<TaskUI, ?> column : table.getSortOrder()) {
+            boolean ascending = column.getSortType() == TableColumn.SortType.ASCENDING;
+            sortKeys.add(new TaskSorter.SortKey((TaskField) column.getUserData(), ascending));
+        }
+        // the query orders when the columns do not, and limits the rows
+        if (sortKeys.isEmpty() && query != null) {
+            sortKeys.addAll(query.getSortKeys());
+        }
+        int limit = query == null ? -1 : query.getLimit();
+
+        TaskSnapshot snapshot = model.snapshot();
+        sorter.sort(snapshot, sortKeys, filter.get(), sortedRecords -> {
+            if (model.getVersion() != snapshot.getVersion()) {
+                // changed while sorting
+                sortTasks(table, sorter, filter);
+                return;
+            }
+
+            // rows are resolved to tasks a page at a time, as they are shown
+            tasks.setSource(new RecordPageSource(limit >= 0 && sortedRecords.size() > limit 
+                    ? sortedRecords.subList(0, limit) : sortedRecords));
+
+            metrics.record(TaskMetrics.Operation.SORT, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.taskCount = snapshot.size();
+                event.rowCount = sortedRecords.size();
+                event.sortKeys = sortKeys.toString();
+                event.commit();
+            }
+        });
+    }
+
+    /**
+     * Returns a filter keeping the tasks matching the specified tag filter, e.g. "work, -home", 
+     * and, if specified, only those not completed. Matches are found with the {@code TagIndex} 
+     * at the model's current version.
+     */
+    private static Predicate<TaskRecord> createFilter(TagIndex tagIndex, boolean hideCompleted,
+            String tagFilter) {
+        List<String> allOf = new ArrayList<String>();
+        List<String> noneOf = new ArrayList<String>();
+        for (String tag : parseTags(tagFilter)) {
+            if (tag.startsWith(EXCLUDED_TAG_PREFIX)) {
+                String excludedTag = tag.substring(EXCLUDED_TAG_PREFIX.length());
+                if (!excludedTag.isBlank()) {
+                    noneOf.add(excludedTag);
+                }
+            } else {
+                allOf.add(tag);
+            }
+        }
+
+        if (allOf.isEmpty() && noneOf.isEmpty() && !hideCompleted) {
+            return record -> true;
+        }
+
+        BitSet matches = tagIndex.select(allOf, noneOf, hideCompleted ? Boolean.FALSE : null);
+        return record -> matches.get(record.getOrdinal());
+    }
+
+    /**
+     * Returns the non-blank, trimmed tags of the specified comma separated list.
+     */
+    private static List<String> parseTags(String text) {
+        List<String> tags = new ArrayList<String>();
+        for (String tag : text.split(TAG_SEPARATOR)) {
+            if (!tag.isBlank()) {
+                tags.add(tag.trim());
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Returns a {@code VBox} listing the first {@value #NEXT_UP_COUNT} tasks of the specified 
+     * queue, kept current as tasks change. Each task shows its priority, title, and due date.
+     */
+    private static VBox createNextUpVBox(NextTaskQueue nextTaskQueue) {
+        Label label = new Label(NEXT_UP_HEADER);
+        label.setFont(HEADER_FONT);
+
+        ListView<Task> listView = new ListView<Task>(nextTaskQueue.topView(NEXT_UP_COUNT));
+        listView.setPrefWidth(NEXT_UP_WIDTH);
+        listView.setPrefHeight(TABLE_HEIGHT);
+        listView.setCellFactory(view -> new ListCell<Task>() {
+            @Override
+            protected void updateItem(Task task, boolean empty) {
+                super.updateItem(task, empty);
+
+                if (empty || task == null) {
+                    setText(null);
+                } else if (task.getDueDate() == null) {
+                    setText(task.getPriority() + ": " + task.getTitle());
+                } else {
+                    setText(task.getPriority() + ": " + task.getTitle() + " (" 
+                            + DUE_DATE_CONVERTER.toString(task.getDueDate()) + ")");
+                }
+            }
+        });
+
+        return new VBox(PADDING, label, listView);
+    }
+
+    /**
+     * Returns a {@code Label} showing the specified statistics, kept current as they change. 
+     * Checks for a new day every {@link #ROLLOVER_INTERVAL} so tasks become overdue at midnight.
+     */
+    private static Label createStatisticsLabel(TaskStatistics statistics) {
+        Label label = new Label();
+        label.textProperty().bind(Bindings.format(STATISTICS_FORMAT, 
+                statistics.totalProperty(), statistics.completedProperty(), 
+                statistics.openProperty(), statistics.overdueProperty(), 
+                statistics.dueThisWeekProperty()));
+
+        Timeline rollover = new Timeline(
+                new KeyFrame(ROLLOVER_INTERVAL, event -> statistics.rollover()));
+        rollover.setCycleCount(Animation.INDEFINITE);
+        rollover.play();
+
+        return label;
     }
 
     /**
      * Returns a List of all the columns in the table of tasks. Columns are title, description, 
-     * due date, and completed?. Columns can be edited by double clicking. Due date column sorts
-     * chronologically while the others sort alphabetically.
+     * due date, completed?, priority, and tags. Columns can be edited by double clicking. Due 
+     * date column sorts chronologically, priority column by importance, while the others sort 
+     * alphabetically. Each column's user data is 
+     * the {@link TaskField} it shows, used for sorting.
      */ 
     private List<TableColumn<TaskUI, String>> createColumns(Stage ownerStage) {
         List<TableColumn<TaskUI, String>> columns = new ArrayList<TableColumn<TaskUI, String>>();
@@ -183,7 +631,9 @@ public class TaskManager extends Application {
         // Title
         TableColumn<TaskUI, String> titleColumn = 
                 new TableColumn<TaskUI, String>(TITLE_HEADER);
-        titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
+        titleColumn.setCellValueFactory(
+                cellData -> cellData.getValue().textProperty(TaskField.TITLE));
+        titleColumn.setUserData(TaskField.TITLE);
         titleColumn.setCellFactory(new TaskCellFactory(ownerStage));
         titleColumn.setMaxWidth(TITLE_COLUMN_MAX_WIDTH);
         columns.add(titleColumn);
@@ -191,7 +641,9 @@ public class TaskManager extends Application {
         // Description
         TableColumn<TaskUI, String> descriptionColumn = 
                 new TableColumn<TaskUI, String>(DESCRIPTION_HEADER);
-        descriptionColumn.setCellValueFactory(new PropertyValueFactory<>("description"));
+        descriptionColumn.setCellValueFactory(
+                cellData -> cellData.getValue().textProperty(TaskField.DESCRIPTION));
+        descriptionColumn.setUserData(TaskField.DESCRIPTION);
         descriptionColumn.setCellFactory(new TaskCellFactory(ownerStage));
         // width = as big as it can be
         columns.add(descriptionColumn);
@@ -199,145 +651,295 @@ public class TaskManager extends Application {
         // Due Date
         TableColumn<TaskUI, String> dueDateColumn =
                 new TableColumn<TaskUI, String>(DUE_DATE_HEADER);
-        dueDateColumn.setCellValueFactory(new PropertyValueFactory<>("dueDateAsString"));
+        dueDateColumn.setCellValueFactory(
+                cellData -> cellData.getValue().textProperty(TaskField.DUE_DATE));
+        dueDateColumn.setUserData(TaskField.DUE_DATE);
         dueDateColumn.setCellFactory(new TaskCellFactory(ownerStage));
         // Sort chronologically
-        dueDateColumn.setComparator(new Comparator<String>() {
-            private static final DueDateConverter converter = new DueDateConverter();
-
-            @Override
-            public int compare(String dateString1, String dateString2) {
-                // non-null Strings
-
-                if (dateString1.isBlank() || dateString2.isBlank()) {
-                    // no date, string sort
-                    return dateString1.compareTo(dateString2);
-                }
-                
-                LocalDate date1 = converter.fromString(dateString1);
-                LocalDate date2 = converter.fromString(dateString2);
-
-                return date1.compareTo(date2);
-            }
-        });
+        dueDateColumn.setComparator(new DueDateComparator());
         dueDateColumn.setMaxWidth(DUE_DATE_COLUMN_MAX_WIDTH);
         columns.add(dueDateColumn);
 
         // Complete? column
         TableColumn<TaskUI, String> completeColumn =
                 new TableColumn<TaskUI, String>(IS_COMPLETED_HEADER);
-        completeColumn.setCellValueFactory(new PropertyValueFactory<>("isCompletedAsString"));
+        completeColumn.setCellValueFactory(
+                cellData -> cellData.getValue().textProperty(TaskField.IS_COMPLETED));
+        completeColumn.setUserData(TaskField.IS_COMPLETED);
         completeColumn.setCellFactory(new TaskCellFactory(ownerStage));
         completeColumn.setMaxWidth(COMPLETE_MAX_WIDTH);
         columns.add(completeColumn);
 
+        // Priority
+        TableColumn<TaskUI, String> priorityColumn = 
+                new TableColumn<TaskUI, String>(PRIORITY_HEADER);
+        priorityColumn.setCellValueFactory(
+                cellData -> cellData.getValue().textProperty(TaskField.PRIORITY));
+        priorityColumn.setUserData(TaskField.PRIORITY);
+        priorityColumn.setCellFactory(new TaskCellFactory(ownerStage));
+        priorityColumn.setMaxWidth(PRIORITY_COLUMN_MAX_WIDTH);
+        columns.add(priorityColumn);
+
+        // Tags
+        TableColumn<TaskUI, String> tagsColumn = new TableColumn<TaskUI, String>(TAGS_HEADER);
+        tagsColumn.setCellValueFactory(
+                cellData -> cellData.getValue().textProperty(TaskField.TAGS));
+        tagsColumn.setUserData(TaskField.TAGS);
+        tagsColumn.setCellFactory(new TaskCellFactory(ownerStage));
+        tagsColumn.setMaxWidth(TAGS_COLUMN_MAX_WIDTH);
+        columns.add(tagsColumn);
+
         return columns;
     }
 
     /**
      * Creates an add button triggering a TaskUI creation window upon press. 
      * <p>
-     * The TaskUI creation window has inputs for title, description, due date, and completed?. 
+     * The TaskUI creation window has inputs for title, description, due date, completed?, 
+     * priority, and tags. 
      * There must be a title and due date is flexible (no date, only time; no time, only date).
+     * Subtask buttons create subtasks of the selected row, which there must be. The window is 
+     * built with the button and reused, cleared, on every press.
      * @param ownerStage {@code Stage} this button will be for
+     * @param table the table of tasks, its selected row is the parent of subtasks
+     * @param isSubtask whether created tasks are subtasks
      * @return The add button
      */
-    private Button createAddButton(Stage ownerStage) {
+    private Button createAddButton(Stage ownerStage, TableView<TaskUI> table, boolean isSubtask) {
         // Create an input submition button 
-        Button addButton = new Button("Add");
+        Button addButton = new Button(isSubtask ? "Add Subtask" : "Add");
+        AddDialog dialog = new AddDialog(ownerStage);
 
         addButton.setOnAction((ActionEvent addEvent) -> {
-            // Prep the window
+            TaskUI parent = table.getSelectionModel().getSelectedItem();
+            if (isSubtask && parent == null) {
+                displayError(ownerStage, PARENT_ERROR_MESSAGE);
+                return;
+            }
+
+            dialog.show(isSubtask ? parent : null);
+        });
+
+        return addButton;
+    }
+
+    /**
+     * Creates a button opening a window of the tasks with their subtasks upon press. Each task 
+     * shows its completion and earliest due date across its subtasks. Subtasks load when their 
+     * parent is expanded.
+     * @param ownerStage {@code Stage} this button will be for
+     * @param tree the subtasks of the tasks
+     * @return The tree button
+     */
+    private Button createTreeButton(Stage ownerStage, TaskTree tree) {
+        Button treeButton = new Button("Tree");
+
+        treeButton.setOnAction((ActionEvent treeEvent) -> {
+            // Prep the window, tasks may be edited while it shows
             Stage stage = new Stage();
-            stage.setTitle("Create Task");
-            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.setTitle("Task Tree");
             stage.initOwner(ownerStage);
 
-            // title input
-            Label titleLabel = new Label(TITLE_HEADER);
-            titleLabel.setFont(HEADER_FONT);
-            TextArea titleField = new TextArea();
-            titleField.setMaxWidth(TITLE_COLUMN_MAX_WIDTH);
-            titleField.setPrefHeight(0);
+            TreeTableView<Task> treeTable = new TreeTableView<Task>(new TaskTreeItem(tree, null));
+            treeTable.setShowRoot(false);
+            treeTable.setPrefWidth(TABLE_WIDTH);
+            treeTable.setPrefHeight(TABLE_HEIGHT);
+            treeTable.setColumnResizePolicy(
+                    TreeTableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+
+            treeTable.getColumns().add(createTreeColumn(TITLE_HEADER, Task::getTitle));
+            treeTable.getColumns().add(createTreeColumn(DUE_DATE_HEADER, 
+                    task -> DUE_DATE_CONVERTER.toString(task.getDueDate())));
+            treeTable.getColumns().add(createTreeColumn(IS_COMPLETED_HEADER, 
+                    task -> task.getIsCompleted() ? TaskUI.COMPLETED : TaskUI.NOT_COMPLETED));
+            treeTable.getColumns().add(createTreeColumn(PERCENT_COMPLETE_HEADER, 
+                    task -> String.format("%.0f%%", tree.getPercentComplete(task))));
+            treeTable.getColumns().add(createTreeColumn(EARLIEST_DUE_DATE_HEADER, 
+                    task -> DUE_DATE_CONVERTER.toString(tree.getEarliestDueDate(task))));
+
+            // Rebuild on structure changes, redraw on other changes
+            TaskListener treeListener = new TaskListener() {
+                @Override
+                public void taskAdded(Task task) {
+                    treeTable.setRoot(new TaskTreeItem(tree, null));
+                }
 
-            // description input
-            Label descriptionLabel = new Label(DESCRIPTION_HEADER);
-            descriptionLabel.setFont(HEADER_FONT);
-            TextArea descriptionField = new TextArea();
-            descriptionField.setPrefWidth(DESCRIPTION_FIELD_WIDTH);
-            
-            // due date input
-            Label dueDateLabel = new Label(DUE_DATE_HEADER);
-            dueDateLabel.setFont(HEADER_FONT);
-            DatePicker datePicker = new DatePicker();
-            DueDateConverter converter = new DueDateConverter();
-            datePicker.setConverter(converter);
+                @Override
+                public void taskRemoved(Task task) {
+                    treeTable.setRoot(new TaskTreeItem(tree, null));
+                }
 
-            // completed? input
-            Label isCompletedLabel = new Label(IS_COMPLETED_HEADER);
-            isCompletedLabel.setFont(HEADER_FONT);
-            CheckBox isCompletedCheckBox = new CheckBox();
+                @Override
+                public void taskChanged(Task task, TaskField field, Object oldValue) {
+                    if (field == TaskField.PARENT) {
+                        treeTable.setRoot(new TaskTreeItem(tree, null));
+                    } else {
+                        treeTable.refresh();
+                    }
+                }
+            };
+            model.addListener(treeListener);
+            stage.setOnHidden(hiddenEvent -> model.removeListener(treeListener));
 
-            // create a TaskUI on button press, prompt for title when empty
-            Button createButton = new Button("Create");
-            createButton.setOnAction((ActionEvent createEvent) -> {
-                String title = titleField.getText();
+            VBox vBox = new VBox(PADDING, treeTable);
+            vBox.setPadding(new Insets(PADDING));
 
-                if (title.trim().isEmpty()) {
-                    displayError(stage, TITLE_ERROR_MESSAGE);
+            // Container enabling user interactions
+            stage.setScene(new Scene(vBox));
 
-                    titleField.requestFocus();
-                } else if (converter.parseFailed) {
-                    displayError(stage, DUE_DATE_ERROR_MESSAGE);
-                    
-                    datePicker.requestFocus();
-                    datePicker.getEditor().selectAll();
-                } else {
-                    String description = descriptionField.getText();
-                    LocalDate dueDate = datePicker.getValue();
-                    boolean isCompleted = isCompletedCheckBox.isSelected();
-                    
-                    tasks.add(new TaskUI(title, description, dueDate, isCompleted));
+            // display window
+            stage.show();
+        });
 
-                    stage.hide();
-                }
-            });
+        return treeButton;
+    }
 
-            // A way to back out for the user
-            Button cancelButton = new Button("Cancel");
-            cancelButton.setOnAction((ActionEvent cancelEvent) -> {
-                stage.hide();
+    /**
+     * Returns a tree column with the specified header showing the text the specified function 
+     * returns for each task.
+     */
+    private static TreeTableColumn<Task, String> createTreeColumn(String header, 
+            Function<Task, String> text) {
+        TreeTableColumn<Task, String> column = new TreeTableColumn<Task, String>(header);
+        column.setCellValueFactory(cellData -> 
+                new ReadOnlyStringWrapper(text.apply(cellData.getValue().getValue())));
+        return column;
+    }
+
+    /**
+     * Creates a button opening a calendar of the number of open and completed tasks due each 
+     * day upon press. The window is built on first press then reused.
+     * @param ownerStage {@code Stage} this button will be for
+     * @param index the tasks by due date
+     * @return The calendar button
+     */
+    private Button createCalendarButton(Stage ownerStage, DueDateIndex index) {
+        Button calendarButton = new Button("Calendar");
+        CalendarWindow[] window = new CalendarWindow[1];
+
+        calendarButton.setOnAction((ActionEvent calendarEvent) -> {
+            if (window[0] == null) {
+                window[0] = new CalendarWindow(ownerStage, index);
+            }
+            window[0].show();
+        });
+
+        return calendarButton;
+    }
+
+    /**
+     * Creates a button opening a window of the archived tasks upon press, newest first. Typing 
+     * in its search field and pressing enter lists the archived tasks whose title, description
+     * or tags contain the text. Segments are read in the background, one at a time.
+     * @param ownerStage {@code Stage} this button will be for
+     * @return The archived button
+     */
+    private Button createArchivedButton(Stage ownerStage) {
+        Button archivedButton = new Button("Archived");
+
+        archivedButton.setOnAction((ActionEvent archivedEvent) -> {
+            if (archive == null) {
+                displayError(ownerStage, ARCHIVE_ERROR_MESSAGE);
+                return;
+            }
+
+            // Prep the window
+            Stage stage = new Stage();
+            stage.setTitle("Archived Tasks");
+            stage.initOwner(ownerStage);
+
+            Label label = new Label(String.format(ARCHIVED_FORMAT, archive.size(), 
+                    archive.getSegmentCount()));
+            label.setFont(HEADER_FONT);
+            Label resultLabel = new Label();
+
+            ListView<TaskRecord> archivedListView = new ListView<TaskRecord>();
+            archivedListView.setPrefSize(TABLE_WIDTH / 2, TABLE_HEIGHT / 2);
+            archivedListView.setCellFactory(listView -> new ListCell<TaskRecord>() {
+                @Override
+                protected void updateItem(TaskRecord record, boolean empty) {
+                    super.updateItem(record, empty);
+                    if (empty || record == null) {
+                        setText(null);
+                    } else {
+                        setText(record.getTitle() + " (" 
+                                + DUE_DATE_CONVERTER.toString(record.getCompletedOn()) + ")");
+                    }
+                }
             });
 
-            // Button row, "Create" next to "Cancel"
-            HBox buttonsHBox = new HBox(PADDING / 2, createButton, cancelButton);
-            buttonsHBox.setPadding(new Insets(2 * PADDING, 0, 0, 0));
+            TextField searchField = new TextField();
+            searchField.setPromptText("Search titles, descriptions and tags");
+            Runnable search = () -> {
+                String text = searchField.getText().trim().toLowerCase(Locale.ROOT);
+                resultLabel.setText("");
+                searchArchive(text).whenCompleteAsync((records, e) -> {
+                    if (e != null) {
+                        e.printStackTrace();
+                        displayError(stage, ARCHIVE_ERROR_MESSAGE);
+                        return;
+                    }
+                    archivedListView.getItems().setAll(records);
+                    resultLabel.setText(String.format(ARCHIVED_RESULT_FORMAT, records.size()));
+                }, Platform::runLater);
+            };
+            searchField.setOnAction((ActionEvent searchEvent) -> search.run());
+            search.run();
 
-            // Vertically stack the inputs and button row
-            VBox vBox = new VBox(PADDING / 2, titleLabel, titleField, descriptionLabel,
-                    descriptionField, dueDateLabel, datePicker, isCompletedLabel,
-                    isCompletedCheckBox, buttonsHBox);
+            VBox vBox = new VBox(PADDING, label, searchField, archivedListView, resultLabel);
             vBox.setPadding(new Insets(PADDING));
 
             // Container enabling user interactions
-            Scene dialogScene = new Scene(vBox);
-            stage.setScene(dialogScene);
+            stage.setScene(new Scene(vBox));
 
             // display window
             stage.show();
         });
 
-        return addButton;
+        return archivedButton;
+    }
+
+    /**
+     * Searches the archive in the background for the tasks whose title, description or tags
+     * contain the specified lower case text, every task if it is empty.
+     */
+    private CompletableFuture<List<TaskRecord>> searchArchive(String text) {
+        TaskArchive searched = archive;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return searched.search(null, null, record -> text.isEmpty() 
+                        || record.getTitle().toLowerCase(Locale.ROOT).contains(text)
+                        || record.getDescription().toLowerCase(Locale.ROOT).contains(text)
+                        || record.getTags().contains(text), ARCHIVE_SEARCH_LIMIT);
+            } catch (ClassNotFoundException | IOException e) {
+                throw new CompletionException(e);
+            }
+        });
     }
 
-    private static Button createDeleteButton(TableView<TaskUI> table) {
+    private static Button createDeleteButton(TableView<TaskUI> table, TaskModel model, 
+            TaskMetrics metrics) {
         Button button = new Button("Delete");
 
         button.setOnAction((ActionEvent event) -> {
             int i = table.getSelectionModel().getSelectedIndex();
 
             if (i != -1) {
-                table.getItems().remove(i);
+                TaskEvents.Delete deleteEvent = new TaskEvents.Delete();
+                deleteEvent.begin();
+                long start = System.nanoTime();
+
+                // the table sorts again without it
+                TaskUI task = table.getItems().get(i);
+                model.remove(task);
+
+                metrics.record(TaskMetrics.Operation.DELETE, System.nanoTime() - start);
+                deleteEvent.end();
+                if (deleteEvent.shouldCommit()) {
+                    deleteEvent.taskId = task.getId();
+                    deleteEvent.taskCount = model.size();
+                    deleteEvent.commit();
+                }
             }
         });
 
@@ -345,13 +947,33 @@ public class TaskManager extends Application {
     }
 
     /**
-     * Displays specified text in a new window anchored to specified {@code Stage}. Intended for 
+     * Displays specified text in a window anchored to specified {@code Stage}. Intended for 
      * users to read the text then press the "Okay" button to return with the information.
+     * Each owner has one error window, built on its first error and reused after.
      * 
-     * @param ownerStage owner of the stage to be created.
+     * @param ownerStage owner of the error window.
      * @param text information to be displayed as a centerpiece.
      */
     private static void displayError(Stage ownerStage, String text) {
+        Stage stage = (Stage) ownerStage.getProperties().get(ERROR_STAGE_KEY);
+        if (stage == null) {
+            stage = createErrorStage(ownerStage);
+            ownerStage.getProperties().put(ERROR_STAGE_KEY, stage);
+        }
+
+        // Label explaining to user
+        Label label = (Label) stage.getUserData();
+        label.setText(text);
+        stage.sizeToScene();
+        
+        // display window
+        stage.show();
+    }
+
+    /**
+     * Creates the error window of the specified owner, its label is the user data.
+     */
+    private static Stage createErrorStage(Stage ownerStage) {
         // Prep window
         Stage stage = new Stage();
         stage.setTitle("Error!");
@@ -359,9 +981,10 @@ public class TaskManager extends Application {
         stage.initOwner(ownerStage);
 
         // Label explaining to user
-        Label label = new Label(text);
+        Label label = new Label();
         label.setFont(HEADER_FONT);
         label.setTextAlignment(TextAlignment.CENTER);
+        stage.setUserData(label);
 
         // Button to exit
         Button button = new Button("Okay");
@@ -378,9 +1001,8 @@ public class TaskManager extends Application {
         // Container enabling user interactions
         Scene dialogScene = new Scene(vBox);
         stage.setScene(dialogScene);
-        
-        // display window
-        stage.show();
+
+        return stage;
     }
 
     /**
@@ -393,6 +1015,8 @@ public class TaskManager extends Application {
      * @see main.Task
      */
     public static class TaskUI extends Task {
+        private static final long serialVersionUID = -1574006916135756754L;
+
         /**
          * Represents when a task is completed.
          */
@@ -404,6 +1028,13 @@ public class TaskManager extends Application {
 
         private static final DueDateConverter converter = new DueDateConverter();
 
+        /**
+         * Text of each field shown so far, by field ordinal. Created on first display and updated
+         * when the field changes, so table cells never reflect or format when they refresh.
+         * Released with the table page showing the task.
+         */
+        private transient ReadOnlyStringWrapper[] texts;
+
         /**
          * Same as {@code Task}.
          * 
@@ -413,6 +1044,15 @@ public class TaskManager extends Application {
             super(title, description, dueDate, isCompleted);
         }
 
+        /**
+         * Same as {@code Task}.
+         * 
+         * @see main.Task#Task(TaskRecord)
+         */
+        public TaskUI(TaskRecord record) {
+            super(record);
+        }
+
         /**
          * Returns a {@code String} representing this task's due date.
          * <p>
@@ -429,6 +1069,24 @@ public class TaskManager extends Application {
             return converter.toString(dueDate);
         } 
 
+        /**
+         * Returns a {@code String} representing this task's priority, e.g. "High".
+         * 
+         * @return {@code String} representing this task's priority.
+         */
+        public String getPriorityAsString() {
+            return super.getPriority().toString();
+        }
+
+        /**
+         * Returns a {@code String} representing this task's tags, separated by commas.
+         * 
+         * @return {@code String} representing this task's tags, empty if there are none.
+         */
+        public String getTagsAsString() {
+            return String.join(TAG_SEPARATOR + " ", super.getTags());
+        }
+
         /**
          * Returns a {@code String} representing whether this task is completed.
          * <p>
@@ -445,19 +1103,771 @@ public class TaskManager extends Application {
                 return NOT_COMPLETED;
             }
         }
-        
+
+        /**
+         * Returns the text a table cell shows for the specified field, e.g. the due date in 
+         * {@link DueDateConverter#PATTERN} format. The property is created on the first call, 
+         * reused after, and updated when the field is changed through its setter.
+         * 
+         * @param field a field shown in the table, not the parent.
+         * @return The text of the field.
+         * @throws IllegalArgumentException if the field is not shown as text.
+         */
+        public ReadOnlyStringProperty textProperty(TaskField field) {
+            if (texts == null) {
+                texts = new ReadOnlyStringWrapper[TaskField.values().length];
+            }
+
+            ReadOnlyStringWrapper text = texts[field.ordinal()];
+            if (text == null) {
+                text = new ReadOnlyStringWrapper(this, field.name(), getText(field));
+                texts[field.ordinal()] = text;
+            }
+            return text.getReadOnlyProperty();
+        }
+
+        /**
+         * Drops the text properties, e.g. once the task's page of the table is evicted. They are
+         * created again if the task is shown again.
+         */
+        private void releaseTexts() {
+            texts = null;
+        }
+
+        /**
+         * Updates the text of the changed field, if shown.
+         */
+        @Override
+        protected void fieldChanged(TaskField field, Object oldValue, Object newValue) {
+            super.fieldChanged(field, oldValue, newValue);
+
+            if (texts != null && texts[field.ordinal()] != null) {
+                texts[field.ordinal()].set(getText(field));
+            }
+        }
+
+        private String getText(TaskField field) {
+            if (field == TaskField.TITLE) {
+                return getTitle();
+            } else if (field == TaskField.DESCRIPTION) {
+                return getDescription();
+            } else if (field == TaskField.DUE_DATE) {
+                return getDueDateAsString();
+            } else if (field == TaskField.IS_COMPLETED) {
+                return getIsCompletedAsString();
+            } else if (field == TaskField.PRIORITY) {
+                return getPriorityAsString();
+            } else if (field == TaskField.TAGS) {
+                return getTagsAsString();
+            } else {
+                throw new IllegalArgumentException("No text for: " + field);
+            }
+        }
+    }
+
+    /**
+     * A {@code TreeItem} of a task whose children are its subtasks, created when first needed.
+     * The root item has no task and the top level tasks as children.
+     */
+    private static class TaskTreeItem extends TreeItem<Task> {
+        private final TaskTree tree;
+        private boolean isLoaded = false;
+
+        private TaskTreeItem(TaskTree tree, Task task) {
+            super(task);
+            this.tree = tree;
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return getValue() != null && !tree.hasChildren(getValue());
+        }
+
+        @Override
+        public ObservableList<TreeItem<Task>> getChildren() {
+            if (!isLoaded) {
+                isLoaded = true;
+
+                List<TreeItem<Task>> children = new ArrayList<TreeItem<Task>>();
+                for (Task child : tree.getChildren(getValue())) {
+                    children.add(new TaskTreeItem(tree, child));
+                }
+                super.getChildren().setAll(children);
+            }
+            return super.getChildren();
+        }
+    }
+
+    /**
+     * The rows of the table: sorted records resolved to the tasks of the model a page at a time.
+     * Records of tasks removed since become detached copies until the table sorts again.
+     * Positions are looked up by ordinal, from an index built on the first lookup.
+     */
+    private class RecordPageSource implements PageSource<TaskUI> {
+        private final List<TaskRecord> records;
+        // by ordinal, the position of the record, -1 if none
+        private int[] positions;
+
+        private RecordPageSource(List<TaskRecord> records) {
+            this.records = records;
+        }
+
+        @Override
+        public int size() {
+            return records.size();
+        }
+
+        @Override
+        public List<TaskUI> fetch(int from, int to) {
+            List<TaskUI> page = new ArrayList<TaskUI>(to - from);
+            for (TaskRecord record : records.subList(from, to)) {
+                Task task = model.get(record.getId());
+                page.add(task instanceof TaskUI ? (TaskUI) task : new TaskUI(record));
+            }
+            return page;
+        }
+
+        @Override
+        public void release(List<TaskUI> page) {
+            // each task is on one page, so no other page shows it
+            for (TaskUI task : page) {
+                task.releaseTexts();
+            }
+        }
+
+        @Override
+        public int indexOf(Object element) {
+            if (!(element instanceof TaskUI)) {
+                return -1;
+            }
+
+            TaskUI task = (TaskUI) element;
+            int ordinal = task.getOrdinal();
+            if (ordinal < 0) {
+                // removed since, until the next sort
+                return scan(task.getId());
+            }
+
+            if (positions == null) {
+                positions = indexPositions();
+            }
+            // ordinals are reused, so the record must be of the same task
+            int position = ordinal < positions.length ? positions[ordinal] : -1;
+            return position != -1 && records.get(position).getId() == task.getId()
+                    ? position : -1;
+        }
+
+        private int[] indexPositions() {
+            int maxOrdinal = -1;
+            for (TaskRecord record : records) {
+                maxOrdinal = Math.max(maxOrdinal, record.getOrdinal());
+            }
+            int[] positions = new int[maxOrdinal + 1];
+            Arrays.fill(positions, -1);
+            for (int i = 0; i < records.size(); i++) {
+                int ordinal = records.get(i).getOrdinal();
+                if (ordinal >= 0) {
+                    positions[ordinal] = i;
+                }
+            }
+            return positions;
+        }
+
+        private int scan(long id) {
+            for (int i = 0; i < records.size(); i++) {
+                if (records.get(i).getId() == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The calendar window, a month or week of days each showing the number of open and 
+     * completed tasks due that day. Counts are read from a {@link DueDateIndex} so any month 
+     * renders at once, clicking a day lists its tasks. Redrawn on changes while it shows.
+     */
+    private class CalendarWindow {
+        private final Stage stage = new Stage();
+        private final DueDateIndex index;
+        private final Label periodLabel = new Label();
+        private final Label rangeLabel = new Label();
+        private final ChoiceBox<String> viewChoiceBox = new ChoiceBox<String>();
+        private final GridPane daysGridPane = new GridPane();
+        private final Label dayLabel = new Label();
+        private final ListView<Task> dayListView = new ListView<Task>();
+        private final TaskListener listener;
+        // any day of the month or week shown
+        private LocalDate shown = LocalDate.now();
+        private LocalDate selected;
+
+        /**
+         * Builds the window, owned by the specified {@code Stage}.
+         */
+        private CalendarWindow(Stage ownerStage, DueDateIndex index) {
+            this.index = index;
+
+            // Prep the window
+            stage.setTitle("Calendar");
+            stage.initOwner(ownerStage);
+
+            periodLabel.setFont(HEADER_FONT);
+            periodLabel.setMinWidth(2 * CALENDAR_CELL_WIDTH);
+            periodLabel.setAlignment(Pos.CENTER);
+
+            // previous and next month or week
+            Button previousButton = new Button("<");
+            previousButton.setOnAction((ActionEvent previousEvent) -> {
+                shown = isWeekView() ? shown.minusWeeks(1) : shown.minusMonths(1);
+                render();
+            });
+            Button nextButton = new Button(">");
+            nextButton.setOnAction((ActionEvent nextEvent) -> {
+                shown = isWeekView() ? shown.plusWeeks(1) : shown.plusMonths(1);
+                render();
+            });
+            Button todayButton = new Button("Today");
+            todayButton.setOnAction((ActionEvent todayEvent) -> {
+                shown = LocalDate.now();
+                render();
+            });
+
+            viewChoiceBox.getItems().addAll(MONTH_VIEW, WEEK_VIEW);
+            viewChoiceBox.setValue(MONTH_VIEW);
+            viewChoiceBox.setOnAction((ActionEvent viewEvent) -> {
+                render();
+            });
+
+            HBox navigationHBox = new HBox(PADDING, previousButton, periodLabel, nextButton, 
+                    todayButton, viewChoiceBox);
+            navigationHBox.setAlignment(Pos.CENTER_LEFT);
+
+            daysGridPane.setHgap(PADDING / 2);
+            daysGridPane.setVgap(PADDING / 2);
+
+            // tasks of the clicked day
+            dayLabel.setFont(HEADER_FONT);
+            dayListView.setPrefHeight(DUPLICATES_HEIGHT);
+            dayListView.setCellFactory(listView -> new ListCell<Task>() {
+                @Override
+                protected void updateItem(Task task, boolean empty) {
+                    super.updateItem(task, empty);
+                    if (empty || task == null) {
+                        setText(null);
+                    } else {
+                        setText(task.getIsCompleted() 
+                                ? task.getTitle() + " (" + TaskUI.COMPLETED + ")" 
+                                : task.getTitle());
+                    }
+                }
+            });
+
+            VBox vBox = new VBox(PADDING, navigationHBox, rangeLabel, daysGridPane, dayLabel, 
+                    dayListView);
+            vBox.setPadding(new Insets(PADDING));
+            stage.setScene(new Scene(vBox));
+
+            // Redraw on changes while showing, counts only move with due dates and completion
+            listener = new TaskListener() {
+                @Override
+                public void taskAdded(Task task) {
+                    render();
+                }
+
+                @Override
+                public void taskRemoved(Task task) {
+                    render();
+                }
+
+                @Override
+                public void taskChanged(Task task, TaskField field, Object oldValue) {
+                    if (field == TaskField.DUE_DATE || field == TaskField.IS_COMPLETED 
+                            || field == TaskField.TITLE) {
+                        render();
+                    }
+                }
+            };
+            stage.setOnHidden(hiddenEvent -> model.removeListener(listener));
+        }
+
+        /**
+         * Shows the window, or brings it to the front if already showing.
+         */
+        private void show() {
+            if (!stage.isShowing()) {
+                model.addListener(listener);
+                render();
+            }
+            stage.show();
+            stage.toFront();
+        }
+
+        private boolean isWeekView() {
+            return WEEK_VIEW.equals(viewChoiceBox.getValue());
+        }
+
+        /**
+         * Redraws the days of the month or week shown, and the tasks of the selected day.
+         */
+        private void render() {
+            boolean isWeekView = isWeekView();
+            int rows = isWeekView ? 1 : CALENDAR_ROWS;
+            LocalDate firstShown = (isWeekView ? shown : shown.withDayOfMonth(1))
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+            // counts of the week, or of the month without the neighbouring days shown
+            LocalDate first = isWeekView ? firstShown : shown.withDayOfMonth(1);
+            LocalDate last = isWeekView ? firstShown.plusDays(DayOfWeek.values().length - 1) 
+                    : shown.withDayOfMonth(shown.lengthOfMonth());
+            periodLabel.setText(isWeekView ? DUE_DATE_CONVERTER.toString(first) + " - " 
+                    + DUE_DATE_CONVERTER.toString(last) : MONTH_FORMATTER.format(shown));
+            rangeLabel.setText(String.format(CALENDAR_RANGE_FORMAT, 
+                    index.countOpen(first, last), index.countCompleted(first, last)));
+
+            daysGridPane.getChildren().clear();
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                Label label = new Label(dayOfWeek.getDisplayName(TextStyle.SHORT, 
+                        Locale.getDefault()));
+                daysGridPane.add(label, dayOfWeek.ordinal(), 0);
+            }
+
+            LocalDate day = firstShown;
+            for (int row = 1; row <= rows; row++) {
+                for (int column = 0; column < DayOfWeek.values().length; column++) {
+                    daysGridPane.add(createDayButton(day), column, row);
+                    day = day.plusDays(1);
+                }
+            }
+
+            if (selected != null) {
+                dayLabel.setText(DUE_DATE_CONVERTER.toString(selected));
+                dayListView.getItems().setAll(index.getTasks(selected));
+            }
+        }
+
+        /**
+         * Returns a button of the counts of the specified day, listing its tasks upon press.
+         */
+        private Button createDayButton(LocalDate day) {
+            Button dayButton = new Button(String.format(CALENDAR_DAY_FORMAT, day.getDayOfMonth(), 
+                    index.countOpen(day, day), index.countCompleted(day, day)));
+            dayButton.setPrefSize(CALENDAR_CELL_WIDTH, CALENDAR_CELL_HEIGHT);
+            dayButton.setTextAlignment(TextAlignment.CENTER);
+            if (!isWeekView() && day.getMonth() != shown.getMonth()) {
+                dayButton.setOpacity(OUTSIDE_MONTH_OPACITY);
+            }
+
+            dayButton.setOnAction((ActionEvent dayEvent) -> {
+                selected = day;
+                dayLabel.setText(DUE_DATE_CONVERTER.toString(day));
+                dayListView.getItems().setAll(index.getTasks(day));
+            });
+
+            return dayButton;
+        }
+    }
+
+    /**
+     * The TaskUI creation window, built once then cleared and shown again for every task 
+     * created. Shown for a parent it creates a subtask of that parent.
+     */
+    private class AddDialog {
+        private final Stage stage = new Stage();
+        private final TextArea titleField = new TextArea();
+        private final TextArea descriptionField = new TextArea();
+        private final DatePicker datePicker = new DatePicker();
+        private final DueDateConverter converter = new DueDateConverter();
+        private final CheckBox isCompletedCheckBox = new CheckBox();
+        private final ChoiceBox<Priority> priorityChoiceBox = new ChoiceBox<Priority>();
+        private final TextArea tagsField = new TextArea();
+        private final Stage duplicatesStage = new Stage();
+        private final ListView<Task> duplicatesListView = new ListView<Task>();
+        private TaskUI parent;
+
+        /**
+         * Builds the window, owned by the specified {@code Stage}.
+         */
+        private AddDialog(Stage ownerStage) {
+            // Prep the window
+            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.initOwner(ownerStage);
+
+            // title input
+            Label titleLabel = new Label(TITLE_HEADER);
+            titleLabel.setFont(HEADER_FONT);
+            titleField.setMaxWidth(TITLE_COLUMN_MAX_WIDTH);
+            titleField.setPrefHeight(0);
+
+            // description input
+            Label descriptionLabel = new Label(DESCRIPTION_HEADER);
+            descriptionLabel.setFont(HEADER_FONT);
+            descriptionField.setPrefWidth(DESCRIPTION_FIELD_WIDTH);
+            
+            // due date input
+            Label dueDateLabel = new Label(DUE_DATE_HEADER);
+            dueDateLabel.setFont(HEADER_FONT);
+            datePicker.setConverter(converter);
+
+            // completed? input
+            Label isCompletedLabel = new Label(IS_COMPLETED_HEADER);
+            isCompletedLabel.setFont(HEADER_FONT);
+
+            // priority input
+            Label priorityLabel = new Label(PRIORITY_HEADER);
+            priorityLabel.setFont(HEADER_FONT);
+            priorityChoiceBox.getItems().addAll(Priority.values());
+
+            // tags input, comma separated
+            Label tagsLabel = new Label(TAGS_HEADER);
+            tagsLabel.setFont(HEADER_FONT);
+            tagsField.setMaxWidth(TAGS_COLUMN_MAX_WIDTH);
+            tagsField.setPrefHeight(0);
+
+            // create a TaskUI on button press, prompt for title when empty
+            Button createButton = new Button("Create");
+            createButton.setOnAction((ActionEvent createEvent) -> {
+                String title = titleField.getText();
+
+                if (title.trim().isEmpty()) {
+                    displayError(stage, TITLE_ERROR_MESSAGE);
+
+                    titleField.requestFocus();
+                } else if (converter.parseFailed) {
+                    displayError(stage, DUE_DATE_ERROR_MESSAGE);
+                    
+                    datePicker.requestFocus();
+                    datePicker.getEditor().selectAll();
+                } else {
+                    // likely duplicates are shown first
+                    List<Task> duplicates = duplicateIndex.findSimilar(title, 
+                            descriptionField.getText(), MAX_DUPLICATES);
+                    if (duplicates.isEmpty()) {
+                        create();
+                    } else {
+                        duplicatesListView.getItems().setAll(duplicates);
+                        duplicatesStage.show();
+                    }
+                }
+            });
+
+            // A way to back out for the user
+            Button cancelButton = new Button("Cancel");
+            cancelButton.setOnAction((ActionEvent cancelEvent) -> {
+                stage.hide();
+            });
+
+            // Button row, "Create" next to "Cancel"
+            HBox buttonsHBox = new HBox(PADDING / 2, createButton, cancelButton);
+            buttonsHBox.setPadding(new Insets(2 * PADDING, 0, 0, 0));
+
+            // Vertically stack the inputs and button row
+            VBox vBox = new VBox(PADDING / 2, titleLabel, titleField, descriptionLabel,
+                    descriptionField, dueDateLabel, datePicker, isCompletedLabel,
+                    isCompletedCheckBox, priorityLabel, priorityChoiceBox, tagsLabel, tagsField,
+                    buttonsHBox);
+            vBox.setPadding(new Insets(PADDING));
+
+            // Container enabling user interactions
+            Scene dialogScene = new Scene(vBox);
+            stage.setScene(dialogScene);
+
+            createDuplicatesStage();
+        }
+
+        /**
+         * Builds the window listing likely duplicates of the task to create, which may be 
+         * created anyway or not.
+         */
+        private void createDuplicatesStage() {
+            duplicatesStage.setTitle("Possible Duplicates");
+            duplicatesStage.initModality(Modality.APPLICATION_MODAL);
+            duplicatesStage.initOwner(stage);
+
+            Label label = new Label(DUPLICATES_MESSAGE);
+            label.setFont(HEADER_FONT);
+
+            duplicatesListView.setPrefHeight(DUPLICATES_HEIGHT);
+            duplicatesListView.setCellFactory(listView -> new ListCell<Task>() {
+                @Override
+                protected void updateItem(Task task, boolean empty) {
+                    super.updateItem(task, empty);
+                    if (empty || task == null) {
+                        setText(null);
+                    } else {
+                        String dueDate = DUE_DATE_CONVERTER.toString(task.getDueDate());
+                        setText(dueDate.isEmpty() ? task.getTitle() 
+                                : task.getTitle() + " (" + dueDate + ")");
+                    }
+                }
+            });
+
+            Button createAnywayButton = new Button("Create Anyway");
+            createAnywayButton.setOnAction((ActionEvent createEvent) -> {
+                duplicatesStage.hide();
+                create();
+            });
+
+            // back to the creation window
+            Button cancelButton = new Button("Cancel");
+            cancelButton.setOnAction((ActionEvent cancelEvent) -> {
+                duplicatesStage.hide();
+            });
+
+            HBox buttonsHBox = new HBox(PADDING / 2, createAnywayButton, cancelButton);
+            VBox vBox = new VBox(PADDING, label, duplicatesListView, buttonsHBox);
+            vBox.setPadding(new Insets(PADDING));
+
+            duplicatesStage.setScene(new Scene(vBox));
+        }
+
+        /**
+         * Creates a task of the inputs and closes the window.
+         */
+        private void create() {
+            String title = titleField.getText();
+            String description = descriptionField.getText();
+            LocalDate dueDate = datePicker.getValue();
+            boolean isCompleted = isCompletedCheckBox.isSelected();
+            
+            TaskUI task = new TaskUI(title, description, dueDate, isCompleted);
+            task.setTags(parseTags(tagsField.getText()));
+            task.setPriority(priorityChoiceBox.getValue());
+            if (parent != null) {
+                task.setParentId(parent.getId());
+            }
+            // the table sorts again with it
+            model.add(task);
+
+            stage.hide();
+        }
+
+        /**
+         * Clears the inputs and shows the window.
+         * @param parent parent of the task to create, null for a top level task.
+         */
+        private void show(TaskUI parent) {
+            this.parent = parent;
+            stage.setTitle(parent != null 
+                    ? "Create Subtask of " + parent.getTitle() : "Create Task");
+
+            titleField.clear();
+            descriptionField.clear();
+            datePicker.setValue(null);
+            datePicker.getEditor().clear();
+            converter.parseFailed = false;
+            isCompletedCheckBox.setSelected(false);
+            priorityChoiceBox.setValue(Priority.NORMAL);
+            tagsField.clear();
+
+            // display window
+            stage.show();
+            titleField.requestFocus();
+        }
+    }
+
+    /**
+     * The edit window of one column, built once then shown again for every cell edited.
+     */
+    private class EditDialog {
+        private final Stage stage = new Stage();
+        private TableCell<TaskUI, String> cell;
+        private TaskUI task;
+        /**
+         * Fills the input with the text of the cell edited.
+         */
+        private Consumer<String> load;
+
+        /**
+         * Builds the window for the column with the specified name, owned by the specified 
+         * {@code Stage}.
+         * @throws IllegalStateException if specified column is not handled.
+         */
+        private EditDialog(Stage ownerStage, String columnName) {
+            // Prep the edit window
+            stage.setTitle("Edit " + columnName);
+            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.initOwner(ownerStage);   
+
+            // edit window will have inputs and buttons
+            VBox inputVBox = new VBox(PADDING);
+            Label label = new Label();
+            label.setFont(HEADER_FONT);
+            Button acceptButton = new Button("Accept");
+
+            if (columnName.equals(TITLE_HEADER)) {
+                // Edit title 
+                label.setText(TITLE_HEADER);
+
+                // Input for new title
+                TextArea textArea = new TextArea();
+                textArea.setMaxWidth(TITLE_COLUMN_MAX_WIDTH);
+                textArea.setPrefHeight(0);
+
+                // Fill with current value and highlight
+                load = text -> {
+                    textArea.setText(text);
+                    textArea.selectAll();
+                };
+
+                // Update tasks and cell on press, ensuring non-empty
+                acceptButton.setOnAction((ActionEvent acceptEvent) -> {
+                    String newTitle = textArea.getText();
+
+                    if (newTitle.isBlank()) {
+                        // Must enter a non-empty title
+                        displayError(stage, TITLE_ERROR_MESSAGE);
+
+                        textArea.requestFocus();
+                        textArea.selectAll();
+                    } else {
+                        // Update
+                        TaskUI task = this.task;
+                        commitEdit(task, TaskField.TITLE, () -> task.setTitle(newTitle));
+                        cell.setText(newTitle);
+
+                        stage.hide();
+                    }
+                });
+
+                inputVBox.getChildren().addAll(label, textArea);
+            } else if (columnName.equals(DESCRIPTION_HEADER)) {
+                // Edit description
+                label.setText(DESCRIPTION_HEADER);
+
+                // Input for new description
+                TextArea textArea = new TextArea();
+                textArea.setPrefWidth(DESCRIPTION_FIELD_WIDTH);
+
+                // Fill with current value and prep for editing
+                load = text -> {
+                    textArea.setText(text);
+                    textArea.selectAll();
+                };
+
+                // Update tasks and table on press
+                acceptButton.setOnAction((ActionEvent acceptEvent) -> {
+                    String newDescription = textArea.getText();
+
+                    // Update
+                    TaskUI task = this.task;
+                    commitEdit(task, TaskField.DESCRIPTION, 
+                            () -> task.setDescription(newDescription));
+                    cell.setText(newDescription);
+
+                    stage.hide();
+                });
+
+                inputVBox.getChildren().addAll(label, textArea);
+            } else if (columnName.equals(DUE_DATE_HEADER)) {
+                // Edit due date
+                label.setText(DUE_DATE_HEADER);
+
+                // Input for new due date
+                DatePicker datePicker = new DatePicker();
+                DueDateConverter converter = new DueDateConverter();
+                datePicker.setConverter(converter);
+
+                // Load the cell value into the picker, replacing any text left unparsed
+                load = text -> {
+                    datePicker.getEditor().setText(text);
+                    datePicker.setValue(converter.fromString(text));
+                };
+
+                // Update tasks and table on press
+                acceptButton.setOnAction((ActionEvent acceptEvent) -> {
+                    if (converter.parseFailed) {
+                        displayError(stage, DUE_DATE_ERROR_MESSAGE);
+
+                        datePicker.requestFocus();
+                    } else {
+                        LocalDate newDueDate = datePicker.getValue();
+
+                        // Update
+                        TaskUI task = this.task;
+                        commitEdit(task, TaskField.DUE_DATE, () -> task.setDueDate(newDueDate));
+                        cell.setText(converter.toString(newDueDate));
+
+                        stage.hide();
+                    }
+                });
+
+                inputVBox.getChildren().addAll(label, datePicker);
+            } else if (columnName.equals(TAGS_HEADER)) {
+                // Edit tags
+                label.setText(TAGS_HEADER);
+
+                // Input for new tags, comma separated
+                TextArea textArea = new TextArea();
+                textArea.setMaxWidth(TAGS_COLUMN_MAX_WIDTH);
+                textArea.setPrefHeight(0);
+
+                // Fill with current value and prep for editing
+                load = text -> {
+                    textArea.setText(text);
+                    textArea.selectAll();
+                };
+
+                // Update tasks and table on press
+                acceptButton.setOnAction((ActionEvent acceptEvent) -> {
+                    TaskUI task = this.task;
+
+                    // Update
+                    commitEdit(task, TaskField.TAGS, 
+                            () -> task.setTags(parseTags(textArea.getText())));
+                    cell.setText(task.getTagsAsString());
+
+                    stage.hide();
+                });
+
+                inputVBox.getChildren().addAll(label, textArea);
+            } else {
+                throw new IllegalStateException("Unknown column: " + columnName);
+            }
+
+            // A way to back out for the user
+            Button cancelButton = new Button("Cancel");
+            cancelButton.setOnAction((ActionEvent cancelEvent) -> {
+                stage.hide();
+            });
+
+            // Button row, "Accept" next to "Cancel"
+            HBox buttonsHBox = new HBox(PADDING, acceptButton, cancelButton);
+
+            // Vertically align components
+            VBox vBox = new VBox(PADDING, inputVBox, buttonsHBox);
+            vBox.setPadding(new Insets(PADDING));
+
+            // Container enabling user interactions
+            Scene inputScene = new Scene(vBox);
+            stage.setScene(inputScene);
+        }
+
+        /**
+         * Loads the value of the specified cell and shows the window to edit it.
+         * @param cell the cell to edit, of a row with a task.
+         */
+        private void show(TableCell<TaskUI, String> cell) {
+            this.cell = cell;
+            this.task = tasks.get(cell.getIndex());
+            load.accept(cell.getText());
+
+            stage.show();
+        }
     }
 
     /**
      * {@code TaskCellFactory} handles creation of each cell in the title, description, due date, 
-     * and completed? columns.
+     * completed?, priority, and tags columns.
      * <p>
      * Each cell will display it's data and double clicking a cell will trigger it's editing 
-     * (though completed? columns will simply mark completed or not).
+     * (though completed? columns will simply mark completed or not and priority columns step
+     * through the priorities). Tags are edited as a comma separated list.
      */
     private class TaskCellFactory implements 
             Callback<TableColumn<TaskUI, String>, TableCell<TaskUI, String>> {
         private Stage ownerStage;
+        private EditDialog editDialog;
         
         /**
          * Initializes a newly created {@code TaskCellFactory} object so it may create cells for
@@ -470,10 +1880,12 @@ public class TaskManager extends Application {
 
         /**
          * Returns a {@code TableCell<TaskUI, String>} that displays it's contents and handles
-         * double click events. Double clicking opens edit windows for title, description, and 
-         * due date columns; completed? column cells are marked completed or not. 
+         * double click events. Double clicking opens edit windows for title, description, due 
+         * date, and tags columns; completed? column cells are marked completed or not and 
+         * priority column cells step to the next priority. 
          * <p>
-         * Cannot handle columns other than title, description, due date, and completed?
+         * Cannot handle columns other than title, description, due date, completed?, priority, 
+         * and tags.
          * 
          * @param column The column this cell is a part of. Each column has a different way of 
          * handling double clicks.
@@ -514,131 +1926,22 @@ public class TaskManager extends Application {
                         }
 
                         // Set cell to be the opposite value
-                        tasks.get(
-                                cell.getIndex()).setIsCompleted(opposite.equals(TaskUI.COMPLETED));
+                        TaskUI task = tasks.get(cell.getIndex());
+                        commitEdit(task, TaskField.IS_COMPLETED, 
+                                () -> task.setIsCompleted(opposite.equals(TaskUI.COMPLETED)));
                         cell.setText(opposite);
+                    } else if (columnName.equals(PRIORITY_HEADER)) {
+                        // Priority column, step to the next priority
+                        TaskUI task = tasks.get(cell.getIndex());
+                        commitEdit(task, TaskField.PRIORITY, 
+                                () -> task.setPriority(task.getPriority().next()));
+                        cell.setText(task.getPriorityAsString());
                     } else {
-                        // Prep the edit window
-                        Stage stage = new Stage();
-                        stage.setTitle("Edit " + columnName);
-                        stage.initModality(Modality.APPLICATION_MODAL);
-                        stage.initOwner(ownerStage);   
-
-                        // edit window will have inputs and buttons
-                        VBox inputVBox = new VBox(PADDING);
-                        Label label = new Label();
-                        label.setFont(HEADER_FONT);
-                        Button acceptButton = new Button("Accept");
-
-                        if (columnName.equals(TITLE_HEADER)) {
-                            // Edit title 
-                            label.setText(TITLE_HEADER);
-
-                            // Input for new title
-                            TextArea textArea = new TextArea();
-                            textArea.setMaxWidth(TITLE_COLUMN_MAX_WIDTH);
-                            textArea.setPrefHeight(0);
-
-                            // Fill with current value and highlight
-                            textArea.setText(cell.getText());
-                            textArea.selectAll();
-
-                            // Update tasks and cell on press, ensuring non-empty
-                            acceptButton.setOnAction((ActionEvent acceptEvent) -> {
-                                String newTitle = textArea.getText();
-
-                                if (newTitle.isBlank()) {
-                                    // Must enter a non-empty title
-                                    displayError(stage, TITLE_ERROR_MESSAGE);
-
-                                    textArea.requestFocus();
-                                    textArea.selectAll();
-                                } else {
-                                    // Update
-                                    tasks.get(cell.getIndex()).setTitle(newTitle);
-                                    cell.setText(newTitle);
-
-                                    stage.hide();
-                                }
-                            });
-
-                            inputVBox.getChildren().addAll(label, textArea);
-                        } else if (columnName.equals(DESCRIPTION_HEADER)) {
-                            // Edit description
-                            label.setText(DESCRIPTION_HEADER);
-
-                            // Input for new description
-                            TextArea textArea = new TextArea();
-                            textArea.setPrefWidth(DESCRIPTION_FIELD_WIDTH);
-
-                            // Fill with current value and prep for editing
-                            textArea.setText(cell.getText());
-                            textArea.selectAll();
-
-                            // Update tasks and table on press
-                            acceptButton.setOnAction((ActionEvent acceptEvent) -> {
-                                String newDescription = textArea.getText();
-
-                                // Update
-                                tasks.get(cell.getIndex()).setDescription(newDescription);
-                                cell.setText(newDescription);
-
-                                stage.hide();
-                            });
-
-                            inputVBox.getChildren().addAll(label, textArea);
-                        } else if (columnName.equals(DUE_DATE_HEADER)) {
-                            // Edit due date
-                            label.setText(DUE_DATE_HEADER);
-
-                            // Input for new due date
-                            DatePicker datePicker = new DatePicker();
-                            DueDateConverter converter = new DueDateConverter();
-                            datePicker.setConverter(converter);
-
-                            // Load the cell value into the picker
-                            datePicker.setValue(converter.fromString(cell.getText()));
-
-                            // Update tasks and table on press
-                            acceptButton.setOnAction((ActionEvent acceptEvent) -> {
-                                if (converter.parseFailed) {
-                                    displayError(stage, DUE_DATE_ERROR_MESSAGE);
-
-                                    datePicker.requestFocus();
-                                } else {
-                                    LocalDate newDueDate = datePicker.getValue();
-
-                                    // Update
-                                    tasks.get(cell.getIndex()).setDueDate(newDueDate);
-                                    cell.setText(converter.toString(newDueDate));
-
-                                    stage.hide();
-                                }
-                            });
-
-                            inputVBox.getChildren().addAll(label, datePicker);
-                        } else {
-                            throw new IllegalStateException("Unknown column: " + columnName);
+                        // Edit window of this column, built on first use then reused
+                        if (editDialog == null) {
+                            editDialog = new EditDialog(ownerStage, columnName);
                         }
-
-                        // A way to back out for the user
-                        Button cancelButton = new Button("Cancel");
-                        cancelButton.setOnAction((ActionEvent cancelEvent) -> {
-                            stage.hide();
-                        });
-
-                        // Button row, "Accept" next to "Cancel"
-                        HBox buttonsHBox = new HBox(PADDING, acceptButton, cancelButton);
-
-                        // Vertically align components
-                        VBox vBox = new VBox(PADDING, inputVBox, buttonsHBox);
-                        vBox.setPadding(new Insets(PADDING));
-
-                        // Container enabling user interactions
-                        Scene inputScene = new Scene(vBox);
-                        stage.setScene(inputScene);
-
-                        stage.show();
+                        editDialog.show(cell);
                     }
                 }
             });
@@ -646,72 +1949,4 @@ public class TaskManager extends Application {
             return cell;
         }
     }
-
-    /**
-     * Handles conversion of {@code LocalDate} to and from {@code String}.
-     * <p>
-     * {@code String} must be in {@link DueDateConverter#PATTERN} format and toString will be
-     * in that format.
-     */
-    private static class DueDateConverter extends StringConverter<LocalDate> {
-        /**
-         * Pattern each {@code LocalDate} as {@code String} must follow.
-         * <p>
-         * e.g. {@code 8/10/2023} for August 10th, 2023
-         * 
-         * @see DateTimeFormatter
-         */
-        public static final String PATTERN = "M/d/yyyy";
-
-        private static final DateTimeFormatter FORMATTER = 
-                DateTimeFormatter.ofPattern(PATTERN);
-
-        /**
-         * Represents the result of the most recent conversion.
-         * <p>
-         * false when no conversions have occured.
-         */
-        public boolean parseFailed = false;
-
-        /**
-         * Converts the provided {@code String} to {@code LocalDate} and returns it.
-         * <p>
-         * {@code DateTimeParseException} is not thrown but null is returned instead and
-         * parseFailed is set to true.
-         * 
-         * @see DueDateConverter#PATTERN
-         */
-        @Override
-        public LocalDate fromString(String formattedString) {
-            if (formattedString.isBlank()) {
-                // Exceptions are slow, handle common blank case.
-                parseFailed = false; // No date selection allowed!
-                return null;
-            }
-
-            // Attempt conversion, exceptions set status to STATUS.FAIL.
-            try {
-                LocalDate dueDate = LocalDate.from(FORMATTER.parse(formattedString));
-                parseFailed = false;
-                return dueDate;
-            } catch (DateTimeParseException parseException) {
-                parseFailed = true;
-                return null;
-            }
-        }
-
-        /**
-         * Converts provided {@code LocalDate} into its {@code String} form. 
-         * <p>
-         * null (or no) due dates return an empty {@code String}.
-         * @see DueDateConverter#PATTERN
-         */
-        @Override
-        public String toString(LocalDate dueDate) {
-            if (dueDate == null) {
-                return ""; // Handle common case of date unset.
-            }
-            return FORMATTER.format(dueDate);
-        }
-    }
-}
\ No newline at end of file
+}
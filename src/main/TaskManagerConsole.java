@@ -1,24 +1,83 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Stream;
+import main.TaskManager.TaskUI;
 
 /**
  * This class handles user input for the task manager via the console/terminal. 
  * <p>
  * I'm keeping this class just in case, the UI will handle user input.
+ * <p>
+ * Tasks saved by the application can be queried without it, e.g. on a server: "query" runs a
+ * {@link TaskQuery} and prints the matching tasks, "explain" prints how it would run.
  */
 @Deprecated
 public class TaskManagerConsole {
+    private static final String SAVE_FILENAME = "Tasks.ser";
+
     public static void main(String[] args) {
         System.out.println("Task Manager allows you to create, update, and track tasks.");
 
+        TaskModel model = loadSavedTasks();
+        TaskQueryPlanner planner = new TaskQueryPlanner(model, new DueDateIndex(model),
+                new TagIndex(model), new TextIndex(model));
+
         Scanner console = new Scanner(System.in);
-        String[] commands = {"exit"};
-        getUserCommand(console, commands);
-        
-        // do something with userCommand
+        String[] commands = {"query", "explain", "exit"};
+        String userCommand = getUserCommand(console, commands);
+        while (!userCommand.equals("exit")) {
+            System.out.print("Query: ");
+            String text = console.nextLine();
+
+            try {
+                TaskQueryPlanner.Plan plan = planner.plan(TaskQuery.parse(text));
+                if (userCommand.equals("explain")) {
+                    System.out.println(plan.explain());
+                } else {
+                    for (TaskRecord record : plan.execute()) {
+                        System.out.println(format(record));
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+            }
+
+            System.out.println();
+            userCommand = getUserCommand(console, commands);
+        }
+    }
+
+    /**
+     * Returns a model of the tasks of the save file, empty if there is none.
+     */
+    private static TaskModel loadSavedTasks() {
+        TaskModel model = new TaskModel();
+
+        // only read, so never closed: closing would flush
+        TaskStore store = new SerializedTaskStore(Path.of(SAVE_FILENAME));
+        try {
+            List<TaskUI> tasks = new ArrayList<TaskUI>();
+            store.forEach(record -> tasks.add(new TaskUI(record)));
+            model.addAll(tasks);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return model;
+    }
+
+    /**
+     * Returns one line describing the specified task: id, due date, completion and title.
+     */
+    private static String format(TaskRecord record) {
+        return String.format("%6d  %-10s  %s  %s", record.getId(),
+                record.getDueDate() == null ? "" : record.getDueDate(),
+                record.getIsCompleted() ? "[x]" : "[ ]", record.getTitle());
     }
 
     /**
@@ -30,8 +89,8 @@ public class TaskManagerConsole {
     private static String getUserCommand(Scanner inputScanner, String[] commands) {
         String userInput = getUserInput(inputScanner, commands);
 
-        Stream<String> commandsStream = Arrays.stream(commands);
-        while (!commandsStream.anyMatch(userInput::equals)) {
+        // a stream is used up once matched, so a new one per input
+        while (Arrays.stream(commands).noneMatch(userInput::equals)) {
             System.out.println("Unknown command.");
             System.out.println();
             userInput = getUserInput(inputScanner, commands);
@@ -0,0 +1,261 @@
+package main;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntSupplier;
+
+import javax.management.ConstructorParameters;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The {@code TaskMetrics} class counts and times the operations of the application, exposed as
+ * the JMX MBean {@value #OBJECT_NAME}.
+ * <p>
+ * Each {@link Operation} has a latency histogram with power of two buckets from 1 microsecond to
+ * about 17 seconds. Recording is a few atomic increments, cheap enough to always be on, and may
+ * happen on any thread. Readers get a {@link Latency} copy that does not change afterwards.
+ */
+public class TaskMetrics implements TaskMetricsMXBean {
+    /**
+     * Name the MBean is registered under.
+     */
+    public static final String OBJECT_NAME = "main:type=TaskMetrics";
+
+    /**
+     * Number of histogram buckets, the last one holds every latency above the others.
+     */
+    static final int BUCKETS = 26;
+
+    private final IntSupplier taskCount;
+    private final Histogram[] histograms = new Histogram[Operation.values().length];
+    private volatile long fileSize;
+
+    /**
+     * The operations timed.
+     */
+    public enum Operation {
+        LOAD, SAVE, SORT, EDIT, DELETE
+    }
+
+    /**
+     * Initializes a newly created {@code TaskMetrics} object reporting the number of tasks the
+     * specified supplier returns.
+     *
+     * @param taskCount returns the number of tasks, called from JMX threads.
+     */
+    public TaskMetrics(IntSupplier taskCount) {
+        this.taskCount = taskCount;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Registers this with the platform MBean server under {@value #OBJECT_NAME}, replacing any
+     * earlier registration.
+     *
+     * @throws IllegalStateException if registration fails.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Records that the specified operation took the specified time.
+     *
+     * @param operation the operation timed.
+     * @param nanos how long it took, in nanoseconds.
+     */
+    public void record(Operation operation, long nanos) {
+        histograms[operation.ordinal()].record(nanos);
+    }
+
+    /**
+     * Sets the size of the save file as just loaded or saved.
+     *
+     * @param fileSize the size in bytes.
+     */
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    @Override
+    public int getTaskCount() {
+        return taskCount.getAsInt();
+    }
+
+    @Override
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    @Override
+    public long[] getHistogramBoundsMicros() {
+        long[] bounds = new long[BUCKETS - 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = 1L << i;
+        }
+        return bounds;
+    }
+
+    /**
+     * Gets the latencies of the specified operation.
+     *
+     * @param operation the operation timed.
+     * @return A copy of its latencies.
+     */
+    public Latency getLatency(Operation operation) {
+        return histograms[operation.ordinal()].copy();
+    }
+
+    @Override
+    public Latency getLoadLatency() {
+        return getLatency(Operation.LOAD);
+    }
+
+    @Override
+    public Latency getSaveLatency() {
+        return getLatency(Operation.SAVE);
+    }
+
+    @Override
+    public Latency getSortLatency() {
+        return getLatency(Operation.SORT);
+    }
+
+    @Override
+    public Latency getEditLatency() {
+        return getLatency(Operation.EDIT);
+    }
+
+    @Override
+    public Latency getDeleteLatency() {
+        return getLatency(Operation.DELETE);
+    }
+
+    @Override
+    public void reset() {
+        for (Histogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Returns the bucket of the specified latency: bucket i holds latencies up to 2^i
+     * microseconds.
+     */
+    static int bucket(long nanos) {
+        long micros = (nanos + 999) / 1000;
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    /**
+     * Latencies of one operation, updated concurrently.
+     */
+    private static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            counts.incrementAndGet(bucket(nanos));
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            count.set(0);
+            totalNanos.set(0);
+            maxNanos.set(0);
+        }
+
+        private Latency copy() {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = counts.get(i);
+            }
+            long n = count.get();
+            double meanMillis = n == 0 ? 0 : totalNanos.get() / 1e6 / n;
+            return new Latency(n, meanMillis, maxNanos.get() / 1e6, buckets);
+        }
+    }
+
+    /**
+     * Latencies of one operation at one point in time. JMX clients see it as composite data.
+     */
+    public static final class Latency {
+        private final long count;
+        private final double meanMillis;
+        private final double maxMillis;
+        private final long[] histogram;
+
+        /**
+         * Initializes a newly created {@code Latency} object.
+         *
+         * @param count number of operations.
+         * @param meanMillis mean latency in milliseconds.
+         * @param maxMillis highest latency in milliseconds.
+         * @param histogram number of operations per bucket.
+         */
+        @ConstructorParameters({"count", "meanMillis", "maxMillis", "histogram"})
+        public Latency(long count, double meanMillis, double maxMillis, long[] histogram) {
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.maxMillis = maxMillis;
+            this.histogram = histogram.clone();
+        }
+
+        /**
+         * Gets the number of operations.
+         * @return The count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean latency.
+         * @return The mean in milliseconds.
+         */
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        /**
+         * Gets the highest latency.
+         * @return The maximum in milliseconds.
+         */
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * Gets the number of operations per bucket, see
+         * {@link TaskMetricsMXBean#getHistogramBoundsMicros()}.
+         * @return A copy of the counts.
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package main;
+
+/**
+ * Management interface of {@link TaskMetrics}, readable with standard JMX tools such as
+ * {@code jconsole} or JDK Mission Control under the name {@value TaskMetrics#OBJECT_NAME}.
+ */
+public interface TaskMetricsMXBean {
+    /**
+     * Gets the number of tasks.
+     * @return The number of tasks now.
+     */
+    int getTaskCount();
+
+    /**
+     * Gets the size of the save file as last loaded or saved, 0 if there was none.
+     * @return The size in bytes.
+     */
+    long getFileSize();
+
+    /**
+     * Gets the upper bound of each bucket of the latency histograms, the last bucket has none.
+     * @return The bounds in microseconds.
+     */
+    long[] getHistogramBoundsMicros();
+
+    /**
+     * Gets the latencies of loading the save file.
+     * @return The load latencies.
+     */
+    TaskMetrics.Latency getLoadLatency();
+
+    /**
+     * Gets the latencies of saving the save file.
+     * @return The save latencies.
+     */
+    TaskMetrics.Latency getSaveLatency();
+
+    /**
+     * Gets the latencies of sorting the table, from request until the rows are shown.
+     * @return The sort latencies.
+     */
+    TaskMetrics.Latency getSortLatency();
+
+    /**
+     * Gets the latencies of committing cell edits.
+     * @return The edit latencies.
+     */
+    TaskMetrics.Latency getEditLatency();
+
+    /**
+     * Gets the latencies of deleting tasks.
+     * @return The delete latencies.
+     */
+    TaskMetrics.Latency getDeleteLatency();
+
+    /**
+     * Clears every latency, e.g. before reproducing a problem.
+     */
+    void reset();
+}
@@ -0,0 +1,298 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TaskModel} class owns the set of tasks of the application.
+ * <p>
+ * Tasks are added and removed through the model and report changes to it through their
+ * setters. The model assigns each task an id, keeps a persistent {@link TaskSnapshot} current
+ * and forwards every change to its {@link TaskListener}s, which is how indexes and statistics
+ * stay up to date without rescanning the tasks.
+ * <p>
+ * Each task also gets an ordinal, a small int unique among the tasks of the model that is reused
+ * after removal. Ordinals index bitmaps such as those of {@link TagIndex}.
+ * <p>
+ * The model is not thread-safe, it is changed from one thread, e.g. the JavaFX Application
+ * Thread. Snapshots are the way to read tasks from other threads: {@link #snapshot()} is O(1)
+ * and never blocks the writer.
+ */
+public class TaskModel implements TaskListener {
+    private static final String OWNED_ERROR_MESSAGE = "Task already belongs to a model.";
+
+    private final Map<Long, Task> tasksById = new HashMap<Long, Task>();
+    // by parent id, only of tasks having a parent id
+    private final Map<Long, List<Task>> childrenByParentId = new HashMap<Long, List<Task>>();
+    private final List<TaskListener> listeners = new ArrayList<TaskListener>();
+    private final List<Task> tasksByOrdinal = new ArrayList<Task>();
+    private final BitSet freeOrdinals = new BitSet();
+    private long nextId = 1;
+    private long version;
+    private volatile TaskSnapshot snapshot = TaskSnapshot.EMPTY;
+
+    /**
+     * Adds the specified task, assigning it an id if it has none or if its id is taken.
+     *
+     * @param task the task to add.
+     * @throws IllegalArgumentException if the task already belongs to a model.
+     */
+    public void add(Task task) {
+        attach(task);
+
+        version++;
+        snapshot = snapshot.with(TaskRecord.of(task), version);
+
+        for (TaskListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+    }
+
+    /**
+     * Adds all of the specified tasks, e.g. when loading saved tasks. Saved ids are kept where
+     * possible. Adding to an empty model rebuilds the snapshot in one pass.
+     *
+     * @param tasks the tasks to add.
+     * @throws IllegalArgumentException if a task already belongs to a model.
+     */
+    public void addAll(Collection<? extends Task> tasks) {
+        if (!tasksById.isEmpty()) {
+            for (Task task : tasks) {
+                add(task);
+            }
+            return;
+        }
+
+        // Saved ids first so new ids never collide with them
+        for (Task task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+
+        List<TaskRecord> records = new ArrayList<TaskRecord>(tasks.size());
+        for (Task task : tasks) {
+            attach(task);
+            records.add(TaskRecord.of(task));
+        }
+        records.sort(Comparator.comparingLong(TaskRecord::getId));
+
+        version++;
+        snapshot = TaskSnapshot.of(records, version);
+
+        for (Task task : tasks) {
+            for (TaskListener listener : listeners) {
+                listener.taskAdded(task);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified task. Does nothing if the task is not in this model.
+     * <p>
+     * Its subtasks are first moved to its parent, or to the top level if moving them there
+     * would make a cycle of parent ids. Listeners see these {@link TaskField#PARENT} changes
+     * before the removal, so no task ever has the id of a removed task as its parent.
+     *
+     * @param task the task to remove.
+     */
+    public void remove(Task task) {
+        if (task.getListener() != this) {
+            return;
+        }
+
+        List<Task> children = childrenByParentId.get(task.getId());
+        if (children != null) {
+            for (Task child : new ArrayList<Task>(children)) {
+                child.setParentId(getNewParentId(task, child));
+            }
+        }
+
+        removeChild(task, task.getParentId());
+        tasksById.remove(task.getId());
+        task.setListener(null);
+
+        version++;
+        snapshot = snapshot.without(task.getId(), version);
+
+        for (TaskListener listener : listeners) {
+            listener.taskRemoved(task);
+        }
+
+        // free the ordinal once listeners are done with it
+        int ordinal = task.getOrdinal();
+        tasksByOrdinal.set(ordinal, null);
+        freeOrdinals.set(ordinal);
+        task.setOrdinal(-1);
+    }
+
+    /**
+     * Makes ids up to the specified one never assigned to added tasks, e.g. ids of tasks moved 
+     * to a {@link TaskArchive}. Saved ids are still kept.
+     *
+     * @param id the highest id in use elsewhere.
+     */
+    public void reserveIds(long id) {
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    /**
+     * Returns the task with the specified id, or null if there is none.
+     *
+     * @param id id of the task.
+     * @return The task or null.
+     */
+    public Task get(long id) {
+        return tasksById.get(id);
+    }
+
+    /**
+     * Returns the task with the specified ordinal, or null if there is none.
+     *
+     * @param ordinal ordinal of the task.
+     * @return The task or null.
+     */
+    Task getByOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= tasksByOrdinal.size()) {
+            return null;
+        }
+        return tasksByOrdinal.get(ordinal);
+    }
+
+    /**
+     * Returns an unmodifiable view of every task in this model, in no particular order.
+     * @return The tasks of this model.
+     */
+    public Collection<Task> getTasks() {
+        return Collections.unmodifiableCollection(tasksById.values());
+    }
+
+    /**
+     * Returns the number of tasks in this model.
+     * @return The number of tasks.
+     */
+    public int size() {
+        return tasksById.size();
+    }
+
+    /**
+     * Gets the version of this model, which increases with every add, remove and change.
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a consistent view of every task at the current version. Runs in O(1), may be
+     * called from any thread and the returned snapshot may be held for as long as needed.
+     *
+     * @return The current snapshot.
+     */
+    public TaskSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener notified of every following add, remove and change.
+     *
+     * @param listener the listener to add.
+     */
+    public void addListener(TaskListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener previously added.
+     *
+     * @param listener the listener to remove.
+     */
+    public void removeListener(TaskListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Called by tasks of this model after a setter changed them. Updates the snapshot then
+     * notifies listeners.
+     */
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.PARENT) {
+            removeChild(task, (Long) oldValue);
+            addChild(task);
+        }
+
+        version++;
+        snapshot = snapshot.with(TaskRecord.of(task), version);
+
+        for (TaskListener listener : listeners) {
+            listener.taskChanged(task, field, oldValue);
+        }
+    }
+
+    private void attach(Task task) {
+        if (task.getListener() != null) {
+            throw new IllegalArgumentException(OWNED_ERROR_MESSAGE);
+        }
+
+        if (task.getId() <= 0 || tasksById.containsKey(task.getId())) {
+            task.setId(nextId);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+
+        tasksById.put(task.getId(), task);
+        task.setListener(this);
+        addChild(task);
+
+        // lowest free ordinal keeps ordinals dense
+        int ordinal = freeOrdinals.nextSetBit(0);
+        if (ordinal == -1) {
+            ordinal = tasksByOrdinal.size();
+            tasksByOrdinal.add(task);
+        } else {
+            freeOrdinals.clear(ordinal);
+            tasksByOrdinal.set(ordinal, task);
+        }
+        task.setOrdinal(ordinal);
+    }
+
+    /**
+     * Returns the parent id the specified child of the specified task being removed moves to:
+     * that of the task's parent, 0 if it has none or if the child is one of its ancestors.
+     */
+    private long getNewParentId(Task task, Task child) {
+        Task parent = get(task.getParentId());
+
+        // at most one step per task, parent ids may loop without the child
+        int steps = 0;
+        for (Task ancestor = parent; ancestor != null && steps < tasksById.size();
+                ancestor = get(ancestor.getParentId())) {
+            if (ancestor == child || ancestor == task) {
+                return 0;
+            }
+            steps++;
+        }
+        return parent == null ? 0 : parent.getId();
+    }
+
+    private void addChild(Task task) {
+        if (task.getParentId() != 0) {
+            childrenByParentId.computeIfAbsent(task.getParentId(), id -> new ArrayList<Task>())
+                    .add(task);
+        }
+    }
+
+    private void removeChild(Task task, long parentId) {
+        List<Task> children = childrenByParentId.get(parentId);
+        if (children != null) {
+            children.remove(task);
+            if (children.isEmpty()) {
+                childrenByParentId.remove(parentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,597 @@
+package main;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * The {@code TaskQuery} class is a parsed query over tasks, e.g.
+ * {@code due < 2026-11-01 and not completed and title:report order by due limit 50}.
+ * <p>
+ * A query is a condition, optionally followed by {@code order by} and {@code limit}:
+ * <ul>
+ *   <li>{@code title:word} and {@code description:word}, a word of the field starts with
+ *   word, case insensitive. A quoted text, e.g. {@code title:"weekly rep"}, needs each of its
+ *   words.</li>
+ *   <li>{@code due} compared with {@code =, !=, <, <=, >, >=} to a date as 2026-11-01 or
+ *   11/1/2026, {@code today}, {@code today+7} or {@code today-7}. {@code due = none} matches
+ *   tasks without a due date, tasks without one match no other comparison but {@code !=}.</li>
+ *   <li>{@code completed}, or {@code completed = true} or {@code false}.</li>
+ *   <li>{@code tag:work} or {@code tag = work}, and {@code tag != work}.</li>
+ *   <li>{@code priority = high} or {@code != high}.</li>
+ *   <li>Conditions combined with {@code and}, {@code or}, {@code not} and parentheses,
+ *   {@code and} before {@code or}.</li>
+ *   <li>{@code order by} fields among title, description, due, completed, tags and priority,
+ *   each optionally {@code asc} or {@code desc}, separated by commas. Ordered as the table
+ *   orders.</li>
+ *   <li>{@code limit} and the maximum number of tasks.</li>
+ * </ul>
+ * Keywords and field names are case insensitive. An empty query matches every task.
+ * <p>
+ * Queries are parsed once and immutable, a {@link TaskQueryPlanner} turns them into plans using
+ * the indexes of a model, as often as the tasks change.
+ */
+public final class TaskQuery {
+    private static final DateTimeFormatter SLASH_DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("M/d/uuuu");
+    private static final String TODAY = "today";
+    private static final String NONE = "none";
+    private static final String OPERATOR_CHARS = "<>=!:(),";
+
+    private final String text;
+    private final Condition where;
+    private final List<TaskSorter.SortKey> sortKeys;
+    private final int limit;
+
+    private TaskQuery(String text, Condition where, List<TaskSorter.SortKey> sortKeys,
+            int limit) {
+        this.text = text;
+        this.where = where;
+        this.sortKeys = Collections.unmodifiableList(sortKeys);
+        this.limit = limit;
+    }
+
+    /**
+     * Parses the specified query, today being the current date.
+     *
+     * @param text the query.
+     * @return The parsed query.
+     * @throws IllegalArgumentException if the query is not valid, the message says where.
+     */
+    public static TaskQuery parse(String text) {
+        return parse(text, LocalDate.now());
+    }
+
+    /**
+     * Parses the specified query, today being the specified date.
+     *
+     * @param text the query.
+     * @param today the date of {@code today} in the query.
+     * @return The parsed query.
+     * @throws IllegalArgumentException if the query is not valid, the message says where.
+     */
+    public static TaskQuery parse(String text, LocalDate today) {
+        return new Parser(text, today).parseQuery();
+    }
+
+    /**
+     * Returns whether the specified task matches the condition of this query.
+     *
+     * @param record the task to test.
+     * @return true if it matches, always true for a query without condition.
+     */
+    public boolean test(TaskRecord record) {
+        return where == null || where.test(record);
+    }
+
+    /**
+     * Gets the order of this query.
+     * @return An unmodifiable list of the sort keys, primary first, empty for id order.
+     */
+    public List<TaskSorter.SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    /**
+     * Gets the maximum number of tasks this query returns.
+     * @return The limit, -1 if there is none.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    Condition getWhere() {
+        return where;
+    }
+
+    /**
+     * Returns the text of this query, as parsed.
+     * @return The query.
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * A condition on a task, the tree a query parses to.
+     */
+    abstract static class Condition implements Predicate<TaskRecord> {
+    }
+
+    static final class And extends Condition {
+        final List<Condition> conditions;
+
+        And(List<Condition> conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            for (Condition condition : conditions) {
+                if (!condition.test(record)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Or extends Condition {
+        final List<Condition> conditions;
+
+        Or(List<Condition> conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            for (Condition condition : conditions) {
+                if (condition.test(record)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class Not extends Condition {
+        final Condition condition;
+
+        Not(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            return !condition.test(record);
+        }
+    }
+
+    /**
+     * Tasks completed or not.
+     */
+    static final class Completed extends Condition {
+        final boolean isCompleted;
+
+        Completed(boolean isCompleted) {
+            this.isCompleted = isCompleted;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            return record.getIsCompleted() == isCompleted;
+        }
+    }
+
+    /**
+     * Tasks due from {@code from} to {@code to}, both inclusive, null for no limit. Tasks
+     * without a due date never match.
+     */
+    static final class DueBetween extends Condition {
+        final LocalDate from;
+        final LocalDate to;
+
+        DueBetween(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            LocalDate dueDate = record.getDueDate();
+            return dueDate != null && (from == null || !dueDate.isBefore(from))
+                    && (to == null || !dueDate.isAfter(to));
+        }
+    }
+
+    /**
+     * Tasks without a due date.
+     */
+    static final class DueNone extends Condition {
+        @Override
+        public boolean test(TaskRecord record) {
+            return record.getDueDate() == null;
+        }
+    }
+
+    /**
+     * Tasks whose title or description has, for each prefix, a word starting with it.
+     */
+    static final class Words extends Condition {
+        final TaskField field;
+        final List<String> prefixes;
+
+        Words(TaskField field, List<String> prefixes) {
+            this.field = field;
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            List<String> words = TextIndex.words(field == TaskField.TITLE
+                    ? record.getTitle() : record.getDescription());
+            for (String prefix : prefixes) {
+                boolean found = false;
+                for (String word : words) {
+                    if (word.startsWith(prefix)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Tag extends Condition {
+        final String tag;
+
+        Tag(String tag) {
+            this.tag = Task.normalizeTag(tag);
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            return record.getTags().contains(tag);
+        }
+    }
+
+    static final class PriorityIs extends Condition {
+        final Priority priority;
+
+        PriorityIs(Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean test(TaskRecord record) {
+            return record.getPriority() == priority;
+        }
+    }
+
+    /**
+     * A recursive descent parser of one query.
+     */
+    private static final class Parser {
+        private final String text;
+        private final LocalDate today;
+        private final List<String> tokens = new ArrayList<String>();
+        private final List<Integer> positions = new ArrayList<Integer>();
+        private int next;
+
+        private Parser(String text, LocalDate today) {
+            this.text = text;
+            this.today = today;
+            tokenize();
+        }
+
+        private TaskQuery parseQuery() {
+            Condition where = null;
+            if (!atEnd() && !isKeyword("order") && !isKeyword("limit")) {
+                where = parseOr();
+            }
+
+            List<TaskSorter.SortKey> sortKeys = new ArrayList<TaskSorter.SortKey>();
+            if (isKeyword("order")) {
+                next++;
+                expectKeyword("by");
+                do {
+                    TaskField field = parseSortField();
+                    boolean ascending = true;
+                    if (isKeyword("asc")) {
+                        next++;
+                    } else if (isKeyword("desc")) {
+                        next++;
+                        ascending = false;
+                    }
+                    sortKeys.add(new TaskSorter.SortKey(field, ascending));
+                } while (accept(","));
+            }
+
+            int limit = -1;
+            if (isKeyword("limit")) {
+                next++;
+                String value = expectValue("a number of tasks");
+                try {
+                    limit = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw error("Expected a number of tasks", next - 1);
+                }
+                if (limit < 0) {
+                    throw error("Expected a number of tasks", next - 1);
+                }
+            }
+
+            if (!atEnd()) {
+                throw error("Unexpected \"" + tokens.get(next) + "\"", next);
+            }
+            return new TaskQuery(text, where, sortKeys, limit);
+        }
+
+        private Condition parseOr() {
+            List<Condition> conditions = new ArrayList<Condition>();
+            conditions.add(parseAnd());
+            while (isKeyword("or")) {
+                next++;
+                conditions.add(parseAnd());
+            }
+            return conditions.size() == 1 ? conditions.get(0) : new Or(conditions);
+        }
+
+        private Condition parseAnd() {
+            List<Condition> conditions = new ArrayList<Condition>();
+            conditions.add(parseUnary());
+            while (isKeyword("and")) {
+                next++;
+                conditions.add(parseUnary());
+            }
+            return conditions.size() == 1 ? conditions.get(0) : new And(conditions);
+        }
+
+        private Condition parseUnary() {
+            if (isKeyword("not")) {
+                next++;
+                Condition condition = parseUnary();
+                if (condition instanceof Completed) {
+                    // so the completion index answers it
+                    return new Completed(!((Completed) condition).isCompleted);
+                }
+                return new Not(condition);
+            }
+            if (accept("(")) {
+                Condition condition = parseOr();
+                if (!accept(")")) {
+                    throw error("Expected \")\"", next);
+                }
+                return condition;
+            }
+            return parsePredicate();
+        }
+
+        private Condition parsePredicate() {
+            int fieldToken = next;
+            String field = expectValue("a condition").toLowerCase(Locale.ROOT);
+
+            if (field.equals("completed")) {
+                if (!isOperator("=") && !isOperator("!=")) {
+                    return new Completed(true);
+                }
+                boolean equal = tokens.get(next++).equals("=");
+                String value = expectValue("true or false").toLowerCase(Locale.ROOT);
+                if (!value.equals("true") && !value.equals("false")) {
+                    throw error("Expected true or false", next - 1);
+                }
+                return new Completed(Boolean.parseBoolean(value) == equal);
+            } else if (field.equals("title") || field.equals("description")) {
+                if (!accept(":")) {
+                    throw error("Expected \":\"", next);
+                }
+                List<String> prefixes = TextIndex.words(expectValue("a word"));
+                if (prefixes.isEmpty()) {
+                    throw error("Expected a word", next - 1);
+                }
+                return new Words(field.equals("title") ? TaskField.TITLE
+                        : TaskField.DESCRIPTION, prefixes);
+            } else if (field.equals("tag") || field.equals("tags")) {
+                boolean equal = !accept("!=");
+                if (equal && !accept(":") && !accept("=")) {
+                    throw error("Expected \":\", \"=\" or \"!=\"", next);
+                }
+                String tag = expectValue("a tag");
+                return equal ? new Tag(tag) : new Not(new Tag(tag));
+            } else if (field.equals("priority")) {
+                boolean equal = !accept("!=");
+                if (equal && !accept(":") && !accept("=")) {
+                    throw error("Expected \":\", \"=\" or \"!=\"", next);
+                }
+                Condition condition = new PriorityIs(parsePriority());
+                return equal ? condition : new Not(condition);
+            } else if (field.equals("due")) {
+                return parseDue();
+            }
+            throw error("Unknown field \"" + tokens.get(fieldToken) + "\"", fieldToken);
+        }
+
+        private Condition parseDue() {
+            if (atEnd() || !isAnyOperator("=", "!=", "<", "<=", ">", ">=")) {
+                throw error("Expected =, !=, <, <=, > or >=", next);
+            }
+            String operator = tokens.get(next++);
+
+            if (isKeyword(NONE)) {
+                next++;
+                if (operator.equals("=")) {
+                    return new DueNone();
+                } else if (operator.equals("!=")) {
+                    return new DueBetween(null, null);
+                }
+                throw error("Only = and != compare to none", next - 1);
+            }
+
+            LocalDate date = parseDate();
+            if (operator.equals("=")) {
+                return new DueBetween(date, date);
+            } else if (operator.equals("!=")) {
+                return new Not(new DueBetween(date, date));
+            } else if (operator.equals("<")) {
+                return new DueBetween(null, date.minusDays(1));
+            } else if (operator.equals("<=")) {
+                return new DueBetween(null, date);
+            } else if (operator.equals(">")) {
+                return new DueBetween(date.plusDays(1), null);
+            } else {
+                return new DueBetween(date, null);
+            }
+        }
+
+        private LocalDate parseDate() {
+            String value = expectValue("a date").toLowerCase(Locale.ROOT);
+            try {
+                if (value.startsWith(TODAY)) {
+                    String offset = value.substring(TODAY.length());
+                    if (offset.startsWith("+")) {
+                        offset = offset.substring(1);
+                    }
+                    return offset.isEmpty() ? today : today.plusDays(Integer.parseInt(offset));
+                } else if (value.contains("/")) {
+                    return LocalDate.parse(value, SLASH_DATE_FORMATTER);
+                }
+                return LocalDate.parse(value);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw error("Expected a date, e.g. 2026-11-01 or today+7", next - 1);
+            }
+        }
+
+        private Priority parsePriority() {
+            String value = expectValue("a priority");
+            for (Priority priority : Priority.values()) {
+                if (priority.name().equalsIgnoreCase(value)) {
+                    return priority;
+                }
+            }
+            throw error("Unknown priority \"" + value + "\"", next - 1);
+        }
+
+        private TaskField parseSortField() {
+            String field = expectValue("a field to order by").toLowerCase(Locale.ROOT);
+            if (field.equals("title")) {
+                return TaskField.TITLE;
+            } else if (field.equals("description")) {
+                return TaskField.DESCRIPTION;
+            } else if (field.equals("due")) {
+                return TaskField.DUE_DATE;
+            } else if (field.equals("completed")) {
+                return TaskField.IS_COMPLETED;
+            } else if (field.equals("tag") || field.equals("tags")) {
+                return TaskField.TAGS;
+            } else if (field.equals("priority")) {
+                return TaskField.PRIORITY;
+            }
+            throw error("Cannot order by \"" + tokens.get(next - 1) + "\"", next - 1);
+        }
+
+        /**
+         * Splits the text into words, quoted texts without their quotes, and operators.
+         */
+        private void tokenize() {
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '"') {
+                    int end = text.indexOf('"', i + 1);
+                    if (end == -1) {
+                        throw new IllegalArgumentException("Unclosed quote at " + (i + 1));
+                    }
+                    // quoted, never taken for a keyword or an operator
+                    add("\"" + text.substring(i + 1, end), i);
+                    i = end + 1;
+                } else if (OPERATOR_CHARS.indexOf(c) != -1) {
+                    boolean twoChars = (c == '<' || c == '>' || c == '!')
+                            && i + 1 < text.length() && text.charAt(i + 1) == '=';
+                    if (c == '!' && !twoChars) {
+                        throw new IllegalArgumentException("Expected \"!=\" at " + (i + 1));
+                    }
+                    add(text.substring(i, twoChars ? i + 2 : i + 1), i);
+                    i += twoChars ? 2 : 1;
+                } else {
+                    int start = i;
+                    while (i < text.length() && !Character.isWhitespace(text.charAt(i))
+                            && text.charAt(i) != '"'
+                            && OPERATOR_CHARS.indexOf(text.charAt(i)) == -1) {
+                        i++;
+                    }
+                    add(text.substring(start, i), start);
+                }
+            }
+        }
+
+        private void add(String token, int position) {
+            tokens.add(token);
+            positions.add(position);
+        }
+
+        private boolean atEnd() {
+            return next >= tokens.size();
+        }
+
+        private boolean isKeyword(String keyword) {
+            return !atEnd() && tokens.get(next).equalsIgnoreCase(keyword);
+        }
+
+        private boolean isOperator(String operator) {
+            return !atEnd() && tokens.get(next).equals(operator);
+        }
+
+        private boolean isAnyOperator(String... operators) {
+            for (String operator : operators) {
+                if (isOperator(operator)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean accept(String operator) {
+            if (isOperator(operator)) {
+                next++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expectKeyword(String keyword) {
+            if (!isKeyword(keyword)) {
+                throw error("Expected \"" + keyword + "\"", next);
+            }
+            next++;
+        }
+
+        /**
+         * Returns the next word or quoted text, without quotes.
+         */
+        private String expectValue(String expected) {
+            // operators are the only tokens starting with an operator char
+            if (atEnd() || OPERATOR_CHARS.indexOf(tokens.get(next).charAt(0)) != -1) {
+                throw error("Expected " + expected, next);
+            }
+            String token = tokens.get(next++);
+            return token.startsWith("\"") ? token.substring(1) : token;
+        }
+
+        private IllegalArgumentException error(String message, int token) {
+            int position = token < positions.size() ? positions.get(token) : text.length();
+            return new IllegalArgumentException(message + " at " + (position + 1));
+        }
+    }
+}
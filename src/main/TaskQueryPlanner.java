@@ -0,0 +1,298 @@
+package main;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The {@code TaskQueryPlanner} class turns {@link TaskQuery}s into {@link Plan}s over the
+ * tasks of a {@link TaskModel}, choosing the cheapest way to find the matching tasks.
+ * <p>
+ * Each condition an index can answer is an access path: a due date range from the
+ * {@link DueDateIndex}, the completion flag or a tag from the {@link TagIndex}, words from the
+ * {@link TextIndex}. The indexes count the tasks of each path cheaply, the due date range exactly
+ * in O(log n), so of the conditions that must all hold the path with the fewest tasks is chosen,
+ * the due date bounds and the completion flag of a query combined into one path. The rest of the
+ * query is then only tested on the tasks of that path. Conditions any of which may hold are
+ * answered by the union of their paths, if each has one. Other queries scan every task.
+ * <p>
+ * Plans are cheap and reflect the tasks when planned, plan a query again once the tasks change.
+ * To be used on the thread changing the model.
+ */
+public class TaskQueryPlanner {
+    private final TaskModel model;
+    private final DueDateIndex dueDateIndex;
+    private final TagIndex tagIndex;
+    private final TextIndex textIndex;
+
+    /**
+     * Initializes a newly created {@code TaskQueryPlanner} object planning over the specified
+     * model and its indexes.
+     *
+     * @param model the tasks queried.
+     * @param dueDateIndex the tasks of the model by due date.
+     * @param tagIndex the tasks of the model by tag and completion.
+     * @param textIndex the tasks of the model by title and description words.
+     */
+    public TaskQueryPlanner(TaskModel model, DueDateIndex dueDateIndex, TagIndex tagIndex,
+            TextIndex textIndex) {
+        this.model = model;
+        this.dueDateIndex = dueDateIndex;
+        this.tagIndex = tagIndex;
+        this.textIndex = textIndex;
+    }
+
+    /**
+     * Returns the plan of the specified query over the current tasks.
+     *
+     * @param query the query to plan.
+     * @return The plan, scanning every task if no path is cheaper.
+     */
+    public Plan plan(TaskQuery query) {
+        AccessPath path = query.getWhere() == null ? null : path(query.getWhere());
+        if (path != null && path.estimate >= model.size()) {
+            path = null;
+        }
+        return new Plan(query, path);
+    }
+
+    /**
+     * Returns the cheapest access path of the specified condition, null if there is none.
+     */
+    private AccessPath path(TaskQuery.Condition condition) {
+        if (condition instanceof TaskQuery.And) {
+            return path((TaskQuery.And) condition);
+        } else if (condition instanceof TaskQuery.Or) {
+            return path((TaskQuery.Or) condition);
+        } else if (condition instanceof TaskQuery.Completed) {
+            return completedPath(((TaskQuery.Completed) condition).isCompleted);
+        } else if (condition instanceof TaskQuery.DueBetween) {
+            TaskQuery.DueBetween due = (TaskQuery.DueBetween) condition;
+            return duePath(due.from, due.to, null);
+        } else if (condition instanceof TaskQuery.Tag) {
+            String tag = ((TaskQuery.Tag) condition).tag;
+            return new AccessPath("tag " + tag, tagIndex.count(tag),
+                    () -> tagIndex.select(List.of(tag), List.of(), null));
+        } else if (condition instanceof TaskQuery.Words) {
+            TaskQuery.Words words = (TaskQuery.Words) condition;
+            int estimate = Integer.MAX_VALUE;
+            for (String prefix : words.prefixes) {
+                estimate = Math.min(estimate, textIndex.estimate(words.field, prefix));
+            }
+            String description = words.field.name().toLowerCase(Locale.ROOT) + " words "
+                    + words.prefixes;
+            return new AccessPath(description, estimate,
+                    () -> textIndex.select(words.field, words.prefixes));
+        }
+        return null;
+    }
+
+    private AccessPath path(TaskQuery.And and) {
+        // due date bounds and completion combine into one path
+        LocalDate from = null;
+        LocalDate to = null;
+        boolean hasDue = false;
+        Boolean isCompleted = null;
+        List<AccessPath> paths = new ArrayList<AccessPath>();
+
+        for (TaskQuery.Condition condition : and.conditions) {
+            if (condition instanceof TaskQuery.DueBetween) {
+                TaskQuery.DueBetween due = (TaskQuery.DueBetween) condition;
+                // null bounds are open, the narrowest bounds win
+                if (from == null || due.from != null && due.from.isAfter(from)) {
+                    from = due.from;
+                }
+                if (to == null || due.to != null && due.to.isBefore(to)) {
+                    to = due.to;
+                }
+                hasDue = true;
+            } else if (condition instanceof TaskQuery.Completed) {
+                boolean completed = ((TaskQuery.Completed) condition).isCompleted;
+                if (isCompleted != null && isCompleted != completed) {
+                    return new AccessPath("nothing", 0, BitSet::new);
+                }
+                isCompleted = completed;
+                paths.add(completedPath(completed));
+            } else {
+                AccessPath path = path(condition);
+                if (path != null) {
+                    paths.add(path);
+                }
+            }
+        }
+        if (hasDue) {
+            paths.add(duePath(from, to, isCompleted));
+        }
+
+        return paths.stream().min(Comparator.comparingInt(path -> path.estimate)).orElse(null);
+    }
+
+    private AccessPath path(TaskQuery.Or or) {
+        List<AccessPath> paths = new ArrayList<AccessPath>();
+        long estimate = 0;
+        for (TaskQuery.Condition condition : or.conditions) {
+            AccessPath path = path(condition);
+            if (path == null) {
+                return null; // one scan answers them all
+            }
+            paths.add(path);
+            estimate += path.estimate;
+        }
+
+        List<String> descriptions = new ArrayList<String>();
+        for (AccessPath path : paths) {
+            descriptions.add(path.description);
+        }
+        return new AccessPath("union of " + descriptions, (int) Math.min(estimate,
+                Integer.MAX_VALUE), () -> {
+                    BitSet union = new BitSet();
+                    for (AccessPath path : paths) {
+                        union.or(path.select.get());
+                    }
+                    return union;
+                });
+    }
+
+    private AccessPath completedPath(boolean isCompleted) {
+        int completed = tagIndex.countCompleted();
+        return new AccessPath(isCompleted ? "completed" : "not completed",
+                isCompleted ? completed : model.size() - completed,
+                () -> tagIndex.select(List.of(), List.of(), isCompleted));
+    }
+
+    private AccessPath duePath(LocalDate from, LocalDate to, Boolean isCompleted) {
+        LocalDate start = from == null ? LocalDate.MIN : from;
+        LocalDate end = to == null ? LocalDate.MAX : to;
+        int estimate = 0;
+        if (isCompleted == null || !isCompleted) {
+            estimate += dueDateIndex.countOpen(start, end);
+        }
+        if (isCompleted == null || isCompleted) {
+            estimate += dueDateIndex.countCompleted(start, end);
+        }
+
+        String description = "due " + (from == null ? "" : from) + ".." + (to == null ? "" : to)
+                + (isCompleted == null ? "" : isCompleted ? " completed" : " not completed");
+        return new AccessPath(description, estimate,
+                () -> dueDateIndex.select(from, to, isCompleted));
+    }
+
+    /**
+     * A way to find a superset of the tasks matching a condition, with the number of tasks it
+     * finds.
+     */
+    private static final class AccessPath {
+        private final String description;
+        private final int estimate;
+        private final Supplier<BitSet> select;
+
+        private AccessPath(String description, int estimate, Supplier<BitSet> select) {
+            this.description = description;
+            this.estimate = estimate;
+            this.select = select;
+        }
+    }
+
+    /**
+     * How a query finds its tasks: the ordinals of an access path, or every task, each tested
+     * against the whole query.
+     */
+    public final class Plan {
+        private final TaskQuery query;
+        private final AccessPath path;
+
+        private Plan(TaskQuery query, AccessPath path) {
+            this.query = query;
+            this.path = path;
+        }
+
+        /**
+         * Returns whether this plan reads every task rather than an index.
+         * @return true if every task is tested.
+         */
+        public boolean isScan() {
+            return path == null;
+        }
+
+        /**
+         * Returns the number of tasks this plan tests.
+         * @return The estimated number of candidates, every task for a scan.
+         */
+        public int getEstimate() {
+            return path == null ? model.size() : path.estimate;
+        }
+
+        /**
+         * Returns a filter of the tasks matching the condition of the query, e.g. for a
+         * {@link TaskSorter}. Candidates are found now, the tasks are tested when filtered so on
+         * any thread.
+         *
+         * @return A filter of task records.
+         */
+        public Predicate<TaskRecord> filter() {
+            if (path == null) {
+                return query::test;
+            }
+            BitSet candidates = path.select.get();
+            return record -> candidates.get(record.getOrdinal()) && query.test(record);
+        }
+
+        /**
+         * Runs the query on the calling thread: finds the matching tasks, orders them by the
+         * sort keys of the query, by id if it has none, and keeps up to its limit.
+         *
+         * @return A new list of the records of the matching tasks.
+         */
+        public List<TaskRecord> execute() {
+            List<TaskRecord> matches = new ArrayList<TaskRecord>();
+            int limit = query.getLimit();
+            boolean ordered = !query.getSortKeys().isEmpty();
+
+            if (path == null) {
+                for (TaskRecord record : model.snapshot()) {
+                    if (!ordered && matches.size() == limit) {
+                        break; // snapshots iterate in id order
+                    }
+                    if (query.test(record)) {
+                        matches.add(record);
+                    }
+                }
+            } else {
+                BitSet candidates = path.select.get();
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    TaskRecord record = TaskRecord.of(model.getByOrdinal(i));
+                    if (query.test(record)) {
+                        matches.add(record);
+                    }
+                }
+                if (!ordered) {
+                    matches.sort(Comparator.comparingLong(TaskRecord::getId));
+                }
+            }
+
+            if (ordered) {
+                matches = TaskSorter.order(matches, query.getSortKeys());
+            }
+            return limit >= 0 && matches.size() > limit
+                    ? new ArrayList<TaskRecord>(matches.subList(0, limit)) : matches;
+        }
+
+        /**
+         * Describes this plan, e.g. "due ..2026-10-31 not completed (120 of 5000 tasks), then
+         * filter".
+         *
+         * @return The access path and its estimated number of tasks.
+         */
+        public String explain() {
+            String access = path == null ? "scan" : path.description;
+            return access + " (" + getEstimate() + " of " + model.size() + " tasks), then filter"
+                    + (query.getSortKeys().isEmpty() ? "" : ", order by " + query.getSortKeys())
+                    + (query.getLimit() < 0 ? "" : ", limit " + query.getLimit());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package main;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * The {@code TaskRecord} class is an immutable, point-in-time copy of a {@link Task}.
+ * <p>
+ * Records are what a {@link TaskSnapshot} holds, so they may be read from any thread while the 
+ * task itself keeps changing.
+ */
+public final class TaskRecord implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String title;
+    private final String description;
+    private final LocalDate dueDate;
+    private final boolean isCompleted;
+    private final LocalDate completedOn;
+    private final Set<String> tags;
+    private final Priority priority;
+    private final long parentId;
+    private final int ordinal;
+
+    private TaskRecord(Task task) {
+        this.id = task.getId();
+        this.title = task.getTitle();
+        this.description = task.getDescription();
+        this.dueDate = task.getDueDate();
+        this.isCompleted = task.getIsCompleted();
+        this.completedOn = task.getCompletedOn();
+        this.tags = task.getTags(); // replaced, never changed, by setTags
+        this.priority = task.getPriority();
+        this.parentId = task.getParentId();
+        this.ordinal = task.getOrdinal();
+    }
+
+    /**
+     * Returns a record of the current values of the specified task.
+     * 
+     * @param task the task to copy.
+     * @return An immutable copy of the task.
+     */
+    public static TaskRecord of(Task task) {
+        return new TaskRecord(task);
+    }
+
+    /**
+     * Gets the id of the recorded task.
+     * @return A long identifying the recorded task.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the title of the recorded task.
+     * @return A String representing the title.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the description of the recorded task.
+     * @return A String representing the description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the due date of the recorded task.
+     * @return A LocalDate representing the due date, may be null.
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Gets whether the recorded task is completed.
+     * @return A boolean representing whether the task is completed.
+     */
+    public boolean getIsCompleted() {
+        return isCompleted;
+    }
+
+    /**
+     * Gets the date the recorded task was completed.
+     * @return A LocalDate representing when the task was completed, null if it is not.
+     */
+    public LocalDate getCompletedOn() {
+        return completedOn;
+    }
+
+    /**
+     * Gets the tags of the recorded task.
+     * @return An unmodifiable Set of the tags, sorted.
+     */
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gets the priority of the recorded task.
+     * @return A Priority representing how important the task is.
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the id of the parent of the recorded task.
+     * @return A long representing the parent's id, 0 if the task had no parent.
+     */
+    public long getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Gets the ordinal the recorded task had in its {@link TaskModel}, the index of its bit in
+     * {@link TagIndex} bitmaps. Only meaningful alongside the model at the snapshot's version.
+     * @return An int, -1 if the task was not in a model.
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+}
@@ -0,0 +1,300 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code TaskSnapshot} class is an immutable, consistent view of every task in a
+ * {@link TaskModel} at one version.
+ * <p>
+ * Snapshots are persistent: each change to the model produces a new snapshot sharing all but
+ * O(log n) of its nodes with the previous one, so taking a snapshot is O(1) and holding one
+ * never blocks the writer. A snapshot may be read from any thread for as long as needed, e.g.
+ * while saving or exporting.
+ * <p>
+ * Records are ordered by id, which is the order tasks were created in.
+ */
+public final class TaskSnapshot implements Iterable<TaskRecord> {
+    /**
+     * The snapshot of a model without tasks.
+     */
+    public static final TaskSnapshot EMPTY = new TaskSnapshot(null, 0);
+
+    private final Node root;
+    private final long version;
+
+    private TaskSnapshot(Node root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    /**
+     * Returns a snapshot holding the specified records, which must be sorted by strictly
+     * increasing id. Runs in O(n).
+     *
+     * @param records records sorted by id.
+     * @param version version of the returned snapshot.
+     * @return A snapshot of the records.
+     * @throws IllegalArgumentException if the records are not sorted by strictly increasing id.
+     */
+    static TaskSnapshot of(List<TaskRecord> records, long version) {
+        // Cartesian tree construction, the right spine lives on the stack
+        Deque<Node> spine = new ArrayDeque<Node>();
+        long previousId = Long.MIN_VALUE;
+
+        for (TaskRecord record : records) {
+            if (record.getId() <= previousId) {
+                throw new IllegalArgumentException("Records must be sorted by unique id.");
+            }
+            previousId = record.getId();
+
+            Node node = new Node(record, null, null);
+            Node last = null;
+            while (!spine.isEmpty() && spine.peek().priority < node.priority) {
+                last = spine.pop();
+                last.size = size(last.left) + size(last.right) + 1;
+            }
+            node.left = last;
+            if (!spine.isEmpty()) {
+                spine.peek().right = node;
+            }
+            spine.push(node);
+        }
+
+        Node top = null;
+        while (!spine.isEmpty()) {
+            top = spine.pop();
+            top.size = size(top.left) + size(top.right) + 1;
+        }
+
+        return new TaskSnapshot(top, version);
+    }
+
+    /**
+     * Returns a snapshot with the specified record added, replacing any record with its id.
+     *
+     * @param record the record to add.
+     * @param version version of the returned snapshot.
+     * @return A new snapshot, this snapshot is unchanged.
+     */
+    TaskSnapshot with(TaskRecord record, long version) {
+        return new TaskSnapshot(insert(root, record), version);
+    }
+
+    /**
+     * Returns a snapshot without the record with the specified id.
+     *
+     * @param id id of the record to remove.
+     * @param version version of the returned snapshot.
+     * @return A new snapshot, this snapshot is unchanged.
+     */
+    TaskSnapshot without(long id, long version) {
+        return new TaskSnapshot(delete(root, id), version);
+    }
+
+    /**
+     * Gets the version of the model this snapshot was taken at.
+     * @return A long which increases with every change to the model.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of tasks in this snapshot.
+     * @return The number of tasks.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the record with the specified id, or null if there is none.
+     *
+     * @param id id of the task.
+     * @return The task's record or null.
+     */
+    public TaskRecord get(long id) {
+        Node node = root;
+        while (node != null) {
+            long nodeId = node.record.getId();
+            if (id == nodeId) {
+                return node.record;
+            }
+            node = id < nodeId ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the record at the specified position in id order. Runs in O(log n).
+     *
+     * @param index position of the record.
+     * @return The record at the position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public TaskRecord getAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.record;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns a new list of every record in this snapshot, in id order.
+     * @return A list of the records.
+     */
+    public List<TaskRecord> toList() {
+        List<TaskRecord> list = new ArrayList<TaskRecord>(size());
+        for (TaskRecord record : this) {
+            list.add(record);
+        }
+        return list;
+    }
+
+    /**
+     * Returns an iterator over the records in id order.
+     */
+    @Override
+    public Iterator<TaskRecord> iterator() {
+        return new Iterator<TaskRecord>() {
+            private final Deque<Node> stack = new ArrayDeque<Node>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node node) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public TaskRecord next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = stack.pop();
+                pushLeft(node.right);
+                return node.record;
+            }
+        };
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node insert(Node node, TaskRecord record) {
+        if (node == null) {
+            return new Node(record, null, null);
+        }
+
+        long id = record.getId();
+        long nodeId = node.record.getId();
+        if (id == nodeId) {
+            return new Node(record, node.left, node.right);
+        } else if (id < nodeId) {
+            Node left = insert(node.left, record);
+            if (left.priority > node.priority) {
+                // rotate right
+                return new Node(left.record, left.left,
+                        new Node(node.record, left.right, node.right));
+            }
+            return new Node(node.record, left, node.right);
+        } else {
+            Node right = insert(node.right, record);
+            if (right.priority > node.priority) {
+                // rotate left
+                return new Node(right.record,
+                        new Node(node.record, node.left, right.left), right.right);
+            }
+            return new Node(node.record, node.left, right);
+        }
+    }
+
+    private static Node delete(Node node, long id) {
+        if (node == null) {
+            return null;
+        }
+
+        long nodeId = node.record.getId();
+        if (id == nodeId) {
+            return merge(node.left, node.right);
+        } else if (id < nodeId) {
+            Node left = delete(node.left, id);
+            return left == node.left ? node : new Node(node.record, left, node.right);
+        } else {
+            Node right = delete(node.right, id);
+            return right == node.right ? node : new Node(node.record, node.left, right);
+        }
+    }
+
+    /**
+     * Merges two trees where every id of the first is less than every id of the second.
+     */
+    private static Node merge(Node lesser, Node greater) {
+        if (lesser == null) {
+            return greater;
+        } else if (greater == null) {
+            return lesser;
+        } else if (lesser.priority > greater.priority) {
+            return new Node(lesser.record, lesser.left, merge(lesser.right, greater));
+        } else {
+            return new Node(greater.record, merge(lesser, greater.left), greater.right);
+        }
+    }
+
+    /**
+     * Treap node. Nodes are never changed once reachable from a published snapshot, the fields
+     * are only assigned while {@link TaskSnapshot#of} builds a tree.
+     */
+    private static final class Node {
+        private final TaskRecord record;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size;
+
+        private Node(TaskRecord record, Node left, Node right) {
+            this.record = record;
+            this.priority = priority(record.getId());
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        /**
+         * Deterministic pseudo-random priority, keeps the treap balanced in expectation.
+         */
+        private static int priority(long id) {
+            long z = id * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return (int) (z ^ (z >>> 31));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package main;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+/**
+ * The {@code TaskSorter} class filters and sorts tasks in the background so the thread
+ * requesting it, e.g. the JavaFX Application Thread, never waits on a large list.
+ * <p>
+ * Work is done on a {@link TaskSnapshot}, so tasks may be edited meanwhile. Text is compared
+ * through {@link CollationKey}s computed once per task, the same order the table uses, and the
+ * rows are sorted in parallel with {@link Arrays#parallelSort}. The sort is stable.
+ * <p>
+ * Only the latest request matters: a new request cancels the one running and results of
+ * cancelled requests are never delivered. Requests run on a pool of their own, so a new request
+ * starts at once rather than after the one it replaces, which notices it was cancelled at the
+ * next record it filters and stops.
+ */
+public class TaskSorter {
+    private static final ThreadLocal<Collator> COLLATOR =
+            ThreadLocal.withInitial(Collator::getInstance);
+
+    /**
+     * Runs requests and their parallel filtering and sorting, apart from the common pool.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread thread =
+                        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("task-sorter-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+
+    private final Executor resultExecutor;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(this, "busy");
+
+    /**
+     * Initializes a newly created {@code TaskSorter} object delivering results with the
+     * specified {@code Executor}, e.g. {@code Platform::runLater}.
+     *
+     * @param resultExecutor runs result callbacks, on the thread making requests.
+     */
+    public TaskSorter(Executor resultExecutor) {
+        this.resultExecutor = resultExecutor;
+    }
+
+    /**
+     * Requests the records of the specified snapshot matching the filter, ordered by the sort
+     * keys. Cancels any request still running and returns immediately.
+     * <p>
+     * The callback runs on the result executor unless a newer request was made first.
+     *
+     * @param snapshot the tasks to sort.
+     * @param sortKeys primary key first, none keeps id order.
+     * @param filter which records to keep.
+     * @param onSorted receives the filtered, sorted records.
+     */
+    public void sort(TaskSnapshot snapshot, List<SortKey> sortKeys,
+            Predicate<TaskRecord> filter, Consumer<List<TaskRecord>> onSorted) {
+        // the request running, if any, stops at its next record
+        long request = generation.incrementAndGet();
+        busy.set(true);
+
+        POOL.execute(() -> {
+            try {
+                List<TaskRecord> sorted = order(snapshot, sortKeys, filter, request);
+
+                resultExecutor.execute(() -> {
+                    if (generation.get() == request) {
+                        busy.set(false);
+                        onSorted.accept(sorted);
+                    }
+                });
+            } catch (CancellationException e) {
+                // a newer request replaced this one
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                resultExecutor.execute(() -> {
+                    if (generation.get() == request) {
+                        busy.set(false);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Cancels the request running, if any. Its callback will not run.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        busy.set(false);
+    }
+
+    /**
+     * Gets whether a request is running.
+     * @return An observable value, true from a request until its result is delivered.
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    /**
+     * Returns the records of the specified snapshot matching the filter, ordered by the sort
+     * keys, on the calling thread.
+     *
+     * @param snapshot the tasks to sort.
+     * @param sortKeys primary key first, none keeps id order.
+     * @param filter which records to keep.
+     * @return A new list of the filtered, sorted records.
+     */
+    public static List<TaskRecord> order(TaskSnapshot snapshot, List<SortKey> sortKeys,
+            Predicate<TaskRecord> filter) {
+        return new TaskSorter(Runnable::run).order(snapshot, sortKeys, filter, 0);
+    }
+
+    /**
+     * Returns the specified records ordered by the sort keys, on the calling thread.
+     *
+     * @param records the records to sort, e.g. those a query matched.
+     * @param sortKeys primary key first, none keeps the order of records.
+     * @return A new list of the sorted records.
+     */
+    public static List<TaskRecord> order(List<TaskRecord> records, List<SortKey> sortKeys) {
+        return new TaskSorter(Runnable::run).order(records, sortKeys, record -> true, 0);
+    }
+
+    private List<TaskRecord> order(TaskSnapshot snapshot, List<SortKey> sortKeys,
+            Predicate<TaskRecord> filter, long request) {
+        return order(snapshot.toList(), sortKeys, filter, request);
+    }
+
+    private List<TaskRecord> order(List<TaskRecord> records, List<SortKey> sortKeys,
+            Predicate<TaskRecord> filter, long request) {
+        // Filter and compute sort keys once per task, in parallel, until cancelled
+        Row[] rows = records.parallelStream()
+                .filter(record -> {
+                    checkCurrent(request);
+                    return filter.test(record);
+                })
+                .map(record -> new Row(record, keys(record, sortKeys)))
+                .toArray(Row[]::new);
+
+        if (!sortKeys.isEmpty()) {
+            Arrays.parallelSort(rows, comparator(sortKeys));
+            checkCurrent(request);
+        }
+
+        List<TaskRecord> sorted = new ArrayList<TaskRecord>(rows.length);
+        for (Row row : rows) {
+            sorted.add(row.record);
+        }
+        return sorted;
+    }
+
+    private void checkCurrent(long request) {
+        if (request != 0 && generation.get() != request) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Returns the value of each sort key of the specified record. Text becomes a 
+     * {@link CollationKey} so comparing is a byte comparison.
+     */
+    private static Comparable<?>[] keys(TaskRecord record, List<SortKey> sortKeys) {
+        Comparable<?>[] keys = new Comparable<?>[sortKeys.size()];
+
+        for (int i = 0; i < keys.length; i++) {
+            TaskField field = sortKeys.get(i).field;
+            if (field == TaskField.TITLE) {
+                keys[i] = COLLATOR.get().getCollationKey(record.getTitle());
+            } else if (field == TaskField.DESCRIPTION) {
+                keys[i] = COLLATOR.get().getCollationKey(record.getDescription());
+            } else if (field == TaskField.DUE_DATE) {
+                keys[i] = record.getDueDate();
+            } else if (field == TaskField.IS_COMPLETED) {
+                // completed first, like "Completed" before "No"
+                keys[i] = !record.getIsCompleted();
+            } else if (field == TaskField.TAGS) {
+                keys[i] = COLLATOR.get().getCollationKey(String.join(", ", record.getTags()));
+            } else if (field == TaskField.PRIORITY) {
+                // most important first
+                keys[i] = record.getPriority();
+            } else {
+                throw new IllegalArgumentException("Cannot sort by: " + field);
+            }
+        }
+
+        return keys;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Row> comparator(List<SortKey> sortKeys) {
+        Comparator<Row> comparator = null;
+
+        for (int i = 0; i < sortKeys.size(); i++) {
+            int keyIndex = i;
+            // no due date first, like the empty String of the table
+            Comparator<Row> keyComparator = Comparator.comparing(
+                    (Row row) -> (Comparable) row.keys[keyIndex],
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+
+            if (!sortKeys.get(i).ascending) {
+                keyComparator = keyComparator.reversed();
+            }
+            comparator = comparator == null 
+                    ? keyComparator : comparator.thenComparing(keyComparator);
+        }
+
+        return comparator;
+    }
+
+    /**
+     * A field to sort by and its direction.
+     */
+    public static final class SortKey {
+        private final TaskField field;
+        private final boolean ascending;
+
+        /**
+         * Initializes a newly created {@code SortKey} object.
+         *
+         * @param field the field to sort by.
+         * @param ascending true for ascending order, false for descending.
+         */
+        public SortKey(TaskField field, boolean ascending) {
+            this.field = field;
+            this.ascending = ascending;
+        }
+
+        @Override
+        public String toString() {
+            return field + (ascending ? " ascending" : " descending");
+        }
+    }
+
+    /**
+     * A record with the values of its sort keys.
+     */
+    private static final class Row {
+        private final TaskRecord record;
+        private final Comparable<?>[] keys;
+
+        private Row(TaskRecord record, Comparable<?>[] keys) {
+            this.record = record;
+            this.keys = keys;
+        }
+    }
+}
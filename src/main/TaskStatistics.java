@@ -0,0 +1,225 @@
+package main;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+
+/**
+ * The {@code TaskStatistics} class maintains counts of the tasks in a {@link TaskModel}: total,
+ * completed, open, overdue and due this week.
+ * <p>
+ * Counts are updated in O(1) on every add, remove, completion and due date change rather than
+ * by rescanning the tasks. Open tasks with a due date are also counted per day, so when the day
+ * changes {@link #rollover()} only reads the buckets of the days entering and leaving each range.
+ * <p>
+ * An open task is overdue when its due date is before today and due this week when its due date
+ * is today or within the following six days. Completed tasks and tasks without a due date are
+ * neither.
+ * <p>
+ * Each count is exposed as an observable value, to be used on the thread changing the model.
+ */
+public class TaskStatistics implements TaskListener {
+    /**
+     * Number of days, starting today, counted as due this week.
+     */
+    public static final int WEEK_DAYS = 7;
+
+    private final Clock clock;
+    private final Map<Long, Integer> openByDay = new HashMap<Long, Integer>();
+    private long today;
+
+    private final ReadOnlyIntegerWrapper total = new ReadOnlyIntegerWrapper(this, "total");
+    private final ReadOnlyIntegerWrapper completed = new ReadOnlyIntegerWrapper(this, "completed");
+    private final ReadOnlyIntegerWrapper open = new ReadOnlyIntegerWrapper(this, "open");
+    private final ReadOnlyIntegerWrapper overdue = new ReadOnlyIntegerWrapper(this, "overdue");
+    private final ReadOnlyIntegerWrapper dueThisWeek =
+            new ReadOnlyIntegerWrapper(this, "dueThisWeek");
+
+    /**
+     * Initializes a newly created {@code TaskStatistics} object counting the tasks of the
+     * specified model, using the system clock for today.
+     *
+     * @param model the model to count, this registers itself as its listener.
+     */
+    public TaskStatistics(TaskModel model) {
+        this(model, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Initializes a newly created {@code TaskStatistics} object counting the tasks of the
+     * specified model, using the specified clock for today.
+     *
+     * @param model the model to count, this registers itself as its listener.
+     * @param clock the clock deciding what today is.
+     */
+    public TaskStatistics(TaskModel model, Clock clock) {
+        this.clock = clock;
+        this.today = LocalDate.now(clock).toEpochDay();
+
+        for (Task task : model.getTasks()) {
+            count(task.getIsCompleted(), task.getDueDate(), 1);
+        }
+        model.addListener(this);
+    }
+
+    /**
+     * Moves today to the current date of the clock. Does nothing if the date is unchanged.
+     * <p>
+     * Intended to be called periodically, e.g. every minute, so tasks become overdue at midnight.
+     */
+    public void rollover() {
+        rollover(LocalDate.now(clock));
+    }
+
+    /**
+     * Moves today to the specified date, reading only the day buckets crossing the overdue and
+     * due this week boundaries.
+     *
+     * @param date the new today.
+     */
+    public void rollover(LocalDate date) {
+        long newToday = date.toEpochDay();
+
+        while (today < newToday) {
+            // today's tasks become overdue, a new day enters the week
+            int dueToday = openOn(today);
+            overdue.set(overdue.get() + dueToday);
+            dueThisWeek.set(dueThisWeek.get() - dueToday + openOn(today + WEEK_DAYS));
+            today++;
+        }
+        while (today > newToday) {
+            // clock went back, e.g. a time zone change
+            today--;
+            int dueToday = openOn(today);
+            overdue.set(overdue.get() - dueToday);
+            dueThisWeek.set(dueThisWeek.get() + dueToday - openOn(today + WEEK_DAYS));
+        }
+    }
+
+    /**
+     * Gets the number of tasks.
+     * @return An observable count of every task.
+     */
+    public ReadOnlyIntegerProperty totalProperty() {
+        return total.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of completed tasks.
+     * @return An observable count of completed tasks.
+     */
+    public ReadOnlyIntegerProperty completedProperty() {
+        return completed.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of tasks not completed.
+     * @return An observable count of open tasks.
+     */
+    public ReadOnlyIntegerProperty openProperty() {
+        return open.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of open tasks due before today.
+     * @return An observable count of overdue tasks.
+     */
+    public ReadOnlyIntegerProperty overdueProperty() {
+        return overdue.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of open tasks due today or within the following six days.
+     * @return An observable count of tasks due this week.
+     */
+    public ReadOnlyIntegerProperty dueThisWeekProperty() {
+        return dueThisWeek.getReadOnlyProperty();
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        count(task.getIsCompleted(), task.getDueDate(), 1);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        count(task.getIsCompleted(), task.getDueDate(), -1);
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.IS_COMPLETED) {
+            recount((Boolean) oldValue, task.getDueDate(), task.getIsCompleted(),
+                    task.getDueDate());
+        } else if (field == TaskField.DUE_DATE) {
+            recount(task.getIsCompleted(), (LocalDate) oldValue, task.getIsCompleted(),
+                    task.getDueDate());
+        }
+    }
+
+    /**
+     * Adds delta tasks with the specified completion and due date to every count they belong to.
+     */
+    private void count(boolean isCompleted, LocalDate dueDate, int delta) {
+        add(total, delta);
+        add(isCompleted ? completed : open, delta);
+        countDay(isCompleted, dueDate, delta);
+        add(overdue, delta * overdueCount(isCompleted, dueDate));
+        add(dueThisWeek, delta * dueThisWeekCount(isCompleted, dueDate));
+    }
+
+    /**
+     * Moves a task from the counts of its old completion and due date to those of its new ones.
+     * The total and every count the task stays in are left unchanged, so they fire no change.
+     */
+    private void recount(boolean wasCompleted, LocalDate oldDueDate, boolean isCompleted,
+            LocalDate dueDate) {
+        int completedDelta = (isCompleted ? 1 : 0) - (wasCompleted ? 1 : 0);
+        add(completed, completedDelta);
+        add(open, -completedDelta);
+        countDay(wasCompleted, oldDueDate, -1);
+        countDay(isCompleted, dueDate, 1);
+        add(overdue, overdueCount(isCompleted, dueDate) - overdueCount(wasCompleted, oldDueDate));
+        add(dueThisWeek, dueThisWeekCount(isCompleted, dueDate)
+                - dueThisWeekCount(wasCompleted, oldDueDate));
+    }
+
+    /**
+     * Adds delta open tasks to the bucket of the specified due date, if any.
+     */
+    private void countDay(boolean isCompleted, LocalDate dueDate, int delta) {
+        if (!isCompleted && dueDate != null) {
+            openByDay.merge(dueDate.toEpochDay(), delta,
+                    (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    private int overdueCount(boolean isCompleted, LocalDate dueDate) {
+        return !isCompleted && dueDate != null && dueDate.toEpochDay() < today ? 1 : 0;
+    }
+
+    private int dueThisWeekCount(boolean isCompleted, LocalDate dueDate) {
+        if (isCompleted || dueDate == null) {
+            return 0;
+        }
+        long day = dueDate.toEpochDay();
+        return day >= today && day < today + WEEK_DAYS ? 1 : 0;
+    }
+
+    /**
+     * Adds the specified delta to the specified count, firing no change for 0.
+     */
+    private static void add(ReadOnlyIntegerWrapper count, int delta) {
+        if (delta != 0) {
+            count.set(count.get() + delta);
+        }
+    }
+
+    private int openOn(long day) {
+        return openByDay.getOrDefault(day, 0);
+    }
+}
@@ -0,0 +1,134 @@
+package main;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@code TaskStore} interface is where saved tasks live between runs, so the storage format
+ * can change without touching the rest of the application.
+ * <p>
+ * A store holds at most one {@link TaskRecord} per id. Changes are applied in batches of
+ * {@link Mutation}s, each batch all or nothing, and seen by reads at once. They are only
+ * durable once {@link #flush} returns: after a crash a store opens with every flushed batch and,
+ * of later batches, only whole ones.
+ * <p>
+ * Any implementation is checked by extending {@code test.TaskStoreTestKit}. Stores are not
+ * thread-safe.
+ */
+public interface TaskStore extends Closeable {
+    /**
+     * Passes every stored task to the specified action, in no particular order. Stores that
+     * can stream do not hold all tasks in memory at once.
+     *
+     * @param action the action run for each task.
+     * @throws IOException if reading the tasks fails.
+     */
+    void forEach(Consumer<? super TaskRecord> action) throws IOException;
+
+    /**
+     * Returns every stored task.
+     *
+     * @return A new list of the stored tasks, in no particular order.
+     * @throws IOException if reading the tasks fails.
+     */
+    default List<TaskRecord> load() throws IOException {
+        List<TaskRecord> records = new ArrayList<TaskRecord>();
+        forEach(records::add);
+        return records;
+    }
+
+    /**
+     * Applies the specified mutations in order, all of them or none.
+     *
+     * @param mutations the tasks to put and delete.
+     * @throws IOException if the store cannot take the batch, then none of it is applied.
+     */
+    void apply(List<Mutation> mutations) throws IOException;
+
+    /**
+     * Makes every applied batch durable.
+     *
+     * @throws IOException if writing fails, then the batches since the last flush may be lost.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Returns the number of bytes the store takes up on disk, e.g. for {@link TaskMetrics}.
+     *
+     * @return The size of the store as of the last flush, 0 if nothing is stored.
+     * @throws IOException if the size cannot be read.
+     */
+    long getStorageSize() throws IOException;
+
+    /**
+     * Flushes then releases the store, which is not used afterwards.
+     *
+     * @throws IOException if flushing fails.
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * A change to one stored task: a put replacing any task with the same id, or a delete.
+     */
+    public static final class Mutation {
+        private final long id;
+        private final TaskRecord record;
+
+        private Mutation(long id, TaskRecord record) {
+            this.id = id;
+            this.record = record;
+        }
+
+        /**
+         * Returns a mutation storing the specified task, replacing any task with its id.
+         *
+         * @param record the task to store.
+         * @return A put of the task.
+         * @throws IllegalArgumentException if the task has no id.
+         */
+        public static Mutation put(TaskRecord record) {
+            if (record.getId() <= 0) {
+                throw new IllegalArgumentException("Task has no id: " + record.getId());
+            }
+            return new Mutation(record.getId(), record);
+        }
+
+        /**
+         * Returns a mutation removing the task with the specified id, if it is stored.
+         *
+         * @param id id of the task to remove.
+         * @return A delete of the task.
+         */
+        public static Mutation delete(long id) {
+            return new Mutation(id, null);
+        }
+
+        /**
+         * Returns whether this mutation removes its task.
+         * @return true for a delete, false for a put.
+         */
+        public boolean isDelete() {
+            return record == null;
+        }
+
+        /**
+         * Gets the id of the task changed.
+         * @return A long identifying the task.
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * Gets the task stored by a put.
+         * @return The record, null for a delete.
+         */
+        public TaskRecord getRecord() {
+            return record;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package main;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The {@code TaskTree} class arranges the tasks of a {@link TaskModel} into subtasks and keeps
+ * roll-ups of each subtree: how many of its tasks are completed and the earliest due date of
+ * its open tasks.
+ * <p>
+ * The tree is stored as int arrays indexed by task ordinal: parent, first child and sibling
+ * links. Roll-ups are updated along the path to the root when a task is added, removed, moved,
+ * completed or given a new due date, so a change costs O(depth), times O(log width) for the due
+ * date, rather than a walk of the subtree. The due date update stops as soon as an ancestor's
+ * earliest due date is unchanged.
+ * <p>
+ * Removing a task moves its children to its parent, which {@link TaskModel#remove} does through
+ * parent changes the tree follows.
+ */
+public class TaskTree implements TaskListener {
+    private static final String CYCLE_ERROR_MESSAGE =
+            "A task cannot be a subtask of itself or of its subtasks.";
+    private static final int NONE = -1;
+    private static final long NO_DUE_DATE = Long.MAX_VALUE;
+
+    private final TaskModel model;
+
+    // Links between ordinals, NONE when absent
+    private int[] parents = new int[0];
+    private int[] firstChildren = new int[0];
+    private int[] nextSiblings = new int[0];
+    private int[] previousSiblings = new int[0];
+    private int firstRoot = NONE;
+
+    // Roll-ups of each subtree, the task included
+    private int[] subtreeSizes = new int[0];
+    private int[] subtreeCompleted = new int[0];
+    private long[] earliestDueDays = new long[0];
+    /**
+     * Earliest due day of each child's subtree, counted, only for tasks with children.
+     */
+    private TreeMap<Long, Integer>[] childDueDays = newChildDueDays(0);
+
+    /**
+     * Initializes a newly created {@code TaskTree} object arranging the tasks of the specified
+     * model by their parent ids. Built in O(n). Tasks whose parent is missing, or which form a
+     * cycle, become top level tasks.
+     *
+     * @param model the model to arrange, this registers itself as its listener.
+     */
+    public TaskTree(TaskModel model) {
+        this.model = model;
+
+        for (Task task : model.getTasks()) {
+            int ordinal = task.getOrdinal();
+            ensureCapacity(ordinal);
+            parents[ordinal] = NONE;
+            subtreeSizes[ordinal] = 1;
+            subtreeCompleted[ordinal] = task.getIsCompleted() ? 1 : 0;
+            earliestDueDays[ordinal] = ownDueDay(task);
+        }
+        for (Task task : model.getTasks()) {
+            link(task.getOrdinal(), ordinalOf(task.getParentId(), task.getOrdinal()));
+        }
+
+        // Roll-ups bottom up, from each root. Tasks not reached are in a cycle.
+        boolean[] reached = new boolean[parents.length];
+        for (int root = firstRoot; root != NONE; root = nextSiblings[root]) {
+            rollUp(root, reached);
+        }
+        for (Task task : model.getTasks()) {
+            int ordinal = task.getOrdinal();
+            if (!reached[ordinal]) {
+                unlink(ordinal);
+                link(ordinal, NONE);
+                rollUp(ordinal, reached);
+            }
+        }
+
+        model.addListener(this);
+    }
+
+    /**
+     * Makes the specified task a subtask of the specified parent, or a top level task if the
+     * parent is null. Its subtasks move with it.
+     *
+     * @param task the task to move.
+     * @param parent the new parent, or null.
+     * @throws IllegalArgumentException if the parent is the task or one of its subtasks.
+     */
+    public void setParent(Task task, Task parent) {
+        if (parent == null) {
+            task.setParentId(0);
+            return;
+        }
+
+        for (int ancestor = parent.getOrdinal(); ancestor != NONE; ancestor = parents[ancestor]) {
+            if (ancestor == task.getOrdinal()) {
+                throw new IllegalArgumentException(CYCLE_ERROR_MESSAGE);
+            }
+        }
+        task.setParentId(parent.getId());
+    }
+
+    /**
+     * Returns the parent of the specified task, or null if it is a top level task.
+     *
+     * @param task a task of the model.
+     * @return The parent task or null.
+     */
+    public Task getParent(Task task) {
+        int parent = parents[task.getOrdinal()];
+        return parent == NONE ? null : model.getByOrdinal(parent);
+    }
+
+    /**
+     * Returns the subtasks of the specified task, or the top level tasks if it is null.
+     *
+     * @param task a task of the model, or null.
+     * @return A new List of the children.
+     */
+    public List<Task> getChildren(Task task) {
+        int child = task == null ? firstRoot : firstChildren[task.getOrdinal()];
+
+        List<Task> children = new ArrayList<Task>();
+        for (; child != NONE; child = nextSiblings[child]) {
+            children.add(model.getByOrdinal(child));
+        }
+        return children;
+    }
+
+    /**
+     * Returns whether the specified task has subtasks. Runs in O(1).
+     *
+     * @param task a task of the model.
+     * @return true if it has at least one subtask.
+     */
+    public boolean hasChildren(Task task) {
+        return firstChildren[task.getOrdinal()] != NONE;
+    }
+
+    /**
+     * Returns the number of tasks in the subtree of the specified task, itself included.
+     *
+     * @param task a task of the model.
+     * @return The size of the subtree.
+     */
+    public int getSubtreeSize(Task task) {
+        return subtreeSizes[task.getOrdinal()];
+    }
+
+    /**
+     * Returns the percentage of completed tasks in the subtree of the specified task, itself
+     * included.
+     *
+     * @param task a task of the model.
+     * @return A double from 0 to 100.
+     */
+    public double getPercentComplete(Task task) {
+        int ordinal = task.getOrdinal();
+        return 100.0 * subtreeCompleted[ordinal] / subtreeSizes[ordinal];
+    }
+
+    /**
+     * Returns the earliest due date of the open tasks in the subtree of the specified task,
+     * itself included.
+     *
+     * @param task a task of the model.
+     * @return The earliest due date, or null if no open task in the subtree has one.
+     */
+    public LocalDate getEarliestDueDate(Task task) {
+        long day = earliestDueDays[task.getOrdinal()];
+        return day == NO_DUE_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        int ordinal = task.getOrdinal();
+        ensureCapacity(ordinal);
+        parents[ordinal] = NONE;
+        firstChildren[ordinal] = NONE;
+        subtreeSizes[ordinal] = 1;
+        subtreeCompleted[ordinal] = task.getIsCompleted() ? 1 : 0;
+        earliestDueDays[ordinal] = ownDueDay(task);
+        childDueDays[ordinal] = null;
+
+        attach(ordinal, ordinalOf(task.getParentId(), ordinal));
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        int ordinal = task.getOrdinal();
+
+        // a leaf by now, the model moved its children up before removing it
+        detach(ordinal);
+        childDueDays[ordinal] = null;
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        int ordinal = task.getOrdinal();
+
+        if (field == TaskField.PARENT) {
+            int parent = ordinalOf(task.getParentId(), ordinal);
+            if (parent != parents[ordinal]) {
+                detach(ordinal);
+                attach(ordinal, parent);
+            }
+        } else if (field == TaskField.IS_COMPLETED) {
+            int delta = task.getIsCompleted() ? 1 : -1;
+            for (int ancestor = ordinal; ancestor != NONE; ancestor = parents[ancestor]) {
+                subtreeCompleted[ancestor] += delta;
+            }
+            updateEarliestDueDay(ordinal);
+        } else if (field == TaskField.DUE_DATE) {
+            updateEarliestDueDay(ordinal);
+        }
+    }
+
+    /**
+     * Returns the ordinal of the task with the specified id, NONE for no task, a missing task or
+     * the specified child itself.
+     */
+    private int ordinalOf(long id, int child) {
+        Task task = id == 0 ? null : model.get(id);
+        if (task == null || task.getOrdinal() == child) {
+            return NONE;
+        }
+        return task.getOrdinal();
+    }
+
+    private long ownDueDay(Task task) {
+        if (task.getIsCompleted() || task.getDueDate() == null) {
+            return NO_DUE_DATE;
+        }
+        return task.getDueDate().toEpochDay();
+    }
+
+    /**
+     * Links the subtree at the specified ordinal under the parent and adds its roll-ups to every
+     * ancestor.
+     */
+    private void attach(int ordinal, int parent) {
+        link(ordinal, parent);
+
+        for (int ancestor = parent; ancestor != NONE; ancestor = parents[ancestor]) {
+            subtreeSizes[ancestor] += subtreeSizes[ordinal];
+            subtreeCompleted[ancestor] += subtreeCompleted[ordinal];
+        }
+        if (parent != NONE) {
+            addChildDueDay(parent, earliestDueDays[ordinal]);
+            updateEarliestDueDay(parent);
+        }
+    }
+
+    /**
+     * Unlinks the subtree at the specified ordinal and removes its roll-ups from every ancestor.
+     */
+    private void detach(int ordinal) {
+        int parent = parents[ordinal];
+        unlink(ordinal);
+
+        for (int ancestor = parent; ancestor != NONE; ancestor = parents[ancestor]) {
+            subtreeSizes[ancestor] -= subtreeSizes[ordinal];
+            subtreeCompleted[ancestor] -= subtreeCompleted[ordinal];
+        }
+        if (parent != NONE) {
+            removeChildDueDay(parent, earliestDueDays[ordinal]);
+            updateEarliestDueDay(parent);
+        }
+    }
+
+    /**
+     * Recomputes the earliest due day of the specified task then of its ancestors, stopping at
+     * the first which is unchanged.
+     */
+    private void updateEarliestDueDay(int ordinal) {
+        while (ordinal != NONE) {
+            long earliest = ownDueDay(model.getByOrdinal(ordinal));
+            TreeMap<Long, Integer> children = childDueDays[ordinal];
+            if (children != null && !children.isEmpty()) {
+                earliest = Math.min(earliest, children.firstKey());
+            }
+
+            long old = earliestDueDays[ordinal];
+            if (old == earliest) {
+                return;
+            }
+            earliestDueDays[ordinal] = earliest;
+
+            int parent = parents[ordinal];
+            if (parent != NONE) {
+                removeChildDueDay(parent, old);
+                addChildDueDay(parent, earliest);
+            }
+            ordinal = parent;
+        }
+    }
+
+    private void addChildDueDay(int parent, long day) {
+        if (day == NO_DUE_DATE) {
+            return;
+        }
+        if (childDueDays[parent] == null) {
+            childDueDays[parent] = new TreeMap<Long, Integer>();
+        }
+        childDueDays[parent].merge(day, 1, Integer::sum);
+    }
+
+    private void removeChildDueDay(int parent, long day) {
+        if (day == NO_DUE_DATE) {
+            return;
+        }
+        childDueDays[parent].merge(day, -1, (count, change) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Computes the roll-ups of the subtree at the specified root, children before parents.
+     */
+    private void rollUp(int root, boolean[] reached) {
+        Deque<Integer> stack = new ArrayDeque<Integer>();
+        List<Integer> order = new ArrayList<Integer>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            int ordinal = stack.pop();
+            reached[ordinal] = true;
+            order.add(ordinal);
+            for (int child = firstChildren[ordinal]; child != NONE; child = nextSiblings[child]) {
+                stack.push(child);
+            }
+        }
+
+        // every task but the root adds itself to its parent
+        for (int i = order.size() - 1; i > 0; i--) {
+            int ordinal = order.get(i);
+            int parent = parents[ordinal];
+            subtreeSizes[parent] += subtreeSizes[ordinal];
+            subtreeCompleted[parent] += subtreeCompleted[ordinal];
+
+            long dueDay = earliestDueDays[ordinal];
+            addChildDueDay(parent, dueDay);
+            earliestDueDays[parent] = Math.min(earliestDueDays[parent], dueDay);
+        }
+    }
+
+    private void link(int ordinal, int parent) {
+        parents[ordinal] = parent;
+        previousSiblings[ordinal] = NONE;
+
+        int first = parent == NONE ? firstRoot : firstChildren[parent];
+        nextSiblings[ordinal] = first;
+        if (first != NONE) {
+            previousSiblings[first] = ordinal;
+        }
+
+        if (parent == NONE) {
+            firstRoot = ordinal;
+        } else {
+            firstChildren[parent] = ordinal;
+        }
+    }
+
+    private void unlink(int ordinal) {
+        int parent = parents[ordinal];
+        int previous = previousSiblings[ordinal];
+        int next = nextSiblings[ordinal];
+
+        if (previous != NONE) {
+            nextSiblings[previous] = next;
+        } else if (parent == NONE) {
+            firstRoot = next;
+        } else {
+            firstChildren[parent] = next;
+        }
+        if (next != NONE) {
+            previousSiblings[next] = previous;
+        }
+
+        parents[ordinal] = NONE;
+        previousSiblings[ordinal] = NONE;
+        nextSiblings[ordinal] = NONE;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < parents.length) {
+            return;
+        }
+
+        int oldLength = parents.length;
+        int length = Math.max(16, Math.max(2 * oldLength, ordinal + 1));
+        parents = Arrays.copyOf(parents, length);
+        firstChildren = Arrays.copyOf(firstChildren, length);
+        nextSiblings = Arrays.copyOf(nextSiblings, length);
+        previousSiblings = Arrays.copyOf(previousSiblings, length);
+        subtreeSizes = Arrays.copyOf(subtreeSizes, length);
+        subtreeCompleted = Arrays.copyOf(subtreeCompleted, length);
+        earliestDueDays = Arrays.copyOf(earliestDueDays, length);
+        childDueDays = Arrays.copyOf(childDueDays, length);
+
+        Arrays.fill(parents, oldLength, length, NONE);
+        Arrays.fill(firstChildren, oldLength, length, NONE);
+        Arrays.fill(nextSiblings, oldLength, length, NONE);
+        Arrays.fill(previousSiblings, oldLength, length, NONE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TreeMap<Long, Integer>[] newChildDueDays(int length) {
+        return (TreeMap<Long, Integer>[]) new TreeMap<?, ?>[length];
+    }
+}
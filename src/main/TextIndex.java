@@ -0,0 +1,164 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The {@code TextIndex} class finds the tasks of a {@link TaskModel} by the words of their title
+ * or description, e.g. titles with a word starting with "rep".
+ * <p>
+ * Words are the runs of letters and digits of the text, lower case. Each word of each field has a
+ * {@link CompressedBitmap} of the ordinals of the tasks using it, and words are sorted so the
+ * words starting with a prefix are found without visiting the others. The index updates itself
+ * on every add, remove, title and description change.
+ */
+public class TextIndex implements TaskListener {
+    private final NavigableMap<String, CompressedBitmap> titleWords =
+            new TreeMap<String, CompressedBitmap>();
+    private final NavigableMap<String, CompressedBitmap> descriptionWords =
+            new TreeMap<String, CompressedBitmap>();
+
+    /**
+     * Initializes a newly created {@code TextIndex} object indexing the tasks of the specified
+     * model.
+     *
+     * @param model the model to index, this registers itself as its listener.
+     */
+    public TextIndex(TaskModel model) {
+        for (Task task : model.getTasks()) {
+            taskAdded(task);
+        }
+        model.addListener(this);
+    }
+
+    /**
+     * Returns the distinct words of the specified text, lower case, in the order they appear.
+     *
+     * @param text the text to split.
+     * @return A new list of the runs of letters and digits of the text.
+     */
+    public static List<String> words(String text) {
+        Set<String> words = new LinkedHashSet<String>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start == -1) {
+                start = i;
+            } else if (!isWordChar && start != -1) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return new ArrayList<String>(words);
+    }
+
+    /**
+     * Returns an upper bound of the number of tasks with a word starting with the specified
+     * prefix in the specified field, without building the result.
+     *
+     * @param field {@link TaskField#TITLE} or {@link TaskField#DESCRIPTION}.
+     * @param prefix lower case start of a word.
+     * @return The sum of the number of tasks of each word with the prefix.
+     */
+    public int estimate(TaskField field, String prefix) {
+        long estimate = 0;
+        for (CompressedBitmap ordinals : withPrefix(field, prefix).values()) {
+            estimate += ordinals.cardinality();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, estimate);
+    }
+
+    /**
+     * Returns the ordinals of the tasks with, for each of the specified prefixes, a word starting
+     * with it in the specified field. The rarest prefix is looked up first.
+     *
+     * @param field {@link TaskField#TITLE} or {@link TaskField#DESCRIPTION}.
+     * @param prefixes lower case starts of words, none for no task.
+     * @return A new {@code BitSet} of the ordinals of the matching tasks.
+     */
+    public BitSet select(TaskField field, Collection<String> prefixes) {
+        // each estimate walks the words of its prefix, so once per prefix, not per comparison
+        Map<String, Integer> estimates = new HashMap<String, Integer>();
+        for (String prefix : prefixes) {
+            estimates.put(prefix, estimate(field, prefix));
+        }
+        List<String> sorted = new ArrayList<String>(estimates.keySet());
+        sorted.sort(Comparator.comparingInt(estimates::get));
+
+        BitSet result = null;
+        for (String prefix : sorted) {
+            BitSet matches = new BitSet();
+            for (CompressedBitmap ordinals : withPrefix(field, prefix).values()) {
+                ordinals.forEach(matches::set);
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        index(titleWords, task.getTitle(), task.getOrdinal(), true);
+        index(descriptionWords, task.getDescription(), task.getOrdinal(), true);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        index(titleWords, task.getTitle(), task.getOrdinal(), false);
+        index(descriptionWords, task.getDescription(), task.getOrdinal(), false);
+    }
+
+    @Override
+    public void taskChanged(Task task, TaskField field, Object oldValue) {
+        if (field == TaskField.TITLE) {
+            index(titleWords, (String) oldValue, task.getOrdinal(), false);
+            index(titleWords, task.getTitle(), task.getOrdinal(), true);
+        } else if (field == TaskField.DESCRIPTION) {
+            index(descriptionWords, (String) oldValue, task.getOrdinal(), false);
+            index(descriptionWords, task.getDescription(), task.getOrdinal(), true);
+        }
+    }
+
+    private NavigableMap<String, CompressedBitmap> withPrefix(TaskField field, String prefix) {
+        NavigableMap<String, CompressedBitmap> words =
+                field == TaskField.TITLE ? titleWords : descriptionWords;
+        // every word starting with the prefix sorts before the prefix followed by the last char
+        return words.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static void index(NavigableMap<String, CompressedBitmap> words, String text,
+            int ordinal, boolean add) {
+        for (String word : words(text)) {
+            CompressedBitmap ordinals = words.get(word);
+            if (add) {
+                if (ordinals == null) {
+                    ordinals = new CompressedBitmap();
+                    words.put(word, ordinals);
+                }
+                ordinals.add(ordinal);
+            } else if (ordinals != null) {
+                ordinals.remove(ordinal);
+                if (ordinals.cardinality() == 0) {
+                    words.remove(word);
+                }
+            }
+        }
+    }
+}
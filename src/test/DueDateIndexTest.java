@@ -0,0 +1,144 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import main.DueDateIndex;
+import main.Task;
+import main.TaskModel;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code DueDateIndex} class.
+ */
+public class DueDateIndexTest {
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    public void countsExistingTasks() {
+        TaskModel model = new TaskModel();
+        model.add(new Task(TITLE, DESCRIPTION, TODAY, false));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY, true));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY.plusDays(1), false));
+        model.add(new Task(TITLE, DESCRIPTION, null, false));
+
+        DueDateIndex index = new DueDateIndex(model);
+
+        assertEquals(1, index.countOpen(TODAY, TODAY));
+        assertEquals(1, index.countCompleted(TODAY, TODAY));
+        assertEquals(2, index.countOpen(TODAY.minusYears(1), TODAY.plusYears(1)));
+        assertEquals(0, index.countOpen(TODAY.plusDays(2), TODAY.plusYears(1)));
+        assertEquals(0, index.countOpen(TODAY.plusDays(1), TODAY));
+    }
+
+    @Test
+    public void addAndRemove() {
+        TaskModel model = new TaskModel();
+        DueDateIndex index = new DueDateIndex(model);
+        assertEquals(0, index.countOpen(TODAY, TODAY));
+
+        Task task = new Task(TITLE, DESCRIPTION, TODAY, false);
+        model.add(task);
+        assertEquals(1, index.countOpen(TODAY, TODAY));
+        assertEquals(List.of(task), index.getTasks(TODAY));
+
+        model.remove(task);
+        assertEquals(0, index.countOpen(TODAY, TODAY));
+        assertEquals(List.of(), index.getTasks(TODAY));
+    }
+
+    @Test
+    public void setDueDateAndIsCompleted() {
+        TaskModel model = new TaskModel();
+        DueDateIndex index = new DueDateIndex(model);
+        Task task = new Task(TITLE, DESCRIPTION, null, false);
+        model.add(task);
+
+        task.setDueDate(TODAY);
+        assertEquals(1, index.countOpen(TODAY, TODAY));
+
+        task.setIsCompleted(true);
+        assertEquals(0, index.countOpen(TODAY, TODAY));
+        assertEquals(1, index.countCompleted(TODAY, TODAY));
+
+        task.setDueDate(TODAY.plusDays(3));
+        assertEquals(0, index.countCompleted(TODAY, TODAY));
+        assertEquals(1, index.countCompleted(TODAY, TODAY.plusDays(3)));
+        assertEquals(List.of(task), index.getTasks(TODAY.plusDays(3)));
+    }
+
+    @Test
+    public void getTasksOpenFirst() {
+        TaskModel model = new TaskModel();
+        DueDateIndex index = new DueDateIndex(model);
+        Task completed = new Task(TITLE, DESCRIPTION, TODAY, true);
+        Task first = new Task(TITLE, DESCRIPTION, TODAY, false);
+        Task second = new Task(TITLE, DESCRIPTION, TODAY, false);
+        model.add(completed);
+        model.add(first);
+        model.add(second);
+
+        assertEquals(List.of(first, second, completed), index.getTasks(TODAY));
+    }
+
+    @Test
+    public void growsToFarAwayDays() {
+        TaskModel model = new TaskModel();
+        DueDateIndex index = new DueDateIndex(model);
+        model.add(new Task(TITLE, DESCRIPTION, TODAY, false));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY.plusYears(200), false));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY.minusYears(300), true));
+
+        assertEquals(1, index.countOpen(TODAY, TODAY));
+        assertEquals(1, index.countOpen(TODAY.plusYears(200), TODAY.plusYears(200)));
+        assertEquals(2, index.countOpen(LocalDate.MIN, LocalDate.MAX));
+        assertEquals(1, index.countCompleted(LocalDate.MIN, TODAY));
+    }
+
+    @Test
+    public void matchesScan() {
+        TaskModel model = new TaskModel();
+        DueDateIndex index = new DueDateIndex(model);
+        Random random = new Random(38);
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDate dueDate = random.nextInt(10) == 0 ? null
+                    : TODAY.plusDays(random.nextInt(400) - 200);
+            Task task = new Task(TITLE, DESCRIPTION, dueDate, random.nextBoolean());
+            model.add(task);
+            tasks.add(task);
+        }
+        for (int i = 0; i < 500; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            if (random.nextBoolean()) {
+                task.setIsCompleted(!task.getIsCompleted());
+            } else {
+                task.setDueDate(TODAY.plusDays(random.nextInt(400) - 200));
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = TODAY.plusDays(random.nextInt(500) - 250);
+            LocalDate to = from.plusDays(random.nextInt(60));
+            int open = 0;
+            int completed = 0;
+            for (Task task : tasks) {
+                LocalDate dueDate = task.getDueDate();
+                if (dueDate != null && !dueDate.isBefore(from) && !dueDate.isAfter(to)) {
+                    if (task.getIsCompleted()) {
+                        completed++;
+                    } else {
+                        open++;
+                    }
+                }
+            }
+            assertEquals(open, index.countOpen(from, to));
+            assertEquals(completed, index.countCompleted(from, to));
+        }
+    }
+}
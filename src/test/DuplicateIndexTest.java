@@ -0,0 +1,105 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import main.DuplicateIndex;
+import main.Task;
+import main.TaskModel;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code DuplicateIndex} class.
+ */
+public class DuplicateIndexTest {
+    private static final int LIMIT = 10;
+
+    private static Task add(TaskModel model, String title, String description) {
+        Task task = new Task(title, description, null, false);
+        model.add(task);
+        return task;
+    }
+
+    @Test
+    public void findsRewordedTask() {
+        TaskModel model = new TaskModel();
+        Task groceries = add(model, "Buy groceries for the week", "milk, eggs, bread and coffee");
+        add(model, "Renew passport", "appointment at the town hall");
+        DuplicateIndex index = new DuplicateIndex(model);
+
+        List<Task> similar = index.findSimilar("buy groceries for this week", 
+                "Milk eggs bread, coffee", LIMIT);
+        assertEquals(List.of(groceries), similar);
+        assertTrue(index.findSimilar("Call the plumber", "", LIMIT).isEmpty());
+    }
+
+    @Test
+    public void mostSimilarFirst() {
+        TaskModel model = new TaskModel();
+        DuplicateIndex index = new DuplicateIndex(model);
+        Task close = add(model, "Write quarterly report", "sales figures");
+        Task exact = add(model, "Write quarterly report", "sales figures for q3");
+
+        assertEquals(List.of(exact, close), 
+                index.findSimilar("Write quarterly report", "sales figures for q3", LIMIT));
+        assertEquals(List.of(exact), 
+                index.findSimilar("Write quarterly report", "sales figures for q3", 1));
+    }
+
+    @Test
+    public void updatesOnEditAndRemove() {
+        TaskModel model = new TaskModel();
+        DuplicateIndex index = new DuplicateIndex(model);
+        Task task = add(model, "Book dentist appointment", "");
+        assertEquals(List.of(task), index.findSimilar("book a dentist appointment", "", LIMIT));
+
+        task.setTitle("Pay electricity bill");
+        assertTrue(index.findSimilar("book a dentist appointment", "", LIMIT).isEmpty());
+        assertEquals(List.of(task), index.findSimilar("pay the electricity bill", "", LIMIT));
+
+        model.remove(task);
+        assertTrue(index.findSimilar("pay the electricity bill", "", LIMIT).isEmpty());
+    }
+
+    @Test
+    public void manyTasksSharingBuckets() {
+        TaskModel model = new TaskModel();
+        DuplicateIndex index = new DuplicateIndex(model);
+        for (int i = 0; i < 200; i++) {
+            add(model, "Water the plants", "");
+        }
+        for (Task task : List.copyOf(model.getTasks())) {
+            if (task.getId() % 2 == 0) {
+                model.remove(task);
+            }
+        }
+
+        List<Task> similar = index.findSimilar("water the plants", "", LIMIT);
+        assertEquals(LIMIT, similar.size());
+        for (Task task : similar) {
+            assertEquals(task, model.get(task.getId()));
+        }
+    }
+
+    @Test
+    public void similarity() {
+        assertEquals(1.0, DuplicateIndex.similarity("Fix the car", "", "fix the car!", ""), 0);
+        assertEquals(0.0, DuplicateIndex.similarity("abc", "", "xyz", ""), 0);
+    }
+
+    @Test
+    public void crowdedBucketLeavesOtherBandsRead() {
+        TaskModel model = new TaskModel();
+        DuplicateIndex index = new DuplicateIndex(model);
+        Task duplicate = add(model, "Call mom about the weekend", "");
+        // more tasks than a lookup reads, sharing an early bucket with the text but not the
+        // later ones the duplicate shares, added after so their entries are read first
+        for (int i = 0; i < 5000; i++) {
+            add(model, "this weekend", "");
+        }
+
+        assertEquals(List.of(duplicate),
+                index.findSimilar("Call mom about this weekend", "", LIMIT));
+    }
+}
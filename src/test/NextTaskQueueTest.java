@@ -0,0 +1,111 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import main.NextTaskQueue;
+import main.Priority;
+import main.Task;
+import main.TaskModel;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code NextTaskQueue} class.
+ */
+public class NextTaskQueueTest {
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate DUE_DATE = LocalDate.of(2026, 10, 19);
+
+    private static Task createTask(String title, Priority priority, LocalDate dueDate) {
+        Task task = new Task(title, DESCRIPTION, dueDate, false);
+        task.setPriority(priority);
+        return task;
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        List<String> titles = new ArrayList<String>();
+        for (Task task : tasks) {
+            titles.add(task.getTitle());
+        }
+        return titles;
+    }
+
+    @Test
+    public void order() {
+        TaskModel model = new TaskModel();
+        model.add(createTask("normal", Priority.NORMAL, DUE_DATE));
+        model.add(createTask("high no date", Priority.HIGH, null));
+        model.add(createTask("high later", Priority.HIGH, DUE_DATE.plusDays(1)));
+        model.add(createTask("high", Priority.HIGH, DUE_DATE));
+        NextTaskQueue queue = new NextTaskQueue(model);
+
+        assertEquals(List.of("high", "high later", "high no date", "normal"), 
+                titles(queue.peek(10)));
+        assertEquals(List.of("high", "high later"), titles(queue.peek(2)));
+    }
+
+    @Test
+    public void followsChanges() {
+        TaskModel model = new TaskModel();
+        NextTaskQueue queue = new NextTaskQueue(model);
+        Task low = createTask("low", Priority.LOW, DUE_DATE);
+        Task normal = createTask("normal", Priority.NORMAL, DUE_DATE);
+        model.add(low);
+        model.add(normal);
+        List<Task> view = queue.topView(1);
+        assertEquals(List.of("normal"), titles(view));
+
+        low.setPriority(Priority.HIGH);
+        assertEquals(List.of("low"), titles(view));
+
+        low.setIsCompleted(true);
+        assertEquals(List.of("normal"), titles(view));
+
+        model.remove(normal);
+        assertNull(queue.peek());
+        assertEquals(List.of(), titles(view));
+    }
+
+    @Test
+    public void matchesSort() {
+        TaskModel model = new TaskModel();
+        NextTaskQueue queue = new NextTaskQueue(model);
+        Random random = new Random(0);
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 0; i < 2000; i++) {
+            Task task = createTask("t" + i, Priority.values()[random.nextInt(3)], 
+                    DUE_DATE.plusDays(random.nextInt(30)));
+            model.add(task);
+            tasks.add(task);
+        }
+        for (int i = 0; i < 2000; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            int change = random.nextInt(4);
+            if (change == 0) {
+                task.setDueDate(DUE_DATE.plusDays(random.nextInt(30)));
+            } else if (change == 1) {
+                task.setPriority(Priority.values()[random.nextInt(3)]);
+            } else if (change == 2) {
+                task.setIsCompleted(!task.getIsCompleted());
+            } else {
+                model.remove(task);
+                tasks.remove(task);
+            }
+        }
+
+        List<Task> expected = new ArrayList<Task>();
+        for (Task task : tasks) {
+            if (!task.getIsCompleted()) {
+                expected.add(task);
+            }
+        }
+        expected.sort(NextTaskQueue.ORDER);
+
+        assertEquals(expected.size(), queue.size());
+        assertEquals(expected.subList(0, 50), queue.peek(50));
+    }
+}
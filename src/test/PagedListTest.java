@@ -0,0 +1,193 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.collections.ListChangeListener;
+import main.PageSource;
+import main.PagedList;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code PagedList} class.
+ */
+public class PagedListTest {
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 3;
+
+    /**
+     * The ints from 0, recording each fetch.
+     */
+    private static final class IntSource implements PageSource<Integer> {
+        private final int size;
+        private final List<Integer> fetchedFroms = new ArrayList<Integer>();
+
+        private IntSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<Integer> fetch(int from, int to) {
+            fetchedFroms.add(from);
+            List<Integer> page = new ArrayList<Integer>();
+            for (int i = from; i < to; i++) {
+                page.add(i);
+            }
+            return page;
+        }
+    }
+
+    /**
+     * The ints from 0, each with state made when fetched and dropped when released, as the
+     * table's rows have cell text.
+     */
+    private static final class StatefulSource implements PageSource<Integer> {
+        private final int size;
+        private final Set<Integer> rowState = new HashSet<Integer>();
+        private int releasedCount;
+
+        private StatefulSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<Integer> fetch(int from, int to) {
+            List<Integer> page = new ArrayList<Integer>();
+            for (int i = from; i < to; i++) {
+                page.add(i);
+                rowState.add(i);
+            }
+            return page;
+        }
+
+        @Override
+        public void release(List<Integer> page) {
+            releasedCount += page.size();
+            rowState.removeAll(page);
+        }
+    }
+
+    @Test
+    public void getFetchesPagesOnDemand() {
+        IntSource source = new IntSource(1_000_000);
+        PagedList<Integer> list = new PagedList<Integer>(source, PAGE_SIZE, MAX_PAGES);
+
+        assertEquals(1_000_000, list.size());
+        assertEquals(0, source.fetchedFroms.size());
+        assertEquals(Integer.valueOf(123_456), list.get(123_456));
+        assertEquals(List.of(123_450), source.fetchedFroms);
+
+        // same page, no fetch
+        assertEquals(Integer.valueOf(123_459), list.get(123_459));
+        assertEquals(1, source.fetchedFroms.size());
+    }
+
+    @Test
+    public void prefetchesInScrollDirection() {
+        IntSource source = new IntSource(100);
+        PagedList<Integer> list = new PagedList<Integer>(source, PAGE_SIZE, MAX_PAGES);
+
+        list.get(0);
+        list.get(10);
+        // entering page 1 going down fetched page 2 too
+        assertEquals(List.of(0, 10, 20), source.fetchedFroms);
+        list.get(25);
+        assertEquals(List.of(0, 10, 20, 30), source.fetchedFroms);
+
+        list.get(95);
+        list.get(85);
+        // going up fetches page 7
+        assertEquals(List.of(0, 10, 20, 30, 90, 80, 70), source.fetchedFroms);
+    }
+
+    @Test
+    public void evictsLeastRecentlyReadPages() {
+        IntSource source = new IntSource(1000);
+        PagedList<Integer> list = new PagedList<Integer>(source, PAGE_SIZE, MAX_PAGES);
+
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(Integer.valueOf(i), list.get(i));
+            assertTrue(list.getPageCount() <= MAX_PAGES);
+        }
+        // each page fetched once scrolling through
+        assertEquals(100, source.fetchedFroms.size());
+
+        list.get(0);
+        assertEquals(101, source.fetchedFroms.size());
+    }
+
+    @Test
+    public void releasesRowStateOfDroppedPages() {
+        StatefulSource source = new StatefulSource(100_000);
+        PagedList<Integer> list = new PagedList<Integer>(source, PAGE_SIZE, MAX_PAGES);
+
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i);
+            assertTrue(source.rowState.size() <= PAGE_SIZE * MAX_PAGES);
+        }
+        // only the rows of the kept pages have state
+        assertEquals(PAGE_SIZE * list.getPageCount(), source.rowState.size());
+
+        StatefulSource newSource = new StatefulSource(100_000);
+        list.setSource(newSource);
+        assertEquals(0, source.rowState.size());
+
+        // pages of the new source are released to it, the old one gets nothing more
+        int releasedCount = source.releasedCount;
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i);
+            assertTrue(newSource.rowState.size() <= PAGE_SIZE * MAX_PAGES);
+        }
+        assertEquals(PAGE_SIZE * list.getPageCount(), newSource.rowState.size());
+        assertEquals(releasedCount, source.releasedCount);
+    }
+
+    @Test
+    public void setSourceReplacesEveryElement() {
+        PagedList<Integer> list = new PagedList<Integer>(new IntSource(50), PAGE_SIZE, MAX_PAGES);
+        list.get(5);
+
+        List<String> changes = new ArrayList<String>();
+        list.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                changes.add(change.getFrom() + ":-" + change.getRemovedSize() 
+                        + "+" + change.getAddedSize());
+            }
+        });
+
+        IntSource source = new IntSource(20);
+        list.setSource(source);
+        assertEquals(List.of("0:-50+20"), changes);
+        assertEquals(20, list.size());
+        assertEquals(0, list.getPageCount());
+        assertEquals(0, source.fetchedFroms.size());
+    }
+
+    @Test
+    public void indexOfUsesSource() {
+        PagedList<Integer> list = new PagedList<Integer>(new IntSource(1000), PAGE_SIZE, 
+                MAX_PAGES);
+        assertEquals(777, list.indexOf(777));
+        assertEquals(-1, list.indexOf(1000));
+        assertTrue(list.contains(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfRange() {
+        new PagedList<Integer>(new IntSource(5), PAGE_SIZE, MAX_PAGES).get(5);
+    }
+}
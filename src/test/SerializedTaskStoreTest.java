@@ -0,0 +1,75 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import main.SerializedTaskStore;
+import main.Task;
+import main.TaskManager.TaskUI;
+import main.TaskModel;
+import main.TaskRecord;
+import main.TaskStore;
+import org.junit.Test;
+
+/**
+ * Runs the {@code TaskStoreTestKit} against the {@code SerializedTaskStore} class, plus unit
+ * tests of the save file format.
+ */
+public class SerializedTaskStoreTest extends TaskStoreTestKit {
+    private static final String FILENAME = "Tasks.ser";
+
+    @Override
+    protected TaskStore open(Path directory) {
+        return new SerializedTaskStore(directory.resolve(FILENAME));
+    }
+
+    @Override
+    protected void interruptFlush(Path directory) throws IOException {
+        // the temporary file a flush writes then renames, cut off
+        byte[] bytes = Files.readAllBytes(directory.resolve(FILENAME));
+        Files.write(directory.resolve(FILENAME + ".tmp"),
+                Arrays.copyOf(bytes, bytes.length / 2));
+    }
+
+    @Test
+    public void readsFilesWithoutIds() throws IOException {
+        Path file = folder.getRoot().toPath().resolve(FILENAME);
+        List<TaskUI> tasks = List.of(new TaskUI("first", "description", null, false),
+                new TaskUI("second", "description", null, true));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            SerializedTaskStore.write(tasks, out);
+        }
+
+        List<Long> ids = new ArrayList<Long>();
+        new SerializedTaskStore(file).forEach(record -> ids.add(record.getId()));
+
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    public void writesTheSaveFileFormat() throws IOException, ClassNotFoundException {
+        Path file = folder.getRoot().toPath().resolve(FILENAME);
+        TaskModel model = new TaskModel();
+        Task task = new Task("title", "description", null, false);
+        model.add(task);
+
+        TaskStore store = new SerializedTaskStore(file);
+        store.apply(List.of(TaskStore.Mutation.put(TaskRecord.of(task))));
+        store.close();
+
+        // read as every version of the application reads it
+        try (InputStream in = Files.newInputStream(file)) {
+            List<TaskUI> read = SerializedTaskStore.read(in);
+            assertEquals(1, read.size());
+            assertEquals(task.getId(), read.get(0).getId());
+            assertEquals("title", read.get(0).getTitle());
+        }
+    }
+}
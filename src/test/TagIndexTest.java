@@ -0,0 +1,98 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import main.TagIndex;
+import main.Task;
+import main.TaskModel;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TagIndex} class.
+ */
+public class TagIndexTest {
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate DUE_DATE = LocalDate.now();
+
+    private static Task createTask(String title, boolean isCompleted, String... tags) {
+        Task task = new Task(title, DESCRIPTION, DUE_DATE, isCompleted);
+        task.setTags(List.of(tags));
+        return task;
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        List<String> titles = new ArrayList<String>();
+        for (Task task : tasks) {
+            titles.add(task.getTitle());
+        }
+        return titles;
+    }
+
+    @Test
+    public void allOfNoneOfNotCompleted() {
+        TaskModel model = new TaskModel();
+        model.add(createTask("a", false, "work", "urgent"));
+        model.add(createTask("b", false, "work"));
+        model.add(createTask("c", true, "work", "urgent"));
+        model.add(createTask("d", false, "work", "urgent", "home"));
+        TagIndex index = new TagIndex(model);
+
+        List<Task> found = index.find(List.of("Work ", "urgent"), List.of("home"), false);
+
+        assertEquals(List.of("a"), titles(found));
+    }
+
+    @Test
+    public void noneOfOnly() {
+        TaskModel model = new TaskModel();
+        TagIndex index = new TagIndex(model);
+        model.add(createTask("a", false, "work"));
+        model.add(createTask("b", false));
+
+        assertEquals(List.of("b"), titles(index.find(List.of(), List.of("work"), null)));
+    }
+
+    @Test
+    public void followsChanges() {
+        TaskModel model = new TaskModel();
+        TagIndex index = new TagIndex(model);
+        Task task = createTask("a", false, "work");
+        model.add(task);
+
+        task.setTags(List.of("home"));
+        assertEquals(0, index.count("work"));
+        assertEquals(1, index.count("home"));
+
+        task.setIsCompleted(true);
+        assertEquals(0, index.find(List.of("home"), List.of(), false).size());
+
+        model.remove(task);
+        assertEquals(0, index.count("home"));
+    }
+
+    @Test
+    public void denseTags() {
+        TaskModel model = new TaskModel();
+        TagIndex index = new TagIndex(model);
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 0; i < 100_000; i++) {
+            Task task = i % 3 == 0 ? createTask("t" + i, false, "three", "all") 
+                    : createTask("t" + i, i % 2 == 0, "all");
+            tasks.add(task);
+        }
+        model.addAll(tasks);
+
+        assertEquals(33_334, index.find(List.of("all", "three"), List.of(), null).size());
+        assertEquals(66_666, index.find(List.of("all"), List.of("three"), null).size());
+        assertEquals(33_333, index.find(List.of("all"), List.of("three"), false).size());
+
+        for (int i = 0; i < 100_000; i += 3) {
+            model.remove(tasks.get(i));
+        }
+        assertEquals(0, index.count("three"));
+        assertEquals(66_666, index.count("all"));
+    }
+}
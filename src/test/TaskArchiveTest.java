@@ -0,0 +1,157 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import main.Task;
+import main.TaskArchive;
+import main.TaskModel;
+import main.TaskRecord;
+import main.TaskTree;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the {@code TaskArchive} class.
+ */
+public class TaskArchiveTest {
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void archivesOldCompletedTasks() throws IOException, ClassNotFoundException {
+        Path directory = folder.getRoot().toPath().resolve("archive");
+        TaskModel model = new TaskModel();
+        Task open = new Task(TITLE, DESCRIPTION, null, false);
+        Task completed = new Task(TITLE, DESCRIPTION, null, true);
+        model.add(open);
+        model.add(completed);
+
+        TaskArchive archive = new TaskArchive(directory);
+        List<TaskRecord> archived = archive.archive(model.snapshot(), TODAY);
+
+        assertEquals(1, archived.size());
+        assertEquals(completed.getId(), archived.get(0).getId());
+        assertEquals(TODAY, archived.get(0).getCompletedOn());
+
+        TaskArchive reopened = new TaskArchive(directory);
+        assertEquals(1, reopened.size());
+        assertEquals(1, reopened.getSegmentCount());
+        assertEquals(completed.getId(), reopened.getMaxId());
+        assertEquals(completed.getId(),
+                reopened.search(null, null, record -> true, 10).get(0).getId());
+    }
+
+    @Test
+    public void keepsRecentlyCompletedTasks() throws IOException, ClassNotFoundException {
+        Path directory = folder.getRoot().toPath().resolve("archive");
+        TaskModel model = new TaskModel();
+        model.add(new Task(TITLE, DESCRIPTION, null, true));
+
+        TaskArchive archive = new TaskArchive(directory);
+
+        assertEquals(List.of(), archive.archive(model.snapshot(), TODAY.minusDays(1)));
+        assertEquals(0, archive.size());
+        assertFalse(Files.exists(directory));
+    }
+
+    @Test
+    public void keepsParentsOfActiveSubtasks() {
+        TaskModel model = new TaskModel();
+        TaskTree tree = new TaskTree(model);
+        Task parent = new Task(TITLE, DESCRIPTION, null, true);
+        Task child = new Task(TITLE, DESCRIPTION, null, true);
+        Task grandchild = new Task(TITLE, DESCRIPTION, null, false);
+        Task other = new Task(TITLE, DESCRIPTION, null, true);
+        Task otherChild = new Task(TITLE, DESCRIPTION, null, true);
+        model.add(parent);
+        model.add(child);
+        model.add(grandchild);
+        model.add(other);
+        model.add(otherChild);
+        tree.setParent(child, parent);
+        tree.setParent(grandchild, child);
+        tree.setParent(otherChild, other);
+
+        List<TaskRecord> selected = TaskArchive.select(model.snapshot(), TODAY);
+
+        assertEquals(2, selected.size());
+        assertEquals(other.getId(), selected.get(0).getId());
+        assertEquals(otherChild.getId(), selected.get(1).getId());
+    }
+
+    @Test
+    public void pendingUntilCommit() throws IOException, ClassNotFoundException {
+        Path directory = folder.getRoot().toPath();
+        TaskModel model = new TaskModel();
+        Task completed = new Task(TITLE, DESCRIPTION, null, true);
+        model.add(completed);
+
+        TaskArchive archive = new TaskArchive(directory);
+        archive.archive(model.snapshot(), TODAY);
+        assertEquals(Set.of(completed.getId()), archive.getPendingIds());
+        assertEquals(Set.of(completed.getId()), new TaskArchive(directory).getPendingIds());
+
+        archive.commit();
+        assertEquals(Set.of(), archive.getPendingIds());
+        assertEquals(Set.of(), new TaskArchive(directory).getPendingIds());
+        assertEquals(1, new TaskArchive(directory).size());
+    }
+
+    @Test
+    public void deletesUnindexedSegments() throws IOException, ClassNotFoundException {
+        Path directory = folder.getRoot().toPath();
+        TaskModel model = new TaskModel();
+        model.add(new Task(TITLE, DESCRIPTION, null, true));
+        new TaskArchive(directory).archive(model.snapshot(), TODAY);
+        Path orphan = Files.createFile(directory.resolve("segment-999999.gz"));
+
+        TaskArchive reopened = new TaskArchive(directory);
+
+        assertFalse(Files.exists(orphan));
+        assertEquals(1, reopened.size());
+    }
+
+    @Test
+    public void searchSkipsSegmentsOutsideDates() throws IOException, ClassNotFoundException {
+        Path directory = folder.getRoot().toPath();
+        TaskModel model = new TaskModel();
+        model.add(new Task(TITLE, DESCRIPTION, null, true));
+        model.add(new Task("other", DESCRIPTION, null, true));
+        TaskArchive archive = new TaskArchive(directory);
+        archive.archive(model.snapshot(), TODAY);
+
+        assertEquals(2, archive.search(TODAY, TODAY, record -> true, 10).size());
+        assertEquals(1, archive.search(null, null,
+                record -> record.getTitle().equals("other"), 10).size());
+        assertEquals(1, archive.search(null, null, record -> true, 1).size());
+        assertEquals(0, archive.search(TODAY.plusDays(1), null, record -> true, 10).size());
+    }
+
+    @Test
+    public void splitsLargeArchives() throws IOException, ClassNotFoundException {
+        Path directory = folder.getRoot().toPath();
+        TaskModel model = new TaskModel();
+        for (int i = 0; i <= TaskArchive.MAX_SEGMENT_SIZE; i++) {
+            model.add(new Task(TITLE, DESCRIPTION, null, true));
+        }
+
+        TaskArchive archive = new TaskArchive(directory);
+        archive.archive(model.snapshot(), TODAY);
+
+        assertEquals(2, archive.getSegmentCount());
+        assertEquals(TaskArchive.MAX_SEGMENT_SIZE + 1, archive.size());
+        assertEquals(TaskArchive.MAX_SEGMENT_SIZE + 1, archive.getPendingIds().size());
+    }
+}
@@ -0,0 +1,264 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import main.Task;
+import main.TaskChange;
+import main.TaskChangeFeed;
+import main.TaskField;
+import main.TaskModel;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskChangeFeed} class.
+ */
+public class TaskChangeFeedTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private final Queue<Runnable> pending = new ArrayDeque<Runnable>();
+
+    @Test
+    public void publishesTypedChanges() {
+        TaskModel model = new TaskModel();
+        TaskChangeFeed feed = new TaskChangeFeed(model, pending::add);
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        feed.subscribe(recorder);
+
+        Task task = new Task("title", "description", TODAY, false);
+        model.add(task);
+        task.setTitle("changed");
+        task.setIsCompleted(true);
+        task.setIsCompleted(false);
+        model.remove(task);
+        runPending();
+
+        assertEquals(List.of("CREATED 1 at 1", "UPDATED 1 TITLE at 2",
+                "COMPLETED 1 IS_COMPLETED at 3", "UPDATED 1 IS_COMPLETED at 4",
+                "DELETED 1 at 5"), recorder.describe());
+        assertEquals("changed", recorder.changes().get(1).getRecord().getTitle());
+        assertEquals(model.getVersion(), recorder.changes().get(4).getVersion());
+    }
+
+    @Test
+    public void batchesUpToDemand() {
+        TaskModel model = new TaskModel();
+        TaskChangeFeed feed = new TaskChangeFeed(model, pending::add);
+        Recorder recorder = new Recorder(2);
+        feed.subscribe(recorder, 100, 3, TaskChangeFeed.OverflowPolicy.FAIL);
+
+        for (int i = 0; i < 10; i++) {
+            model.add(new Task("task " + i, "description", null, false));
+        }
+        runPending();
+
+        // two batches requested, the rest waits
+        assertEquals(2, recorder.batches.size());
+        assertEquals(3, recorder.batches.get(0).size());
+        assertEquals(3, recorder.batches.get(1).size());
+
+        recorder.subscription.request(10);
+        runPending();
+        assertEquals(List.of(3, 3, 3, 1), sizes(recorder.batches));
+        assertEquals(10, recorder.changes().size());
+    }
+
+    @Test
+    public void dropsOldest() {
+        Recorder recorder = overflow(TaskChangeFeed.OverflowPolicy.DROP_OLDEST);
+
+        // versions skip where changes were dropped
+        assertEquals(List.of(6L, 7L, 8L, 9L, 10L), versions(recorder.changes()));
+        assertNull(recorder.error);
+    }
+
+    @Test
+    public void dropsNewest() {
+        Recorder recorder = overflow(TaskChangeFeed.OverflowPolicy.DROP_NEWEST);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), versions(recorder.changes()));
+        assertNull(recorder.error);
+    }
+
+    @Test
+    public void failsAfterBufferedChanges() {
+        Recorder recorder = overflow(TaskChangeFeed.OverflowPolicy.FAIL);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), versions(recorder.changes()));
+        assertTrue(recorder.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void cancelStopsChanges() {
+        TaskModel model = new TaskModel();
+        TaskChangeFeed feed = new TaskChangeFeed(model, pending::add);
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        feed.subscribe(recorder);
+        model.add(new Task("first", "description", null, false));
+
+        recorder.subscription.cancel();
+        model.add(new Task("second", "description", null, false));
+        runPending();
+
+        assertEquals(0, recorder.changes().size());
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    public void closeCompletesAfterBufferedChanges() {
+        TaskModel model = new TaskModel();
+        TaskChangeFeed feed = new TaskChangeFeed(model, pending::add);
+        Recorder recorder = new Recorder(0);
+        feed.subscribe(recorder);
+        model.add(new Task("first", "description", null, false));
+
+        feed.close();
+        model.add(new Task("second", "description", null, false));
+        runPending();
+        assertFalse(recorder.isCompleted);
+
+        recorder.subscription.request(1);
+        runPending();
+        assertEquals(1, recorder.changes().size());
+        assertTrue(recorder.isCompleted);
+    }
+
+    @Test
+    public void blockedSubscriberNeverStallsEdits() throws InterruptedException {
+        TaskModel model = new TaskModel();
+        TaskChangeFeed feed = new TaskChangeFeed(model);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<TaskChange> received = new ArrayList<TaskChange>();
+        feed.subscribe(new Recorder(Long.MAX_VALUE) {
+            @Override
+            public void onNext(List<TaskChange> changes) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.addAll(changes);
+                if (received.get(received.size() - 1).getVersion() == 20000) {
+                    done.countDown();
+                }
+            }
+        }, 100, 10, TaskChangeFeed.OverflowPolicy.DROP_OLDEST);
+
+        Task task = new Task("title", "description", null, false);
+        model.add(task);
+        for (int i = 1; i < 20000; i++) {
+            task.setTitle("title " + i);
+        }
+        release.countDown();
+
+        // every edit went through while the subscriber was blocked, it gets the latest
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(received.size() <= 110);
+        assertEquals(TaskField.TITLE, received.get(received.size() - 1).getField());
+    }
+
+    /**
+     * Publishes 10 changes to a subscriber with a buffer of 5 requesting nothing, then requests
+     * everything.
+     */
+    private Recorder overflow(TaskChangeFeed.OverflowPolicy policy) {
+        TaskModel model = new TaskModel();
+        TaskChangeFeed feed = new TaskChangeFeed(model, pending::add);
+        Recorder recorder = new Recorder(0);
+        feed.subscribe(recorder, 5, 2, policy);
+
+        for (int i = 0; i < 10; i++) {
+            model.add(new Task("task " + i, "description", null, false));
+        }
+        recorder.subscription.request(Long.MAX_VALUE);
+        runPending();
+        return recorder;
+    }
+
+    private void runPending() {
+        while (!pending.isEmpty()) {
+            pending.poll().run();
+        }
+    }
+
+    private static List<Integer> sizes(List<List<TaskChange>> batches) {
+        List<Integer> sizes = new ArrayList<Integer>();
+        for (List<TaskChange> batch : batches) {
+            sizes.add(batch.size());
+        }
+        return sizes;
+    }
+
+    private static List<Long> versions(List<TaskChange> changes) {
+        List<Long> versions = new ArrayList<Long>();
+        for (TaskChange change : changes) {
+            versions.add(change.getVersion());
+        }
+        return versions;
+    }
+
+    /**
+     * Records what it is signalled, requesting the specified number of batches on subscribe.
+     */
+    private static class Recorder implements Flow.Subscriber<List<TaskChange>> {
+        private final long initialRequest;
+        private final List<List<TaskChange>> batches = new ArrayList<List<TaskChange>>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean isCompleted;
+
+        private Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(List<TaskChange> changes) {
+            batches.add(changes);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            isCompleted = true;
+        }
+
+        private List<TaskChange> changes() {
+            List<TaskChange> changes = new ArrayList<TaskChange>();
+            for (List<TaskChange> batch : batches) {
+                changes.addAll(batch);
+            }
+            return changes;
+        }
+
+        private List<String> describe() {
+            List<String> descriptions = new ArrayList<String>();
+            for (TaskChange change : changes()) {
+                descriptions.add(change.toString());
+            }
+            return descriptions;
+        }
+    }
+}
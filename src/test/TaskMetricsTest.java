@@ -0,0 +1,85 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import main.TaskMetrics;
+import main.TaskMetrics.Latency;
+import main.TaskMetrics.Operation;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskMetrics} class.
+ */
+public class TaskMetricsTest {
+    @Test
+    public void recordCountsPerOperation() {
+        TaskMetrics metrics = new TaskMetrics(() -> 0);
+        metrics.record(Operation.SORT, TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.record(Operation.SORT, TimeUnit.MILLISECONDS.toNanos(4));
+        metrics.record(Operation.EDIT, 500);
+
+        Latency sort = metrics.getSortLatency();
+        assertEquals(2, sort.getCount());
+        assertEquals(3.0, sort.getMeanMillis(), 1e-9);
+        assertEquals(4.0, sort.getMaxMillis(), 1e-9);
+        assertEquals(1, metrics.getEditLatency().getCount());
+        assertEquals(0, metrics.getLoadLatency().getCount());
+    }
+
+    @Test
+    public void histogramBuckets() {
+        TaskMetrics metrics = new TaskMetrics(() -> 0);
+        // bucket i holds latencies up to 2^i microseconds
+        metrics.record(Operation.DELETE, 1_000);
+        metrics.record(Operation.DELETE, 1_001);
+        metrics.record(Operation.DELETE, 4_000);
+        metrics.record(Operation.DELETE, TimeUnit.HOURS.toNanos(1));
+
+        long[] histogram = metrics.getDeleteLatency().getHistogram();
+        long[] bounds = metrics.getHistogramBoundsMicros();
+        assertEquals(bounds.length + 1, histogram.length);
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[1]);
+        assertEquals(1, histogram[2]);
+        assertEquals(1, histogram[histogram.length - 1]);
+        assertEquals(4, bounds[2]);
+    }
+
+    @Test
+    public void resetClears() {
+        TaskMetrics metrics = new TaskMetrics(() -> 0);
+        metrics.record(Operation.SAVE, 10_000);
+        metrics.reset();
+
+        Latency save = metrics.getSaveLatency();
+        assertEquals(0, save.getCount());
+        assertArrayEquals(new long[save.getHistogram().length], save.getHistogram());
+    }
+
+    @Test
+    public void readableThroughJmx() throws Exception {
+        int[] taskCount = {3};
+        TaskMetrics metrics = new TaskMetrics(() -> taskCount[0]);
+        metrics.setFileSize(1234);
+        metrics.record(Operation.LOAD, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.register();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(TaskMetrics.OBJECT_NAME);
+        taskCount[0] = 4;
+        assertEquals(4, server.getAttribute(name, "TaskCount"));
+        assertEquals(1234L, server.getAttribute(name, "FileSize"));
+
+        CompositeData load = (CompositeData) server.getAttribute(name, "LoadLatency");
+        assertEquals(1L, load.get("count"));
+        assertEquals(5.0, (Double) load.get("maxMillis"), 1e-9);
+
+        server.unregisterMBean(name);
+    }
+}
@@ -0,0 +1,166 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import main.DueDateIndex;
+import main.TagIndex;
+import main.Task;
+import main.TaskModel;
+import main.TaskQuery;
+import main.TaskQueryPlanner;
+import main.TaskRecord;
+import main.TextIndex;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskQueryPlanner} class.
+ */
+public class TaskQueryPlannerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final String[] WORDS = {"review", "report", "write", "plan", "call", "fix"};
+    private static final String[] QUERIES = {
+        "",
+        "due < today",
+        "due >= today-30 and due <= today",
+        "due < today and not completed",
+        "due = none",
+        "due != none and completed",
+        "completed",
+        "title:rep",
+        "title:\"write rep\" and due > today",
+        "description:fix or tag:work",
+        "tag:work and tag != home",
+        "not title:plan",
+        "priority = high and due < today+10",
+        "completed and not completed",
+        "(due < today-100 or due > today+100) and not completed",
+    };
+
+    @Test
+    public void choosesNarrowestPath() {
+        TaskModel model = createModel(2000);
+        TaskQueryPlanner planner = createPlanner(model);
+
+        TaskQueryPlanner.Plan plan = planner.plan(parse("due = today and not completed"));
+        assertFalse(plan.isScan());
+        assertTrue(plan.explain(), plan.explain().startsWith(
+                "due 2026-10-19..2026-10-19 not completed"));
+
+        plan = planner.plan(parse("completed and title:nothing"));
+        assertFalse(plan.isScan());
+        assertEquals(0, plan.getEstimate());
+        assertTrue(plan.explain(), plan.explain().startsWith("title words [nothing]"));
+
+        assertTrue(planner.plan(parse("not title:plan")).isScan());
+        assertTrue(planner.plan(parse("priority = high or completed")).isScan());
+        assertTrue(planner.plan(parse("")).isScan());
+    }
+
+    @Test
+    public void matchesScan() {
+        TaskModel model = createModel(3000);
+        TaskQueryPlanner planner = createPlanner(model);
+
+        for (String text : QUERIES) {
+            TaskQuery query = parse(text);
+            List<TaskRecord> expected = new ArrayList<TaskRecord>();
+            for (TaskRecord record : model.snapshot()) {
+                if (query.test(record)) {
+                    expected.add(record);
+                }
+            }
+
+            TaskQueryPlanner.Plan plan = planner.plan(query);
+            assertEquals(text, ids(expected), ids(plan.execute()));
+
+            Predicate<TaskRecord> filter = plan.filter();
+            List<TaskRecord> filtered = new ArrayList<TaskRecord>();
+            for (TaskRecord record : model.snapshot()) {
+                if (filter.test(record)) {
+                    filtered.add(record);
+                }
+            }
+            assertEquals(text, ids(expected), ids(filtered));
+        }
+    }
+
+    @Test
+    public void followsChanges() {
+        TaskModel model = new TaskModel();
+        TaskQueryPlanner planner = createPlanner(model);
+        Task task = new Task("plan the week", "description", TODAY, false);
+        model.add(task);
+        model.add(new Task("other", "description", TODAY.plusDays(5), false));
+        TaskQuery query = parse("title:report and due = today");
+
+        assertEquals(0, planner.plan(query).execute().size());
+
+        task.setTitle("weekly report");
+        assertEquals(1, planner.plan(query).execute().size());
+
+        task.setDueDate(TODAY.plusDays(1));
+        assertEquals(0, planner.plan(query).execute().size());
+    }
+
+    @Test
+    public void ordersAndLimits() {
+        TaskModel model = new TaskModel();
+        TaskQueryPlanner planner = createPlanner(model);
+        for (int i = 0; i < 10; i++) {
+            model.add(new Task("task " + i, "description", TODAY.plusDays(i % 5), false));
+        }
+
+        List<TaskRecord> records = planner.plan(parse("due > today order by due desc limit 3"))
+                .execute();
+
+        assertEquals(3, records.size());
+        assertEquals(TODAY.plusDays(4), records.get(0).getDueDate());
+        assertEquals(TODAY.plusDays(4), records.get(1).getDueDate());
+        assertEquals(TODAY.plusDays(3), records.get(2).getDueDate());
+
+        records = planner.plan(parse("limit 2")).execute();
+        assertEquals(List.of(1L, 2L), ids(records));
+    }
+
+    private static TaskQuery parse(String text) {
+        return TaskQuery.parse(text, TODAY);
+    }
+
+    private static TaskQueryPlanner createPlanner(TaskModel model) {
+        return new TaskQueryPlanner(model, new DueDateIndex(model), new TagIndex(model),
+                new TextIndex(model));
+    }
+
+    private static TaskModel createModel(int size) {
+        TaskModel model = new TaskModel();
+        Random random = new Random(40);
+        for (int i = 0; i < size; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)];
+            LocalDate dueDate = random.nextInt(5) == 0 ? null
+                    : TODAY.plusDays(random.nextInt(300) - 150);
+            Task task = new Task(title, WORDS[random.nextInt(WORDS.length)], dueDate,
+                    random.nextInt(3) == 0);
+            if (random.nextBoolean()) {
+                task.setTags(List.of(random.nextBoolean() ? "work" : "home"));
+            }
+            model.add(task);
+        }
+        return model;
+    }
+
+    private static List<Long> ids(List<TaskRecord> records) {
+        List<Long> ids = new ArrayList<Long>();
+        for (TaskRecord record : records) {
+            ids.add(record.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,139 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDate;
+import java.util.List;
+import main.Priority;
+import main.Task;
+import main.TaskQuery;
+import main.TaskRecord;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskQuery} class.
+ */
+public class TaskQueryTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    public void empty() {
+        TaskQuery query = TaskQuery.parse("", TODAY);
+
+        assertTrue(query.test(record("title", null, false)));
+        assertEquals(List.of(), query.getSortKeys());
+        assertEquals(-1, query.getLimit());
+    }
+
+    @Test
+    public void dueComparisons() {
+        TaskRecord dueToday = record("title", TODAY, false);
+        TaskRecord noDueDate = record("title", null, false);
+
+        assertTrue(TaskQuery.parse("due = today", TODAY).test(dueToday));
+        assertTrue(TaskQuery.parse("due = 2026-10-19", TODAY).test(dueToday));
+        assertTrue(TaskQuery.parse("due = 10/19/2026", TODAY).test(dueToday));
+        assertTrue(TaskQuery.parse("due < today+1", TODAY).test(dueToday));
+        assertFalse(TaskQuery.parse("due < today", TODAY).test(dueToday));
+        assertTrue(TaskQuery.parse("due >= today-3", TODAY).test(dueToday));
+        assertFalse(TaskQuery.parse("due > today", TODAY).test(dueToday));
+        assertFalse(TaskQuery.parse("due != today", TODAY).test(dueToday));
+
+        assertFalse(TaskQuery.parse("due < today", TODAY).test(noDueDate));
+        assertTrue(TaskQuery.parse("due != today", TODAY).test(noDueDate));
+        assertTrue(TaskQuery.parse("due = none", TODAY).test(noDueDate));
+        assertFalse(TaskQuery.parse("due != none", TODAY).test(noDueDate));
+        assertTrue(TaskQuery.parse("due != none", TODAY).test(dueToday));
+    }
+
+    @Test
+    public void words() {
+        TaskRecord record = record("Write the weekly report", null, false);
+
+        assertTrue(TaskQuery.parse("title:report", TODAY).test(record));
+        assertTrue(TaskQuery.parse("TITLE:REP", TODAY).test(record));
+        assertTrue(TaskQuery.parse("title:\"weekly rep\"", TODAY).test(record));
+        assertFalse(TaskQuery.parse("title:port", TODAY).test(record));
+        assertFalse(TaskQuery.parse("title:\"monthly report\"", TODAY).test(record));
+        assertFalse(TaskQuery.parse("description:report", TODAY).test(record));
+    }
+
+    @Test
+    public void tagsPriorityAndCompletion() {
+        Task task = new Task("title", "description", null, true);
+        task.setTags(List.of("Work"));
+        task.setPriority(Priority.HIGH);
+        TaskRecord record = TaskRecord.of(task);
+
+        assertTrue(TaskQuery.parse("tag:work", TODAY).test(record));
+        assertTrue(TaskQuery.parse("tag = WORK", TODAY).test(record));
+        assertFalse(TaskQuery.parse("tag != work", TODAY).test(record));
+        assertTrue(TaskQuery.parse("priority = high", TODAY).test(record));
+        assertFalse(TaskQuery.parse("priority != high", TODAY).test(record));
+        assertTrue(TaskQuery.parse("completed", TODAY).test(record));
+        assertFalse(TaskQuery.parse("completed = false", TODAY).test(record));
+        assertTrue(TaskQuery.parse("completed != false", TODAY).test(record));
+        assertFalse(TaskQuery.parse("not completed", TODAY).test(record));
+    }
+
+    @Test
+    public void booleanOperators() {
+        TaskRecord record = record("report", TODAY, false);
+
+        assertTrue(TaskQuery.parse("title:report and not completed", TODAY).test(record));
+        assertFalse(TaskQuery.parse("title:report and completed", TODAY).test(record));
+        assertTrue(TaskQuery.parse("completed or title:report", TODAY).test(record));
+        // and before or
+        assertTrue(TaskQuery.parse("completed and due = none or due = today", TODAY)
+                .test(record));
+        assertFalse(TaskQuery.parse("completed and (due = none or due = today)", TODAY)
+                .test(record));
+        assertTrue(TaskQuery.parse("not (completed or due = none)", TODAY).test(record));
+    }
+
+    @Test
+    public void orderByAndLimit() {
+        TaskQuery query = TaskQuery.parse(
+                "due < 2026-11-01 and not completed and title:report order by due desc, "
+                        + "title limit 50", TODAY);
+
+        assertEquals("[DUE_DATE descending, TITLE ascending]", query.getSortKeys().toString());
+        assertEquals(50, query.getLimit());
+        assertTrue(query.test(record("report", TODAY, false)));
+
+        assertEquals(10, TaskQuery.parse("limit 10", TODAY).getLimit());
+        assertEquals(1, TaskQuery.parse("ORDER BY priority", TODAY).getSortKeys().size());
+    }
+
+    @Test
+    public void errors() {
+        assertError("due", "Expected =, !=, <, <=, > or >= at 4");
+        assertError("due < tomorrow", "Expected a date, e.g. 2026-11-01 or today+7 at 7");
+        assertError("size > 3", "Unknown field \"size\" at 1");
+        assertError("title report", "Expected \":\" at 7");
+        assertError("(completed", "Expected \")\" at 11");
+        assertError("completed limit ten", "Expected a number of tasks at 17");
+        assertError("completed order due", "Expected \"by\" at 17");
+        assertError("order by size", "Cannot order by \"size\" at 10");
+        assertError("priority = urgent", "Unknown priority \"urgent\" at 12");
+        assertError("title:\"report", "Unclosed quote at 7");
+        assertError("completed completed", "Unexpected \"completed\" at 11");
+        assertError("due < none", "Only = and != compare to none at 7");
+    }
+
+    private static void assertError(String text, String message) {
+        try {
+            TaskQuery.parse(text, TODAY);
+            fail("parsed: " + text);
+        } catch (IllegalArgumentException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    private static TaskRecord record(String title, LocalDate dueDate, boolean isCompleted) {
+        return TaskRecord.of(new Task(title, "description", dueDate, isCompleted));
+    }
+}
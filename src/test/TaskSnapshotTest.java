@@ -0,0 +1,127 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import main.Task;
+import main.TaskModel;
+import main.TaskRecord;
+import main.TaskSnapshot;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskSnapshot} class, through {@code TaskModel}.
+ */
+public class TaskSnapshotTest {
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate DUE_DATE = LocalDate.now();
+
+    @Test
+    public void snapshotUnchangedByEdits() {
+        TaskModel model = new TaskModel();
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        model.add(task);
+
+        TaskSnapshot snapshot = model.snapshot();
+        task.setTitle("new title");
+        task.setIsCompleted(true);
+
+        TaskRecord record = snapshot.get(task.getId());
+        assertEquals(TITLE, record.getTitle());
+        assertFalse(record.getIsCompleted());
+        assertEquals("new title", model.snapshot().get(task.getId()).getTitle());
+        assertTrue(model.snapshot().get(task.getId()).getIsCompleted());
+    }
+
+    @Test
+    public void snapshotUnchangedByRemove() {
+        TaskModel model = new TaskModel();
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        model.add(task);
+
+        TaskSnapshot snapshot = model.snapshot();
+        model.remove(task);
+
+        assertEquals(1, snapshot.size());
+        assertEquals(0, model.snapshot().size());
+        assertNull(model.snapshot().get(task.getId()));
+    }
+
+    @Test
+    public void versionIncreases() {
+        TaskModel model = new TaskModel();
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        model.add(task);
+        long version = model.snapshot().getVersion();
+
+        task.setDescription("new description");
+
+        assertTrue(model.snapshot().getVersion() > version);
+    }
+
+    @Test
+    public void sameValueIsNotAChange() {
+        TaskModel model = new TaskModel();
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        model.add(task);
+        long version = model.getVersion();
+
+        task.setTitle(TITLE);
+
+        assertEquals(version, model.getVersion());
+    }
+
+    @Test
+    public void idOrder() {
+        TaskModel model = new TaskModel();
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new Task(TITLE + i, DESCRIPTION, DUE_DATE, false));
+        }
+        model.addAll(tasks);
+        for (int i = 0; i < 1000; i += 3) {
+            model.remove(tasks.get(i));
+        }
+        model.add(new Task(TITLE, DESCRIPTION, DUE_DATE, false));
+
+        TaskSnapshot snapshot = model.snapshot();
+        assertEquals(model.size(), snapshot.size());
+
+        long previousId = 0;
+        int index = 0;
+        for (TaskRecord record : snapshot) {
+            assertTrue(record.getId() > previousId);
+            assertEquals(record, snapshot.getAt(index));
+            previousId = record.getId();
+            index++;
+        }
+        assertEquals(snapshot.size(), index);
+    }
+
+    @Test
+    public void addAllKeepsSavedIds() {
+        TaskModel model = new TaskModel();
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        model.add(task);
+        model.remove(task);
+
+        TaskModel reloaded = new TaskModel();
+        reloaded.addAll(List.of(task, new Task(TITLE, DESCRIPTION, null, true)));
+
+        assertEquals(task, reloaded.get(task.getId()));
+        assertEquals(2, reloaded.snapshot().size());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void addToTwoModels() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        new TaskModel().add(task);
+        new TaskModel().add(task);
+    }
+}
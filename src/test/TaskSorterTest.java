@@ -0,0 +1,111 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import main.Task;
+import main.TaskField;
+import main.TaskModel;
+import main.TaskRecord;
+import main.TaskSorter;
+import main.TaskSorter.SortKey;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskSorter} class.
+ */
+public class TaskSorterTest {
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate DUE_DATE = LocalDate.of(2026, 10, 19);
+
+    private static TaskModel createModel() {
+        TaskModel model = new TaskModel();
+        model.add(new Task("b", DESCRIPTION, DUE_DATE, false));
+        model.add(new Task("a", DESCRIPTION, null, true));
+        model.add(new Task("c", DESCRIPTION, DUE_DATE.minusDays(1), false));
+        model.add(new Task("A", DESCRIPTION, DUE_DATE, true));
+        return model;
+    }
+
+    private static List<String> titles(List<TaskRecord> records) {
+        List<String> titles = new ArrayList<String>();
+        for (TaskRecord record : records) {
+            titles.add(record.getTitle());
+        }
+        return titles;
+    }
+
+    @Test
+    public void noSortKeysKeepsIdOrder() {
+        List<TaskRecord> sorted = 
+                TaskSorter.order(createModel().snapshot(), List.of(), record -> true);
+        assertEquals(List.of("b", "a", "c", "A"), titles(sorted));
+    }
+
+    @Test
+    public void dueDateNoDateFirst() {
+        List<TaskRecord> sorted = TaskSorter.order(createModel().snapshot(),
+                List.of(new SortKey(TaskField.DUE_DATE, true)), record -> true);
+        assertEquals(List.of("a", "c", "b", "A"), titles(sorted));
+    }
+
+    @Test
+    public void secondarySortDescending() {
+        List<TaskRecord> sorted = TaskSorter.order(createModel().snapshot(),
+                List.of(new SortKey(TaskField.IS_COMPLETED, true),
+                        new SortKey(TaskField.TITLE, false)), 
+                record -> true);
+        assertEquals(List.of("A", "a", "c", "b"), titles(sorted));
+    }
+
+    @Test
+    public void filter() {
+        List<TaskRecord> sorted = TaskSorter.order(createModel().snapshot(),
+                List.of(new SortKey(TaskField.TITLE, true)), 
+                record -> !record.getIsCompleted());
+        assertEquals(List.of("b", "c"), titles(sorted));
+    }
+
+    @Test
+    public void newRequestDoesNotWaitForCancelledOne() throws InterruptedException {
+        TaskModel model = new TaskModel();
+        for (int i = 0; i < 5000; i++) {
+            model.add(new Task("task " + i, DESCRIPTION, null, false));
+        }
+        TaskSorter sorter = new TaskSorter(Runnable::run);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch sorted = new CountDownLatch(1);
+        AtomicInteger staleResults = new AtomicInteger();
+        AtomicInteger size = new AtomicInteger();
+
+        // 25 seconds of filtering, split across the cores, if it ran to the end
+        sorter.sort(model.snapshot(), List.of(), record -> {
+            started.countDown();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }, records -> staleResults.incrementAndGet());
+        started.await();
+
+        sorter.sort(model.snapshot(), List.of(new SortKey(TaskField.TITLE, true)),
+                record -> true, records -> {
+                    size.set(records.size());
+                    sorted.countDown();
+                });
+
+        // well before the stale filter could have finished
+        assertTrue(sorted.await(10, TimeUnit.SECONDS));
+        assertEquals(5000, size.get());
+        Thread.sleep(100);
+        assertEquals(0, staleResults.get());
+    }
+}
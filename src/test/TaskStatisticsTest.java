@@ -0,0 +1,128 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import main.Task;
+import main.TaskModel;
+import main.TaskStatistics;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskStatistics} class.
+ */
+public class TaskStatisticsTest {
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final Clock CLOCK = 
+            Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+
+    @Test
+    public void countsExistingTasks() {
+        TaskModel model = new TaskModel();
+        model.add(new Task(TITLE, DESCRIPTION, TODAY.minusDays(1), false));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY, true));
+
+        TaskStatistics statistics = new TaskStatistics(model, CLOCK);
+
+        assertEquals(2, statistics.totalProperty().get());
+        assertEquals(1, statistics.completedProperty().get());
+        assertEquals(1, statistics.openProperty().get());
+        assertEquals(1, statistics.overdueProperty().get());
+        assertEquals(0, statistics.dueThisWeekProperty().get());
+    }
+
+    @Test
+    public void addAndRemove() {
+        TaskModel model = new TaskModel();
+        TaskStatistics statistics = new TaskStatistics(model, CLOCK);
+        Task task = new Task(TITLE, DESCRIPTION, TODAY.plusDays(6), false);
+
+        model.add(task);
+        assertEquals(1, statistics.totalProperty().get());
+        assertEquals(1, statistics.dueThisWeekProperty().get());
+
+        model.remove(task);
+        assertEquals(0, statistics.totalProperty().get());
+        assertEquals(0, statistics.openProperty().get());
+        assertEquals(0, statistics.dueThisWeekProperty().get());
+    }
+
+    @Test
+    public void setIsCompleted() {
+        TaskModel model = new TaskModel();
+        TaskStatistics statistics = new TaskStatistics(model, CLOCK);
+        Task task = new Task(TITLE, DESCRIPTION, TODAY.minusDays(3), false);
+        model.add(task);
+
+        task.setIsCompleted(true);
+
+        assertEquals(1, statistics.completedProperty().get());
+        assertEquals(0, statistics.openProperty().get());
+        assertEquals(0, statistics.overdueProperty().get());
+    }
+
+    @Test
+    public void setDueDate() {
+        TaskModel model = new TaskModel();
+        TaskStatistics statistics = new TaskStatistics(model, CLOCK);
+        Task task = new Task(TITLE, DESCRIPTION, null, false);
+        model.add(task);
+
+        task.setDueDate(TODAY);
+        assertEquals(1, statistics.dueThisWeekProperty().get());
+
+        task.setDueDate(TODAY.minusDays(1));
+        assertEquals(0, statistics.dueThisWeekProperty().get());
+        assertEquals(1, statistics.overdueProperty().get());
+    }
+
+    @Test
+    public void changesFireOnlyChangedCounts() {
+        TaskModel model = new TaskModel();
+        TaskStatistics statistics = new TaskStatistics(model, CLOCK);
+        Task task = new Task(TITLE, DESCRIPTION, TODAY.minusDays(3), false);
+        model.add(task);
+        List<String> changes = new ArrayList<String>();
+        statistics.totalProperty().addListener(
+                (observable, oldValue, newValue) -> changes.add("total " + newValue));
+        statistics.overdueProperty().addListener(
+                (observable, oldValue, newValue) -> changes.add("overdue " + newValue));
+        statistics.completedProperty().addListener(
+                (observable, oldValue, newValue) -> changes.add("completed " + newValue));
+
+        // still overdue, still one task
+        task.setDueDate(TODAY.minusDays(1));
+        assertEquals(List.of(), changes);
+
+        task.setIsCompleted(true);
+        assertEquals(List.of("completed 1", "overdue 0"), changes);
+    }
+
+    @Test
+    public void rollover() {
+        TaskModel model = new TaskModel();
+        TaskStatistics statistics = new TaskStatistics(model, CLOCK);
+        model.add(new Task(TITLE, DESCRIPTION, TODAY, false));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY.plusDays(7), false));
+        model.add(new Task(TITLE, DESCRIPTION, TODAY.plusDays(30), false));
+        assertEquals(1, statistics.dueThisWeekProperty().get());
+
+        statistics.rollover(TODAY.plusDays(1));
+        assertEquals(1, statistics.overdueProperty().get());
+        assertEquals(1, statistics.dueThisWeekProperty().get());
+
+        statistics.rollover(TODAY.plusDays(31));
+        assertEquals(3, statistics.overdueProperty().get());
+        assertEquals(0, statistics.dueThisWeekProperty().get());
+
+        statistics.rollover(TODAY);
+        assertEquals(0, statistics.overdueProperty().get());
+        assertEquals(1, statistics.dueThisWeekProperty().get());
+    }
+}
@@ -0,0 +1,281 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import main.Priority;
+import main.Task;
+import main.TaskModel;
+import main.TaskRecord;
+import main.TaskStore;
+import main.TaskStore.Mutation;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Conformance tests of the {@code TaskStore} interface, run against a store by extending this
+ * class: correctness of batches and reads, recovery of an abandoned store as after a crash, and
+ * throughput of a fixed workload, printed for comparison between stores.
+ */
+public abstract class TaskStoreTestKit {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final int THROUGHPUT_TASK_COUNT = 20000;
+    private static final int THROUGHPUT_BATCH_SIZE = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Opens the store of the specified directory, seeing whatever was flushed to it before.
+     *
+     * @param directory the directory of the store's files, empty at first.
+     * @return The store.
+     * @throws IOException if opening fails.
+     */
+    protected abstract TaskStore open(Path directory) throws IOException;
+
+    /**
+     * Leaves in the specified directory what a crash in the middle of a flush would, e.g. a
+     * half written file. Does nothing unless overridden.
+     *
+     * @param directory the directory of the store's files.
+     * @throws IOException if writing fails.
+     */
+    protected void interruptFlush(Path directory) throws IOException {
+        // nothing to leave behind
+    }
+
+    /**
+     * Returns the fewest tasks per second the throughput workload must reach.
+     * @return 1000 unless overridden.
+     */
+    protected double getMinimumThroughput() {
+        return 1000;
+    }
+
+    @Test
+    public void emptyStore() throws IOException {
+        TaskStore store = open(directory());
+
+        assertEquals(0, store.load().size());
+        store.close();
+        assertEquals(0, open(directory()).load().size());
+    }
+
+    @Test
+    public void putsAndReopens() throws IOException {
+        List<TaskRecord> records = createRecords(50, 1);
+        TaskStore store = open(directory());
+
+        store.apply(puts(records));
+        store.close();
+
+        assertSameRecords(records, open(directory()).load());
+    }
+
+    @Test
+    public void putReplacesAndDeleteRemoves() throws IOException {
+        TaskModel model = new TaskModel();
+        Task first = new Task("first", "description", TODAY, false);
+        Task second = new Task("second", "description", null, false);
+        model.add(first);
+        model.add(second);
+        TaskStore store = open(directory());
+        store.apply(List.of(Mutation.put(TaskRecord.of(first)),
+                Mutation.put(TaskRecord.of(second))));
+
+        first.setTitle("changed");
+        first.setIsCompleted(true);
+        store.apply(List.of(Mutation.put(TaskRecord.of(first)),
+                Mutation.delete(second.getId()), Mutation.delete(12345)));
+
+        List<TaskRecord> expected = List.of(TaskRecord.of(first));
+        assertSameRecords(expected, store.load());
+        store.close();
+        assertSameRecords(expected, open(directory()).load());
+    }
+
+    @Test
+    public void appliesBatchInOrder() throws IOException {
+        List<TaskRecord> records = createRecords(2, 2);
+        TaskRecord deleted = records.get(0);
+        TaskRecord kept = records.get(1);
+        TaskStore store = open(directory());
+
+        store.apply(List.of(Mutation.put(deleted), Mutation.delete(deleted.getId()),
+                Mutation.delete(kept.getId()), Mutation.put(kept)));
+
+        assertSameRecords(List.of(kept), store.load());
+    }
+
+    @Test
+    public void readsBeforeFlush() throws IOException {
+        List<TaskRecord> records = createRecords(10, 3);
+        TaskStore store = open(directory());
+
+        store.apply(puts(records));
+
+        assertSameRecords(records, store.load());
+        List<TaskRecord> streamed = new ArrayList<TaskRecord>();
+        store.forEach(streamed::add);
+        assertSameRecords(records, streamed);
+    }
+
+    @Test
+    public void emptyBatch() throws IOException {
+        TaskStore store = open(directory());
+
+        store.apply(List.of());
+        store.flush();
+
+        assertEquals(0, store.load().size());
+    }
+
+    @Test
+    public void keepsFlushedBatchesWhenAbandoned() throws IOException {
+        List<TaskRecord> records = createRecords(300, 4);
+        TaskStore store = open(directory());
+        store.apply(puts(records.subList(0, 100)));
+        store.flush();
+        store.apply(puts(records.subList(100, 200)));
+        store.flush();
+
+        // never flushed nor closed, as if the application crashed
+        store.apply(puts(records.subList(200, 300)));
+
+        List<TaskRecord> recovered = open(directory()).load();
+        assertAllOrNothing(records.subList(0, 200), records.subList(200, 300), recovered);
+    }
+
+    @Test
+    public void recoversFromInterruptedFlush() throws IOException {
+        List<TaskRecord> records = createRecords(300, 5);
+        TaskStore store = open(directory());
+        store.apply(puts(records.subList(0, 100)));
+        store.flush();
+        store.apply(puts(records.subList(100, 200)));
+        interruptFlush(directory());
+
+        TaskStore reopened = open(directory());
+        List<TaskRecord> recovered = reopened.load();
+        assertAllOrNothing(records.subList(0, 100), records.subList(100, 200), recovered);
+
+        // still usable after recovery
+        reopened.apply(puts(records.subList(200, 300)));
+        reopened.close();
+        List<TaskRecord> expected = new ArrayList<TaskRecord>(records.subList(0, 100));
+        expected.addAll(records.subList(200, 300));
+        assertAllOrNothing(expected, records.subList(100, 200), open(directory()).load());
+    }
+
+    @Test
+    public void throughput() throws IOException {
+        List<TaskRecord> records = createRecords(THROUGHPUT_TASK_COUNT, 6);
+        TaskStore store = open(directory());
+
+        long start = System.nanoTime();
+        for (int from = 0; from < records.size(); from += THROUGHPUT_BATCH_SIZE) {
+            store.apply(puts(records.subList(from, from + THROUGHPUT_BATCH_SIZE)));
+        }
+        store.flush();
+        double putRate = rate(records.size(), start);
+
+        // a tenth of the tasks changed, a tenth deleted
+        List<Mutation> mutations = new ArrayList<Mutation>();
+        for (int i = 0; i < records.size(); i += 10) {
+            mutations.add(Mutation.put(records.get(i)));
+            mutations.add(Mutation.delete(records.get(i + 1).getId()));
+        }
+        start = System.nanoTime();
+        store.apply(mutations);
+        store.close();
+        double updateRate = rate(mutations.size(), start);
+
+        start = System.nanoTime();
+        int[] count = new int[1];
+        open(directory()).forEach(record -> count[0]++);
+        double loadRate = rate(count[0], start);
+
+        System.out.printf("%s: put %.0f, update %.0f, load %.0f tasks/s, %d bytes%n",
+                getClass().getSimpleName(), putRate, updateRate, loadRate,
+                open(directory()).getStorageSize());
+        assertEquals(records.size() - records.size() / 10, count[0]);
+        assertTrue("put " + putRate, putRate >= getMinimumThroughput());
+        assertTrue("update " + updateRate, updateRate >= getMinimumThroughput());
+        assertTrue("load " + loadRate, loadRate >= getMinimumThroughput());
+    }
+
+    private Path directory() {
+        return folder.getRoot().toPath();
+    }
+
+    private static double rate(int count, long start) {
+        return count * 1e9 / Math.max(1, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns records of the specified number of varied tasks, with ids.
+     */
+    private static List<TaskRecord> createRecords(int count, long seed) {
+        TaskModel model = new TaskModel();
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            LocalDate dueDate = random.nextInt(4) == 0 ? null
+                    : TODAY.plusDays(random.nextInt(100) - 50);
+            Task task = new Task("task " + i, "description " + random.nextInt(), dueDate,
+                    random.nextInt(3) == 0);
+            if (random.nextBoolean()) {
+                task.setTags(List.of(random.nextBoolean() ? "work" : "home"));
+            }
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            model.add(task);
+        }
+        return model.snapshot().toList();
+    }
+
+    private static List<Mutation> puts(List<TaskRecord> records) {
+        List<Mutation> mutations = new ArrayList<Mutation>(records.size());
+        for (TaskRecord record : records) {
+            mutations.add(Mutation.put(record));
+        }
+        return mutations;
+    }
+
+    /**
+     * Asserts the actual records are the kept ones plus either all or none of the batch ones.
+     */
+    private static void assertAllOrNothing(List<TaskRecord> kept, List<TaskRecord> batch,
+            List<TaskRecord> actual) {
+        List<TaskRecord> expected = new ArrayList<TaskRecord>(kept);
+        if (actual.size() != kept.size()) {
+            expected.addAll(batch);
+        }
+        assertSameRecords(expected, actual);
+    }
+
+    private static void assertSameRecords(List<TaskRecord> expected, List<TaskRecord> actual) {
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    private static List<String> describe(List<TaskRecord> records) {
+        List<TaskRecord> sorted = new ArrayList<TaskRecord>(records);
+        sorted.sort(Comparator.comparingLong(TaskRecord::getId));
+        List<String> descriptions = new ArrayList<String>(sorted.size());
+        for (TaskRecord record : sorted) {
+            descriptions.add(record.getId() + " " + record.getTitle() + " "
+                    + record.getDescription() + " " + record.getDueDate() + " "
+                    + record.getIsCompleted() + " " + record.getCompletedOn() + " "
+                    + record.getTags() + " " + record.getPriority() + " "
+                    + record.getParentId());
+        }
+        return descriptions;
+    }
+}
@@ -3,6 +3,10 @@ package test;
 import static org.junit.Assert.assertEquals;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import main.Priority;
 import main.Task;
 import org.junit.Test;
 
@@ -133,4 +137,68 @@ public class TaskTest {
         task.setIsCompleted(true);
         assert(task.isCompleted);
     }
+
+    @Test
+    public void setIsCompletedCompletedOn() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        assertEquals(null, task.getCompletedOn());
+
+        task.setIsCompleted(true);
+        assertEquals(LocalDate.now(), task.getCompletedOn());
+
+        task.setIsCompleted(false);
+        assertEquals(null, task.getCompletedOn());
+    }
+
+    @Test
+    public void constructorTags() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        assertEquals(Set.of(), task.getTags());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void setTagsNull() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        task.setTags(null);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void setTagsNullTag() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        task.setTags(Arrays.asList("tag", null));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void setTagsBlankTag() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        task.setTags(List.of(" "));
+    }
+
+    @Test
+    public void setTags() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        task.setTags(List.of(" Work", "home", "work"));
+
+        assertEquals(Set.of("home", "work"), task.getTags());
+    }
+
+    @Test
+    public void constructorPriority() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        assertEquals(Priority.NORMAL, task.getPriority());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void setPriorityNull() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        task.setPriority(null);
+    }
+
+    @Test
+    public void setPriority() {
+        Task task = new Task(TITLE, DESCRIPTION, DUE_DATE, IS_COMPLETED);
+        task.setPriority(Priority.HIGH);
+
+        assertEquals(Priority.HIGH, task.getPriority());
+    }
 }
@@ -0,0 +1,201 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import main.Task;
+import main.TaskField;
+import main.TaskListener;
+import main.TaskModel;
+import main.TaskTree;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@code TaskTree} class.
+ */
+public class TaskTreeTest {
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final LocalDate DUE_DATE = LocalDate.of(2026, 10, 19);
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void rollUps() {
+        TaskModel model = new TaskModel();
+        TaskTree tree = new TaskTree(model);
+        Task root = new Task(TITLE, DESCRIPTION, null, false);
+        Task child = new Task(TITLE, DESCRIPTION, DUE_DATE, false);
+        Task grandchild = new Task(TITLE, DESCRIPTION, DUE_DATE.minusDays(1), false);
+        model.add(root);
+        model.add(child);
+        model.add(grandchild);
+        tree.setParent(child, root);
+        tree.setParent(grandchild, child);
+
+        assertEquals(3, tree.getSubtreeSize(root));
+        assertEquals(0, tree.getPercentComplete(root), DELTA);
+        assertEquals(DUE_DATE.minusDays(1), tree.getEarliestDueDate(root));
+
+        grandchild.setIsCompleted(true);
+        assertEquals(100.0 / 3, tree.getPercentComplete(root), DELTA);
+        assertEquals(DUE_DATE, tree.getEarliestDueDate(root));
+
+        child.setDueDate(null);
+        assertNull(tree.getEarliestDueDate(root));
+    }
+
+    @Test
+    public void removeMovesChildrenUp() {
+        TaskModel model = new TaskModel();
+        TaskTree tree = new TaskTree(model);
+        Task root = new Task(TITLE, DESCRIPTION, null, false);
+        Task child = new Task(TITLE, DESCRIPTION, null, false);
+        Task grandchild = new Task(TITLE, DESCRIPTION, DUE_DATE, true);
+        model.add(root);
+        model.add(child);
+        model.add(grandchild);
+        tree.setParent(child, root);
+        tree.setParent(grandchild, child);
+
+        model.remove(child);
+
+        assertEquals(root, tree.getParent(grandchild));
+        assertEquals(root.getId(), grandchild.getParentId());
+        assertEquals(List.of(grandchild), tree.getChildren(root));
+        assertEquals(50, tree.getPercentComplete(root), DELTA);
+    }
+
+    @Test
+    public void removeMovesChildrenUpWithoutTree() {
+        TaskModel model = new TaskModel();
+        TaskTree tree = new TaskTree(model);
+        Task root = new Task(TITLE, DESCRIPTION, null, false);
+        Task child = new Task(TITLE, DESCRIPTION, null, false);
+        Task grandchild = new Task(TITLE, DESCRIPTION, null, false);
+        model.add(root);
+        model.add(child);
+        model.add(grandchild);
+        tree.setParent(child, root);
+        tree.setParent(grandchild, child);
+        model.removeListener(tree);
+
+        model.remove(root);
+        model.remove(child);
+
+        assertEquals(0, child.getParentId());
+        assertEquals(0, grandchild.getParentId());
+    }
+
+    @Test
+    public void childrenMoveBeforeRemoval() {
+        TaskModel model = new TaskModel();
+        List<String> events = new ArrayList<String>();
+        model.addListener(new TaskListener() {
+            @Override
+            public void taskRemoved(Task task) {
+                events.add("removed " + task.getTitle());
+            }
+
+            @Override
+            public void taskChanged(Task task, TaskField field, Object oldValue) {
+                events.add(field + " " + task.getTitle());
+            }
+        });
+        TaskTree tree = new TaskTree(model);
+        Task root = new Task("root", DESCRIPTION, null, false);
+        Task child = new Task("child", DESCRIPTION, null, false);
+        Task grandchild = new Task("grandchild", DESCRIPTION, null, false);
+        model.add(root);
+        model.add(child);
+        model.add(grandchild);
+        tree.setParent(child, root);
+        tree.setParent(grandchild, child);
+        events.clear();
+
+        model.remove(child);
+
+        assertEquals(List.of("PARENT grandchild", "removed child"), events);
+        assertEquals(root.getId(), grandchild.getParentId());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void cycle() {
+        TaskModel model = new TaskModel();
+        TaskTree tree = new TaskTree(model);
+        Task root = new Task(TITLE, DESCRIPTION, null, false);
+        Task child = new Task(TITLE, DESCRIPTION, null, false);
+        model.add(root);
+        model.add(child);
+        tree.setParent(child, root);
+
+        tree.setParent(root, child);
+    }
+
+    @Test
+    public void matchesRecomputation() {
+        TaskModel model = new TaskModel();
+        TaskTree tree = new TaskTree(model);
+        Random random = new Random(0);
+        List<Task> tasks = new ArrayList<Task>();
+        for (int i = 0; i < 500; i++) {
+            Task task = new Task(TITLE, DESCRIPTION, DUE_DATE.plusDays(random.nextInt(60)), 
+                    random.nextBoolean());
+            model.add(task);
+            if (!tasks.isEmpty()) {
+                tree.setParent(task, tasks.get(random.nextInt(tasks.size())));
+            }
+            tasks.add(task);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            int change = random.nextInt(4);
+            if (change == 0) {
+                task.setDueDate(random.nextBoolean() 
+                        ? null : DUE_DATE.plusDays(random.nextInt(60)));
+            } else if (change == 1) {
+                task.setIsCompleted(!task.getIsCompleted());
+            } else if (change == 2) {
+                Task parent = tasks.get(random.nextInt(tasks.size()));
+                try {
+                    tree.setParent(task, parent);
+                } catch (IllegalArgumentException e) {
+                    // cycle, unchanged
+                }
+            } else {
+                model.remove(task);
+                tasks.remove(task);
+            }
+        }
+
+        // Rebuilding from parent ids gives the same roll-ups
+        TaskTree rebuilt = new TaskTree(model);
+        for (Task task : tasks) {
+            assertEquals(rebuilt.getSubtreeSize(task), tree.getSubtreeSize(task));
+            assertEquals(rebuilt.getPercentComplete(task), tree.getPercentComplete(task), DELTA);
+            assertEquals(rebuilt.getEarliestDueDate(task), tree.getEarliestDueDate(task));
+            assertEquals(rebuilt.getParent(task), tree.getParent(task));
+        }
+
+        // and brute force agrees
+        for (Task task : tasks) {
+            int size = 0;
+            LocalDate earliest = null;
+            List<Task> stack = new ArrayList<Task>(List.of(task));
+            while (!stack.isEmpty()) {
+                Task next = stack.remove(stack.size() - 1);
+                size++;
+                if (!next.getIsCompleted() && next.getDueDate() != null 
+                        && (earliest == null || next.getDueDate().isBefore(earliest))) {
+                    earliest = next.getDueDate();
+                }
+                stack.addAll(tree.getChildren(next));
+            }
+            assertEquals(size, tree.getSubtreeSize(task));
+            assertEquals(earliest, tree.getEarliestDueDate(task));
+        }
+    }
+}